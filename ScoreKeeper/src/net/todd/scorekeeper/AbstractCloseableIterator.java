@@ -0,0 +1,37 @@
+package net.todd.scorekeeper;
+
+import java.util.NoSuchElementException;
+
+public abstract class AbstractCloseableIterator<T> implements CloseableIterator<T> {
+	private T nextItem;
+	private boolean isDone;
+
+	@Override
+	public boolean hasNext() {
+		if (nextItem == null && !isDone) {
+			nextItem = computeNext();
+			if (nextItem == null) {
+				isDone = true;
+				close();
+			}
+		}
+		return nextItem != null;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		T item = nextItem;
+		nextItem = null;
+		return item;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	protected abstract T computeNext();
+}
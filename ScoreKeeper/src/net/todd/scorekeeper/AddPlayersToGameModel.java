@@ -24,7 +24,8 @@ public class AddPlayersToGameModel {
 		allPlayers.addAll(playerStore.getAllPlayers());
 
 		currentGame = (CurrentGame) pageNavigator.getExtra("currentGame");
-		for (ScoreBoardEntry scoreBoardEntry : currentGame.getScoreBoard().getEntries()) {
+		for (ScoreBoardEntry scoreBoardEntry : currentGame.getScoreBoard()
+				.getEntriesInTurnOrder()) {
 			String playerId = scoreBoardEntry.getPlayer().getId();
 			for (Player player : allPlayers) {
 				if (player.getId().equals(playerId)) {
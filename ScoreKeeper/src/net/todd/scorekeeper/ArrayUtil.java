@@ -0,0 +1,27 @@
+package net.todd.scorekeeper;
+
+class ArrayUtil {
+	static long[] resize(long[] values, int length) {
+		long[] resized = new long[length];
+		System.arraycopy(values, 0, resized, 0, Math.min(values.length, length));
+		return resized;
+	}
+
+	static double[] resize(double[] values, int length) {
+		double[] resized = new double[length];
+		System.arraycopy(values, 0, resized, 0, Math.min(values.length, length));
+		return resized;
+	}
+
+	static boolean[] resize(boolean[] values, int length) {
+		boolean[] resized = new boolean[length];
+		System.arraycopy(values, 0, resized, 0, Math.min(values.length, length));
+		return resized;
+	}
+
+	static int[] resize(int[] values, int length) {
+		int[] resized = new int[length];
+		System.arraycopy(values, 0, resized, 0, Math.min(values.length, length));
+		return resized;
+	}
+}
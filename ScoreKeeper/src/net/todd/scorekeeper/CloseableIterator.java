@@ -0,0 +1,7 @@
+package net.todd.scorekeeper;
+
+import java.util.Iterator;
+
+public interface CloseableIterator<T> extends Iterator<T> {
+	void close();
+}
@@ -0,0 +1,349 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.ScoreBoardEntry;
+
+public class ColumnarHistory {
+	public static final int ANY = -1;
+	public static final int UNKNOWN = -2;
+
+	private final List<String> gameNames = new ArrayList<String>();
+	private final Map<String, Integer> gameNameIds = new HashMap<String, Integer>();
+	private final List<String> playerIds = new ArrayList<String>();
+	private final Map<String, Integer> playerIndexes = new HashMap<String, Integer>();
+	private final List<IntList> gamesByName = new ArrayList<IntList>();
+	private final List<IntList> gamesByPlayer = new ArrayList<IntList>();
+
+	private long[] timestamps = new long[64];
+	private int[] gameNameIdColumn = new int[64];
+	private boolean[] lowScoreWinsColumn = new boolean[64];
+	private int[] entryOffsets = new int[65];
+	private int[] entryPlayers = new int[256];
+	private int[] entryScores = new int[256];
+	private int gameCount;
+	private int entryCount;
+	private boolean isSortedByTime = true;
+
+	public static ColumnarHistory build(CloseableIterator<Game> games) {
+		ColumnarHistory history = new ColumnarHistory();
+		try {
+			while (games.hasNext()) {
+				history.append(games.next());
+			}
+		} finally {
+			games.close();
+		}
+		return history;
+	}
+
+	public synchronized void append(Game game) {
+		if (gameCount == timestamps.length) {
+			timestamps = ArrayUtil.resize(timestamps, gameCount * 2);
+			gameNameIdColumn = ArrayUtil.resize(gameNameIdColumn, gameCount * 2);
+			lowScoreWinsColumn = ArrayUtil.resize(lowScoreWinsColumn, gameCount * 2);
+			entryOffsets = ArrayUtil.resize(entryOffsets, gameCount * 2 + 1);
+		}
+		long timestamp = GameStore.GAME_OVER_TIMESTAMP.keyOf(game);
+		if (gameCount > 0 && timestamp < timestamps[gameCount - 1]) {
+			isSortedByTime = false;
+		}
+		timestamps[gameCount] = timestamp;
+		gameNameIdColumn[gameCount] = idOf(gameNames, gameNameIds, game.getGameName());
+		postingsOf(gamesByName, gameNameIdColumn[gameCount]).add(gameCount);
+
+		ScoreBoard scoreBoard = game.getScoreBoard();
+		lowScoreWinsColumn[gameCount] = scoreBoard != null
+				&& scoreBoard.getScoring() == Scoring.LOW;
+		if (scoreBoard != null) {
+			List<ScoreBoardEntry> entries = scoreBoard.getEntries();
+			if (entryCount + entries.size() > entryPlayers.length) {
+				int capacity = Math.max(entryPlayers.length * 2, entryCount + entries.size());
+				entryPlayers = ArrayUtil.resize(entryPlayers, capacity);
+				entryScores = ArrayUtil.resize(entryScores, capacity);
+			}
+			for (ScoreBoardEntry entry : entries) {
+				entryPlayers[entryCount] = idOf(playerIds, playerIndexes, entry.getPlayer()
+						.getId());
+				entryScores[entryCount] = entry.getScore();
+				postingsOf(gamesByPlayer, entryPlayers[entryCount]).add(gameCount);
+				entryCount++;
+			}
+		}
+		gameCount++;
+		entryOffsets[gameCount] = entryCount;
+	}
+
+	public synchronized int getGameCount() {
+		return gameCount;
+	}
+
+	public synchronized int getGameNameId(String gameName) {
+		Integer id = gameNameIds.get(gameName);
+		return id == null ? UNKNOWN : id;
+	}
+
+	public synchronized int getPlayerIndex(String playerId) {
+		Integer index = playerIndexes.get(playerId);
+		return index == null ? UNKNOWN : index;
+	}
+
+	public synchronized List<String> getPlayerIds() {
+		return new ArrayList<String>(playerIds);
+	}
+
+	public synchronized int countGames(long from, long to, int gameNameId, int playerIndex) {
+		int count = 0;
+		int end = endOf(to);
+		for (int game = startOf(from); game < end; game++) {
+			if (matches(game, from, to, gameNameId)
+					&& (playerIndex == ANY || findEntry(game, playerIndex) >= 0)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public synchronized Totals totalsFor(int playerIndex, long from, long to, int gameNameId) {
+		Totals totals = new Totals();
+		int end = endOf(to);
+		for (int game = startOf(from); game < end; game++) {
+			if (!matches(game, from, to, gameNameId)) {
+				continue;
+			}
+			int entry = findEntry(game, playerIndex);
+			if (entry >= 0) {
+				int winningScore = entryScores[entryOffsets[game]];
+				totals.add(entryScores[entry], entryScores[entry] == winningScore,
+						lowScoreWinsColumn[game]);
+			}
+		}
+		return totals;
+	}
+
+	public synchronized Map<String, Totals> totalsByPlayer(long from, long to, int gameNameId) {
+		Totals[] totalsByIndex = new Totals[playerIds.size()];
+		int end = endOf(to);
+		for (int game = startOf(from); game < end; game++) {
+			if (!matches(game, from, to, gameNameId)) {
+				continue;
+			}
+			int winningScore = entryScores[entryOffsets[game]];
+			for (int entry = entryOffsets[game]; entry < entryOffsets[game + 1]; entry++) {
+				int player = entryPlayers[entry];
+				if (totalsByIndex[player] == null) {
+					totalsByIndex[player] = new Totals();
+				}
+				totalsByIndex[player].add(entryScores[entry], entryScores[entry] == winningScore,
+						lowScoreWinsColumn[game]);
+			}
+		}
+		Map<String, Totals> totalsByPlayer = new HashMap<String, Totals>();
+		for (int player = 0; player < totalsByIndex.length; player++) {
+			if (totalsByIndex[player] != null) {
+				totalsByPlayer.put(playerIds.get(player), totalsByIndex[player]);
+			}
+		}
+		return totalsByPlayer;
+	}
+
+	synchronized int[] getGamesWithName(int gameNameId) {
+		return gameNameId < 0 ? new int[0] : gamesByName.get(gameNameId).toArray();
+	}
+
+	synchronized int[] getGamesWithPlayer(int playerIndex) {
+		return playerIndex < 0 ? new int[0] : gamesByPlayer.get(playerIndex).toArray();
+	}
+
+	synchronized int[] getGamesBetween(long from, long to) {
+		if (!isSortedByTime) {
+			return null;
+		}
+		int start = lowerBound(from);
+		int[] games = new int[Math.max(0, lowerBound(to) - start)];
+		for (int i = 0; i < games.length; i++) {
+			games[i] = start + i;
+		}
+		return games;
+	}
+
+	synchronized int countGamesBetween(long from, long to) {
+		return isSortedByTime ? Math.max(0, lowerBound(to) - lowerBound(from)) : gameCount;
+	}
+
+	synchronized boolean isSortedByTime() {
+		return isSortedByTime;
+	}
+
+	synchronized long getTimestamp(int game) {
+		return timestamps[game];
+	}
+
+	synchronized int getGameNameIdOf(int game) {
+		return gameNameIdColumn[game];
+	}
+
+	synchronized int getPlayerCountOf(int game) {
+		return entryOffsets[game + 1] - entryOffsets[game];
+	}
+
+	synchronized boolean isPlayerIn(int game, int playerIndex) {
+		return findEntry(game, playerIndex) >= 0;
+	}
+
+	synchronized boolean isWinnerOf(int game, int playerIndex) {
+		int entry = findEntry(game, playerIndex);
+		return entry >= 0 && entryScores[entry] == entryScores[entryOffsets[game]];
+	}
+
+	synchronized Map<String, Long> getLastPlayedByGameName() {
+		long[] lastPlayed = new long[gameNames.size()];
+		boolean[] isPlayed = new boolean[gameNames.size()];
+		for (int game = 0; game < gameCount; game++) {
+			int gameNameId = gameNameIdColumn[game];
+			if (!isPlayed[gameNameId] || timestamps[game] > lastPlayed[gameNameId]) {
+				lastPlayed[gameNameId] = timestamps[game];
+				isPlayed[gameNameId] = true;
+			}
+		}
+		return toMap(gameNames, lastPlayed, isPlayed);
+	}
+
+	synchronized Map<String, Long> getLastPlayedByPlayer() {
+		long[] lastPlayed = new long[playerIds.size()];
+		boolean[] isPlayed = new boolean[playerIds.size()];
+		for (int game = 0; game < gameCount; game++) {
+			for (int entry = entryOffsets[game]; entry < entryOffsets[game + 1]; entry++) {
+				int player = entryPlayers[entry];
+				if (!isPlayed[player] || timestamps[game] > lastPlayed[player]) {
+					lastPlayed[player] = timestamps[game];
+					isPlayed[player] = true;
+				}
+			}
+		}
+		return toMap(playerIds, lastPlayed, isPlayed);
+	}
+
+	private static Map<String, Long> toMap(List<String> values, long[] lastPlayed,
+			boolean[] isPlayed) {
+		Map<String, Long> lastPlayedByValue = new HashMap<String, Long>();
+		for (int id = 0; id < values.size(); id++) {
+			if (isPlayed[id] && values.get(id) != null) {
+				lastPlayedByValue.put(values.get(id), lastPlayed[id]);
+			}
+		}
+		return lastPlayedByValue;
+	}
+
+	private boolean matches(int game, long from, long to, int gameNameId) {
+		return timestamps[game] >= from && timestamps[game] < to
+				&& (gameNameId == ANY || gameNameIdColumn[game] == gameNameId);
+	}
+
+	private int findEntry(int game, int playerIndex) {
+		for (int entry = entryOffsets[game]; entry < entryOffsets[game + 1]; entry++) {
+			if (entryPlayers[entry] == playerIndex) {
+				return entry;
+			}
+		}
+		return -1;
+	}
+
+	private int startOf(long from) {
+		return isSortedByTime ? lowerBound(from) : 0;
+	}
+
+	private int endOf(long to) {
+		return isSortedByTime ? lowerBound(to) : gameCount;
+	}
+
+	private int lowerBound(long timestamp) {
+		int low = 0;
+		int high = gameCount;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (timestamps[middle] < timestamp) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static int idOf(List<String> values, Map<String, Integer> ids, String value) {
+		Integer id = ids.get(value);
+		if (id == null) {
+			id = values.size();
+			values.add(value);
+			ids.put(value, id);
+		}
+		return id;
+	}
+
+	private static IntList postingsOf(List<IntList> postings, int id) {
+		while (postings.size() <= id) {
+			postings.add(new IntList());
+		}
+		return postings.get(id);
+	}
+
+	private static class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		private void add(int value) {
+			if (size == values.length) {
+				values = ArrayUtil.resize(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		private int[] toArray() {
+			return ArrayUtil.resize(values, size);
+		}
+	}
+
+	public static class Totals {
+		private int games;
+		private int wins;
+		private long totalScore;
+		private int bestScore;
+
+		private void add(int score, boolean won, boolean lowScoreWins) {
+			if (games == 0 || (lowScoreWins ? score < bestScore : score > bestScore)) {
+				bestScore = score;
+			}
+			games++;
+			totalScore += score;
+			if (won) {
+				wins++;
+			}
+		}
+
+		public int getGames() {
+			return games;
+		}
+
+		public int getWins() {
+			return wins;
+		}
+
+		public long getTotalScore() {
+			return totalScore;
+		}
+
+		public int getBestScore() {
+			return bestScore;
+		}
+
+		public double getAverageScore() {
+			return games == 0 ? 0 : (double) totalScore / games;
+		}
+	}
+}
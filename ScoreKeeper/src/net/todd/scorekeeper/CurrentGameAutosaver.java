@@ -0,0 +1,187 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.TurnEvent;
+
+public class CurrentGameAutosaver {
+	private static final String TAG = CurrentGameAutosaver.class.getSimpleName();
+	private static final Snapshot CLEARED = new Snapshot(null, null, null, 0);
+
+	private final CurrentGameStore currentGameStore;
+	private final TurnLog turnLog;
+	private final ExecutorService writer;
+
+	private Snapshot pendingSnapshot;
+	private List<TurnEvent> pendingTurnEvents = new ArrayList<TurnEvent>();
+	private int queueDepth;
+	private long oldestPendingTime;
+	private Future<?> scheduledWrite;
+	private long lastFlushLatency;
+	private int writeCount;
+
+	public CurrentGameAutosaver(CurrentGameStore currentGameStore, TurnLog turnLog) {
+		this(currentGameStore, turnLog, Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "CurrentGameAutosaver");
+				thread.setDaemon(true);
+				return thread;
+			}
+		}));
+	}
+
+	CurrentGameAutosaver(CurrentGameStore currentGameStore, TurnLog turnLog,
+			ExecutorService writer) {
+		this.currentGameStore = currentGameStore;
+		this.turnLog = turnLog;
+		this.writer = writer;
+	}
+
+	public void save(String gameName, ScoreBoard scoreBoard, Player currentPlayer,
+			int turnCount) {
+		enqueue(new Snapshot(gameName, scoreBoard.copy(), currentPlayer, turnCount), null);
+	}
+
+	public void appendTurnEvents(List<TurnEvent> turnEvents) {
+		if (!turnEvents.isEmpty()) {
+			enqueue(null, turnEvents);
+		}
+	}
+
+	public void clear() {
+		enqueue(CLEARED, null);
+	}
+
+	public void flush() {
+		Future<?> write;
+		synchronized (this) {
+			write = scheduledWrite;
+		}
+		if (write != null) {
+			try {
+				write.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				Logger.error(TAG, "Saving the current game failed", e);
+			}
+		}
+	}
+
+	public void shutdown() {
+		flush();
+		writer.shutdown();
+	}
+
+	public synchronized int getQueueDepth() {
+		return queueDepth;
+	}
+
+	public synchronized long getLastFlushLatencyMillis() {
+		return lastFlushLatency;
+	}
+
+	public synchronized int getWriteCount() {
+		return writeCount;
+	}
+
+	private synchronized void enqueue(Snapshot snapshot, List<TurnEvent> turnEvents) {
+		if (queueDepth == 0) {
+			oldestPendingTime = System.currentTimeMillis();
+		}
+		if (snapshot == CLEARED) {
+			pendingTurnEvents.clear();
+		}
+		if (snapshot != null) {
+			pendingSnapshot = snapshot;
+		}
+		if (turnEvents != null) {
+			pendingTurnEvents.addAll(turnEvents);
+		}
+		queueDepth++;
+		if (scheduledWrite == null) {
+			scheduledWrite = writer.submit(new Runnable() {
+				@Override
+				public void run() {
+					writePendingSnapshots();
+				}
+			});
+		}
+	}
+
+	private void writePendingSnapshots() {
+		while (true) {
+			Snapshot snapshot;
+			List<TurnEvent> turnEvents;
+			long pendingSince;
+			synchronized (this) {
+				snapshot = pendingSnapshot;
+				turnEvents = pendingTurnEvents;
+				if (snapshot == null && turnEvents.isEmpty()) {
+					scheduledWrite = null;
+					return;
+				}
+				pendingSnapshot = null;
+				pendingTurnEvents = new ArrayList<TurnEvent>();
+				pendingSince = oldestPendingTime;
+				queueDepth = 0;
+			}
+
+			try {
+				write(snapshot, turnEvents);
+			} catch (RuntimeException e) {
+				Logger.error(TAG, "Saving the current game failed", e);
+			}
+
+			synchronized (this) {
+				lastFlushLatency = System.currentTimeMillis() - pendingSince;
+				writeCount++;
+			}
+		}
+	}
+
+	private void write(Snapshot snapshot, List<TurnEvent> turnEvents) {
+		if (snapshot == CLEARED) {
+			currentGameStore.clearState();
+			turnLog.clear();
+		} else if (snapshot != null && snapshot.turnCount == 0) {
+			turnLog.clear();
+			writeSnapshot(snapshot);
+			turnLog.append(turnEvents);
+		} else {
+			turnLog.append(turnEvents);
+			if (snapshot != null) {
+				writeSnapshot(snapshot);
+			}
+		}
+	}
+
+	private void writeSnapshot(Snapshot snapshot) {
+		currentGameStore.saveState(snapshot.gameName, snapshot.scoreBoard,
+				snapshot.currentPlayer, snapshot.turnCount);
+	}
+
+	private static class Snapshot {
+		private final String gameName;
+		private final ScoreBoard scoreBoard;
+		private final Player currentPlayer;
+		private final int turnCount;
+
+		private Snapshot(String gameName, ScoreBoard scoreBoard, Player currentPlayer,
+				int turnCount) {
+			this.gameName = gameName;
+			this.scoreBoard = scoreBoard;
+			this.currentPlayer = currentPlayer;
+			this.turnCount = turnCount;
+		}
+	}
+}
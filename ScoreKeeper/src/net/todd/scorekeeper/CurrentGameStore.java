@@ -4,28 +4,36 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import net.todd.scorekeeper.data.BinaryPersistor;
+import net.todd.scorekeeper.data.CachingPersistor;
 import net.todd.scorekeeper.data.CurrentGame;
 import net.todd.scorekeeper.data.Player;
 import net.todd.scorekeeper.data.ScoreBoard;
-import net.todd.scorekeeper.data.XmlPersistor;
 import android.content.Context;
 
 public class CurrentGameStore {
 	private final Persistor<CurrentGame> persistor;
 
 	public CurrentGameStore(Context context) {
-		persistor = XmlPersistor.create(CurrentGame.class, context);
+		this(CachingPersistor.create(CurrentGame.class, BinaryPersistor.create(CurrentGame.class,
+				context), context));
+	}
+
+	CurrentGameStore(Persistor<CurrentGame> persistor) {
+		this.persistor = persistor;
 	}
 
 	public void clearState() {
 		persistor.persist(new ArrayList<CurrentGame>());
 	}
 
-	public void saveState(String gameName, ScoreBoard scoreBoard, Player currentPlayer) {
+	public void saveState(String gameName, ScoreBoard scoreBoard, Player currentPlayer,
+			int turnCount) {
 		CurrentGame currentGame = new CurrentGame();
 		currentGame.setGameName(gameName);
 		currentGame.setScoreBoard(scoreBoard);
 		currentGame.setCurrentPlayer(currentPlayer);
+		currentGame.setTurnCount(turnCount);
 		persistor.persist(new ArrayList<CurrentGame>(Arrays.<CurrentGame> asList(currentGame)));
 	}
 
@@ -0,0 +1,27 @@
+package net.todd.scorekeeper;
+
+import net.todd.scorekeeper.data.Player;
+
+public class CurrentPlayerChangedEvent {
+	private final Player previousPlayer;
+	private final Player player;
+	private final int score;
+
+	public CurrentPlayerChangedEvent(Player previousPlayer, Player player, int score) {
+		this.previousPlayer = previousPlayer;
+		this.player = player;
+		this.score = score;
+	}
+
+	public Player getPreviousPlayer() {
+		return previousPlayer;
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	public int getScore() {
+		return score;
+	}
+}
@@ -0,0 +1,55 @@
+package net.todd.scorekeeper;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+public class DispatchLane {
+	private static final String TAG = DispatchLane.class.getSimpleName();
+	private static final Runnable NO_OP = new Runnable() {
+		@Override
+		public void run() {
+		}
+	};
+
+	private static DispatchLane defaultLane;
+
+	private final ExecutorService executor;
+
+	public DispatchLane(final String name) {
+		this(Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, name);
+				thread.setDaemon(true);
+				return thread;
+			}
+		}));
+	}
+
+	DispatchLane(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	public static synchronized DispatchLane getDefault() {
+		if (defaultLane == null) {
+			defaultLane = new DispatchLane(TAG);
+		}
+		return defaultLane;
+	}
+
+	public void post(Runnable task) {
+		executor.execute(task);
+	}
+
+	public void flush() {
+		try {
+			executor.submit(NO_OP).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			Logger.error(TAG, "Waiting for queued tasks failed", e);
+		}
+	}
+}
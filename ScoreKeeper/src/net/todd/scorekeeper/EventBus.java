@@ -0,0 +1,73 @@
+package net.todd.scorekeeper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class EventBus {
+	private final Map<Class<?>, EventListener<?>[]> listenersByType =
+			new HashMap<Class<?>, EventListener<?>[]>();
+
+	public synchronized <E> void subscribe(Class<E> eventType, EventListener<? super E> listener) {
+		EventListener<?>[] listeners = listenersByType.get(eventType);
+		if (listeners == null) {
+			listenersByType.put(eventType, new EventListener<?>[] { listener });
+		} else if (indexOf(listeners, listener) == -1) {
+			EventListener<?>[] newListeners = new EventListener<?>[listeners.length + 1];
+			System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+			newListeners[listeners.length] = listener;
+			listenersByType.put(eventType, newListeners);
+		}
+	}
+
+	public synchronized <E> void unsubscribe(Class<E> eventType,
+			EventListener<? super E> listener) {
+		EventListener<?>[] listeners = listenersByType.get(eventType);
+		int index = listeners == null ? -1 : indexOf(listeners, listener);
+		if (index == -1) {
+			return;
+		}
+		if (listeners.length == 1) {
+			listenersByType.remove(eventType);
+		} else {
+			EventListener<?>[] newListeners = new EventListener<?>[listeners.length - 1];
+			System.arraycopy(listeners, 0, newListeners, 0, index);
+			System.arraycopy(listeners, index + 1, newListeners, index, newListeners.length
+					- index);
+			listenersByType.put(eventType, newListeners);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public void publish(Object event) {
+		for (Class<?> type = event.getClass(); type != null; type = type.getSuperclass()) {
+			EventListener<?>[] listeners;
+			synchronized (this) {
+				listeners = listenersByType.get(type);
+			}
+			if (listeners != null) {
+				for (EventListener<?> listener : listeners) {
+					if (ListenerTimings.isEnabled) {
+						long startTime = System.nanoTime();
+						try {
+							((EventListener<Object>) listener).handle(event);
+						} finally {
+							ListenerTimings.record(ListenerTimings.labelOf(listener, type
+									.getSimpleName()), System.nanoTime() - startTime);
+						}
+					} else {
+						((EventListener<Object>) listener).handle(event);
+					}
+				}
+			}
+		}
+	}
+
+	private static int indexOf(EventListener<?>[] listeners, EventListener<?> listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i].equals(listener)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,5 @@
+package net.todd.scorekeeper;
+
+public interface EventListener<E> {
+	void handle(E event);
+}
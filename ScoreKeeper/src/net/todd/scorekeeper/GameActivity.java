@@ -5,6 +5,7 @@ import android.os.Bundle;
 
 public class GameActivity extends Activity {
 	private GameView view;
+	private CurrentGameAutosaver autosaver;
 
 	@Override
 	protected void onCreate(Bundle savedInstanceState) {
@@ -13,11 +14,27 @@ public class GameActivity extends Activity {
 		view = new GameView(this);
 		GameModel model = new GameModel(new GameStore(this), new PageNavigator(this));
 		GamePresenter.create(view, model);
-		GameWatcher.create(model, new CurrentGameStore(this));
+		autosaver = new CurrentGameAutosaver(new CurrentGameStore(this), new TurnLog(this));
+		GameWatcher.create(model, autosaver);
 		
 		setContentView(view.getView());
 	}
 
+	@Override
+	protected void onPause() {
+		super.onPause();
+		autosaver.flush();
+		if (ListenerTimings.isEnabled()) {
+			ListenerTimings.log();
+		}
+	}
+
+	@Override
+	protected void onDestroy() {
+		super.onDestroy();
+		autosaver.shutdown();
+	}
+
 	@Override
 	public void onBackPressed() {
 		view.onBackPressed();
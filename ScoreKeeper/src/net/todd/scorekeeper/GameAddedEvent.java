@@ -0,0 +1,15 @@
+package net.todd.scorekeeper;
+
+import net.todd.scorekeeper.data.Game;
+
+public class GameAddedEvent {
+	private final Game game;
+
+	public GameAddedEvent(Game game) {
+		this.game = game;
+	}
+
+	public Game getGame() {
+		return game;
+	}
+}
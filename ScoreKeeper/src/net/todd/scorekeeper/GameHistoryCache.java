@@ -0,0 +1,54 @@
+package net.todd.scorekeeper;
+
+import java.util.List;
+import java.util.Map;
+
+import net.todd.scorekeeper.data.Game;
+
+class GameHistoryCache {
+	private final Persistor<Game> history;
+
+	private ColumnarHistory columnarHistory;
+	private PrefixIndex<String> gameNameIndex;
+
+	GameHistoryCache(Persistor<Game> history) {
+		this.history = history;
+	}
+
+	synchronized ColumnarHistory getColumnarHistory() {
+		if (columnarHistory == null) {
+			columnarHistory = ColumnarHistory.build(history.iterate());
+		}
+		return columnarHistory;
+	}
+
+	synchronized List<String> findGameNames(String prefix, int limit) {
+		if (gameNameIndex == null) {
+			gameNameIndex = new PrefixIndex<String>();
+			for (Map.Entry<String, Long> lastPlayed : getColumnarHistory()
+					.getLastPlayedByGameName().entrySet()) {
+				gameNameIndex.put(lastPlayed.getKey(), lastPlayed.getKey(), lastPlayed.getValue());
+			}
+		}
+		return gameNameIndex.find(prefix, limit);
+	}
+
+	synchronized void gameAdded(Game game) {
+		if (columnarHistory != null) {
+			columnarHistory.append(game);
+		}
+		if (gameNameIndex != null && game.getGameName() != null) {
+			long timestamp = GameStore.GAME_OVER_TIMESTAMP.keyOf(game);
+			if (gameNameIndex.contains(game.getGameName())) {
+				gameNameIndex.touch(game.getGameName(), timestamp);
+			} else {
+				gameNameIndex.put(game.getGameName(), game.getGameName(), timestamp);
+			}
+		}
+	}
+
+	synchronized void invalidate() {
+		columnarHistory = null;
+		gameNameIndex = null;
+	}
+}
@@ -9,17 +9,22 @@ import net.todd.scorekeeper.data.Game;
 import net.todd.scorekeeper.data.Player;
 import net.todd.scorekeeper.data.ScoreBoard;
 import net.todd.scorekeeper.data.ScoreBoardEntry;
+import net.todd.scorekeeper.data.TurnEvent;
 
 public class GameModel {
-	private final ListenerManager scoreChangedListenerManager = new ListenerManager();
-	private final ListenerManager playerChangeListenerManager = new ListenerManager();
-	private final ListenerManager gameOverListenerManager = new ListenerManager();
-	private final ListenerManager cancellationListenerManager = new ListenerManager();
+	private final NotificationBatch notificationBatch = new NotificationBatch();
+	private final ListenerManager scoreChangedListenerManager;
+	private final ListenerManager playerChangeListenerManager;
+	private final ListenerManager gameOverListenerManager;
+	private final ListenerManager cancellationListenerManager;
+	private final EventBus eventBus = new EventBus();
 
 	private final GameStore gameStore;
 
 	private final List<Player> selectedPlayers = new ArrayList<Player>();
 	private final ScoreBoard scoreBoard;
+	private List<TurnEvent> pendingTurnEvents = new ArrayList<TurnEvent>();
+	private int turnCount;
 
 	private int currentPlayersTurn;
 	private final PageNavigator pageNavigator;
@@ -28,21 +33,45 @@ public class GameModel {
 	public GameModel(GameStore gameStore, PageNavigator pageNavigator) {
 		this.gameStore = gameStore;
 		this.pageNavigator = pageNavigator;
+		scoreChangedListenerManager = new ListenerManager("score-changed", notificationBatch);
+		playerChangeListenerManager = new ListenerManager("player-changed", notificationBatch);
+		gameOverListenerManager = new ListenerManager("game-over", notificationBatch);
+		cancellationListenerManager = new ListenerManager("cancel-game", notificationBatch);
 
 		CurrentGame currentGame = (CurrentGame) pageNavigator.getExtra("currentGame");
 		scoreBoard = currentGame.getScoreBoard();
-		for (ScoreBoardEntry entry : scoreBoard.getEntries()) {
+		for (ScoreBoardEntry entry : scoreBoard.getEntriesInTurnOrder()) {
 			selectedPlayers.add(entry.getPlayer());
 		}
 		gameName = currentGame.getGameName();
 		if (currentGame.getCurrentPlayer() != null) {
-			currentPlayersTurn = selectedPlayers.indexOf(currentGame.getCurrentPlayer());
+			currentPlayersTurn = indexOfPlayer(currentGame.getCurrentPlayer());
 		}
+		turnCount = currentGame.getTurnCount();
+	}
+
+	private int indexOfPlayer(Player player) {
+		for (int i = 0; i < selectedPlayers.size(); i++) {
+			Player selectedPlayer = selectedPlayers.get(i);
+			if (player.getId() == null ? selectedPlayer.equals(player) : player.getId().equals(
+					selectedPlayer.getId())) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	public void nextPlayer() {
+		Player previousPlayer = getCurrentPlayer();
 		getNextTurn();
+		recordTurnEvent(TurnEvent.Type.PLAYER_ADVANCED, 0);
+		playerChanged(previousPlayer);
+	}
+
+	private void playerChanged(Player previousPlayer) {
 		playerChangeListenerManager.notifyListeners();
+		eventBus.publish(new CurrentPlayerChangedEvent(previousPlayer, getCurrentPlayer(),
+				getCurrentPlayersScore()));
 	}
 
 	private int getNextTurn() {
@@ -60,10 +89,29 @@ public class GameModel {
 	}
 
 	public void setScoreForCurrentPlayer(int score) {
-		Integer currentScore = scoreBoard.getScore(getCurrentPlayer());
-		currentScore += score;
-		scoreBoard.setScore(getCurrentPlayer(), currentScore);
+		Player player = getCurrentPlayer();
+		int previousScore = scoreBoard.getScore(player);
+		int currentScore = previousScore + score;
+		scoreBoard.setScore(player, currentScore);
+		recordTurnEvent(TurnEvent.Type.SCORE_ADDED, score);
 		scoreChangedListenerManager.notifyListeners();
+		eventBus.publish(new ScoreChangedEvent(player, previousScore, currentScore, scoreBoard
+				.getRank(player)));
+	}
+
+	private void recordTurnEvent(TurnEvent.Type type, int points) {
+		pendingTurnEvents.add(new TurnEvent(type, getCurrentPlayer().getId(), points));
+		turnCount++;
+	}
+
+	public List<TurnEvent> drainTurnEvents() {
+		List<TurnEvent> turnEvents = pendingTurnEvents;
+		pendingTurnEvents = new ArrayList<TurnEvent>();
+		return turnEvents;
+	}
+
+	public int getTurnCount() {
+		return turnCount;
 	}
 
 	public Player getCurrentPlayer() {
@@ -75,8 +123,10 @@ public class GameModel {
 	}
 
 	public void previousPlayer() {
+		Player previousPlayer = getCurrentPlayer();
 		getPreviousTurn();
-		playerChangeListenerManager.notifyListeners();
+		recordTurnEvent(TurnEvent.Type.PLAYER_MOVED_BACK, 0);
+		playerChanged(previousPlayer);
 	}
 
 	public ScoreBoard getScoreBoard() {
@@ -96,6 +146,22 @@ public class GameModel {
 		playerChangeListenerManager.addListener(listener);
 	}
 
+	public EventBus getEventBus() {
+		return eventBus;
+	}
+
+	public void beginBatch() {
+		notificationBatch.begin();
+	}
+
+	public void endBatch() {
+		notificationBatch.end();
+	}
+
+	public int getCoalescedNotificationCount() {
+		return notificationBatch.getCoalescedCount();
+	}
+
 	public void gameOver() {
 		Game game = new Game();
 		game.setGameOverTimestamp(new Date());
@@ -10,8 +10,13 @@ public class GamePresenter {
 		view.addNextPlayerButtonListener(new Listener() {
 			@Override
 			public void handle() {
-				model.setScoreForCurrentPlayer(view.getScore());
-				model.nextPlayer();
+				model.beginBatch();
+				try {
+					model.setScoreForCurrentPlayer(view.getScore());
+					model.nextPlayer();
+				} finally {
+					model.endBatch();
+				}
 			}
 		});
 
@@ -36,22 +41,24 @@ public class GamePresenter {
 			}
 		});
 
-		model.addScoreChangedListener(new Listener() {
-			@Override
-			public void handle() {
-				view.clearScore();
-				view.closeSoftKeyboard();
-				view.setScoreBoard(model.getScoreBoard());
-			}
-		});
+		model.getEventBus().subscribe(ScoreChangedEvent.class,
+				new EventListener<ScoreChangedEvent>() {
+					@Override
+					public void handle(ScoreChangedEvent event) {
+						view.clearScore();
+						view.closeSoftKeyboard();
+						view.updateScore(event.getPlayer(), event.getScore(), event.getRank());
+					}
+				});
 
-		model.addPlayerChangedListener(new Listener() {
-			@Override
-			public void handle() {
-				view.setCurrentPlayer(model.getCurrentPlayer());
-				view.setCurrentPlayersScore(model.getCurrentPlayersScore());
-			}
-		});
+		model.getEventBus().subscribe(CurrentPlayerChangedEvent.class,
+				new EventListener<CurrentPlayerChangedEvent>() {
+					@Override
+					public void handle(CurrentPlayerChangedEvent event) {
+						view.setCurrentPlayer(event.getPlayer());
+						view.setCurrentPlayersScore(event.getScore());
+					}
+				});
 
 		view.addGameOverButtonListener(new Listener() {
 			@Override
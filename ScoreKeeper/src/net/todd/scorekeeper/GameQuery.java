@@ -0,0 +1,158 @@
+package net.todd.scorekeeper;
+
+import java.util.Date;
+
+public class GameQuery {
+	public enum Order {
+		NEWEST_FIRST, OLDEST_FIRST
+	}
+
+	private String gameName;
+	private String playerId;
+	private String winnerId;
+	private long from = Long.MIN_VALUE;
+	private long to = Long.MAX_VALUE;
+	private int minimumPlayerCount;
+	private Order order = Order.NEWEST_FIRST;
+	private int offset;
+	private int limit = Integer.MAX_VALUE;
+
+	public GameQuery withGameName(String gameName) {
+		this.gameName = gameName;
+		return this;
+	}
+
+	public GameQuery withPlayer(String playerId) {
+		this.playerId = playerId;
+		return this;
+	}
+
+	public GameQuery wonBy(String winnerId) {
+		this.winnerId = winnerId;
+		return this;
+	}
+
+	public GameQuery between(Date from, Date to) {
+		this.from = from.getTime();
+		this.to = to.getTime();
+		return this;
+	}
+
+	public GameQuery withAtLeastPlayers(int minimumPlayerCount) {
+		this.minimumPlayerCount = minimumPlayerCount;
+		return this;
+	}
+
+	public GameQuery orderBy(Order order) {
+		this.order = order;
+		return this;
+	}
+
+	public GameQuery offset(int offset) {
+		this.offset = offset;
+		return this;
+	}
+
+	public GameQuery limit(int limit) {
+		this.limit = limit;
+		return this;
+	}
+
+	String getGameName() {
+		return gameName;
+	}
+
+	String getPlayerId() {
+		return playerId;
+	}
+
+	String getWinnerId() {
+		return winnerId;
+	}
+
+	long getFrom() {
+		return from;
+	}
+
+	long getTo() {
+		return to;
+	}
+
+	boolean hasTimeRange() {
+		return from != Long.MIN_VALUE || to != Long.MAX_VALUE;
+	}
+
+	int getMinimumPlayerCount() {
+		return minimumPlayerCount;
+	}
+
+	Order getOrder() {
+		return order;
+	}
+
+	int getOffset() {
+		return offset;
+	}
+
+	int getLimit() {
+		return limit;
+	}
+
+	boolean filtersOnlyByTime() {
+		return gameName == null && playerId == null && winnerId == null
+				&& minimumPlayerCount <= 0;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((gameName == null) ? 0 : gameName.hashCode());
+		result = prime * result + ((playerId == null) ? 0 : playerId.hashCode());
+		result = prime * result + ((winnerId == null) ? 0 : winnerId.hashCode());
+		result = prime * result + (int) (from ^ (from >>> 32));
+		result = prime * result + (int) (to ^ (to >>> 32));
+		result = prime * result + minimumPlayerCount;
+		result = prime * result + order.hashCode();
+		result = prime * result + offset;
+		result = prime * result + limit;
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		GameQuery other = (GameQuery) obj;
+		if (gameName == null) {
+			if (other.gameName != null)
+				return false;
+		} else if (!gameName.equals(other.gameName))
+			return false;
+		if (playerId == null) {
+			if (other.playerId != null)
+				return false;
+		} else if (!playerId.equals(other.playerId))
+			return false;
+		if (winnerId == null) {
+			if (other.winnerId != null)
+				return false;
+		} else if (!winnerId.equals(other.winnerId))
+			return false;
+		return from == other.from && to == other.to
+				&& minimumPlayerCount == other.minimumPlayerCount && order == other.order
+				&& offset == other.offset && limit == other.limit;
+	}
+
+	@Override
+	public String toString() {
+		return "GameQuery [gameName=" + gameName + ", playerId=" + playerId + ", winnerId="
+				+ winnerId + ", from=" + from + ", to=" + to + ", minimumPlayerCount="
+				+ minimumPlayerCount + ", order=" + order + ", offset=" + offset + ", limit="
+				+ limit + "]";
+	}
+}
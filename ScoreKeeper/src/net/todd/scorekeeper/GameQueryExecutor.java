@@ -0,0 +1,193 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import net.todd.scorekeeper.data.Game;
+
+class GameQueryExecutor {
+	private static final String TAG = GameQueryExecutor.class.getSimpleName();
+
+	static final long SLOW_QUERY_MILLIS = 50;
+
+	private final GameStore gameStore;
+
+	GameQueryExecutor(GameStore gameStore) {
+		this.gameStore = gameStore;
+	}
+
+	List<Game> list(GameQuery query) {
+		long startTime = System.nanoTime();
+		Plan plan = new Plan();
+		List<Game> games;
+		if (query.filtersOnlyByTime()) {
+			games = listByTime(query, plan);
+		} else {
+			ColumnarHistory history = gameStore.getColumnarHistory();
+			int[] rows = page(query, selectRows(history, query, plan));
+			long[] keys = new long[rows.length];
+			for (int i = 0; i < rows.length; i++) {
+				keys[i] = history.getTimestamp(rows[i]);
+			}
+			games = gameStore.getGamesWithKeys(keys);
+		}
+		log(query, plan, games.size(), startTime);
+		return games;
+	}
+
+	int count(GameQuery query) {
+		long startTime = System.nanoTime();
+		Plan plan = new Plan();
+		int count;
+		if (query.filtersOnlyByTime()) {
+			plan.index = "time";
+			count = query.hasTimeRange() ? gameStore.getGameCountBetween(new Date(query
+					.getFrom()), new Date(query.getTo())) : gameStore.getGameCount();
+			plan.rowsScanned = count;
+		} else {
+			count = selectRows(gameStore.getColumnarHistory(), query, plan).length;
+		}
+		log(query, plan, count, startTime);
+		return count;
+	}
+
+	private List<Game> listByTime(GameQuery query, Plan plan) {
+		plan.index = "time";
+		if (query.hasTimeRange()) {
+			List<Game> games = gameStore.getGamesBetween(new Date(query.getFrom()), new Date(
+					query.getTo()));
+			plan.rowsScanned = games.size();
+			if (query.getOrder() == GameQuery.Order.OLDEST_FIRST) {
+				Collections.reverse(games);
+			}
+			int fromIndex = Math.min(query.getOffset(), games.size());
+			int toIndex = (int) Math.min((long) fromIndex + query.getLimit(), games.size());
+			return new ArrayList<Game>(games.subList(fromIndex, toIndex));
+		}
+		List<Game> games;
+		if (query.getOrder() == GameQuery.Order.OLDEST_FIRST) {
+			games = gameStore.getOldestGames(query.getOffset(), query.getLimit());
+		} else {
+			games = gameStore.getGames(query.getOffset(), query.getLimit());
+		}
+		plan.rowsScanned = games.size();
+		return games;
+	}
+
+	private int[] selectRows(final ColumnarHistory history, GameQuery query, Plan plan) {
+		int gameNameId = query.getGameName() == null ? ColumnarHistory.ANY : history
+				.getGameNameId(query.getGameName());
+		int playerIndex = playerIndexOf(history, query.getPlayerId());
+		int winnerIndex = playerIndexOf(history, query.getWinnerId());
+		if (gameNameId == ColumnarHistory.UNKNOWN || playerIndex == ColumnarHistory.UNKNOWN
+				|| winnerIndex == ColumnarHistory.UNKNOWN) {
+			plan.index = "dictionary";
+			return new int[0];
+		}
+
+		int[] candidates = null;
+		if (query.hasTimeRange()) {
+			candidates = choose(plan, candidates, "time", history.getGamesBetween(
+					query.getFrom(), query.getTo()));
+		}
+		if (gameNameId != ColumnarHistory.ANY) {
+			candidates = choose(plan, candidates, "name", history.getGamesWithName(gameNameId));
+		}
+		if (playerIndex != ColumnarHistory.ANY) {
+			candidates = choose(plan, candidates, "player", history
+					.getGamesWithPlayer(playerIndex));
+		}
+		if (winnerIndex != ColumnarHistory.ANY) {
+			candidates = choose(plan, candidates, "player", history
+					.getGamesWithPlayer(winnerIndex));
+		}
+		int candidateCount = candidates == null ? history.getGameCount() : candidates.length;
+		plan.rowsScanned = candidateCount;
+
+		List<Integer> rows = new ArrayList<Integer>();
+		for (int i = 0; i < candidateCount; i++) {
+			int row = candidates == null ? i : candidates[i];
+			if (matches(history, row, query, gameNameId, playerIndex, winnerIndex)) {
+				rows.add(row);
+			}
+		}
+
+		if (!history.isSortedByTime()) {
+			Collections.sort(rows, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer row1, Integer row2) {
+					long timestamp1 = history.getTimestamp(row1);
+					long timestamp2 = history.getTimestamp(row2);
+					return timestamp1 < timestamp2 ? -1 : timestamp1 > timestamp2 ? 1 : 0;
+				}
+			});
+		}
+		if (query.getOrder() == GameQuery.Order.NEWEST_FIRST) {
+			Collections.reverse(rows);
+		}
+		int[] selectedRows = new int[rows.size()];
+		for (int i = 0; i < selectedRows.length; i++) {
+			selectedRows[i] = rows.get(i);
+		}
+		return selectedRows;
+	}
+
+	private static boolean matches(ColumnarHistory history, int row, GameQuery query,
+			int gameNameId, int playerIndex, int winnerIndex) {
+		long timestamp = history.getTimestamp(row);
+		if (timestamp < query.getFrom() || timestamp >= query.getTo()) {
+			return false;
+		}
+		if (gameNameId != ColumnarHistory.ANY && history.getGameNameIdOf(row) != gameNameId) {
+			return false;
+		}
+		if (playerIndex != ColumnarHistory.ANY && !history.isPlayerIn(row, playerIndex)) {
+			return false;
+		}
+		if (winnerIndex != ColumnarHistory.ANY && !history.isWinnerOf(row, winnerIndex)) {
+			return false;
+		}
+		return history.getPlayerCountOf(row) >= query.getMinimumPlayerCount();
+	}
+
+	private static int playerIndexOf(ColumnarHistory history, String playerId) {
+		return playerId == null ? ColumnarHistory.ANY : history.getPlayerIndex(playerId);
+	}
+
+	private static int[] choose(Plan plan, int[] candidates, String index, int[] indexedRows) {
+		if (indexedRows != null
+				&& (candidates == null || indexedRows.length < candidates.length)) {
+			plan.index = index;
+			return indexedRows;
+		}
+		return candidates;
+	}
+
+	private static int[] page(GameQuery query, int[] rows) {
+		int fromIndex = Math.min(query.getOffset(), rows.length);
+		int toIndex = (int) Math.min((long) fromIndex + query.getLimit(), rows.length);
+		int[] page = new int[toIndex - fromIndex];
+		System.arraycopy(rows, fromIndex, page, 0, page.length);
+		return page;
+	}
+
+	private static void log(GameQuery query, Plan plan, int rowCount, long startTime) {
+		long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+		String message = query + " used the " + plan.index + " index, scanned "
+				+ plan.rowsScanned + " rows and returned " + rowCount + " in " + elapsedMillis
+				+ " ms";
+		if (elapsedMillis >= SLOW_QUERY_MILLIS) {
+			Logger.info(TAG, "Slow query: " + message);
+		} else {
+			Logger.debug(TAG, message);
+		}
+	}
+
+	private static class Plan {
+		private String index = "full scan";
+		private int rowsScanned;
+	}
+}
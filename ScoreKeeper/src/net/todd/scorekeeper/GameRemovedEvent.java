@@ -0,0 +1,21 @@
+package net.todd.scorekeeper;
+
+import net.todd.scorekeeper.data.Game;
+
+public class GameRemovedEvent {
+	private final Game game;
+	private final boolean areThereGamesLeft;
+
+	public GameRemovedEvent(Game game, boolean areThereGamesLeft) {
+		this.game = game;
+		this.areThereGamesLeft = areThereGamesLeft;
+	}
+
+	public Game getGame() {
+		return game;
+	}
+
+	public boolean areThereGamesLeft() {
+		return areThereGamesLeft;
+	}
+}
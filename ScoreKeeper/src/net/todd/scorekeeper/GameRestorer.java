@@ -2,25 +2,63 @@ package net.todd.scorekeeper;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import net.todd.scorekeeper.data.CurrentGame;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.ScoreBoardEntry;
+import net.todd.scorekeeper.data.TurnEvent;
 
 public class GameRestorer {
 	private final CurrentGameStore currentGameStore;
+	private final TurnLog turnLog;
 	private final PageNavigator pageNavigator;
 
-	public GameRestorer(CurrentGameStore currentGameStore, PageNavigator pageNavigator) {
+	public GameRestorer(CurrentGameStore currentGameStore, TurnLog turnLog,
+			PageNavigator pageNavigator) {
 		this.currentGameStore = currentGameStore;
+		this.turnLog = turnLog;
 		this.pageNavigator = pageNavigator;
 	}
 
 	public void restoreGameInProgress() {
 		CurrentGame currentGame = currentGameStore.getCurrentGame();
 		if (currentGame != null) {
+			replay(currentGame, turnLog.readFrom(currentGame.getTurnCount()));
 			Map<String, Serializable> extras = new HashMap<String, Serializable>();
 			extras.put("currentGame", currentGame);
 			pageNavigator.navigateToActivityAndFinish(GameActivity.class, extras);
 		}
 	}
+
+	private void replay(CurrentGame currentGame, List<TurnEvent> turnEvents) {
+		ScoreBoard scoreBoard = currentGame.getScoreBoard();
+		if (scoreBoard == null || turnEvents.isEmpty()) {
+			return;
+		}
+		for (TurnEvent turnEvent : turnEvents) {
+			Player player = findPlayer(scoreBoard, turnEvent.getPlayerId());
+			if (player == null) {
+				continue;
+			}
+			if (turnEvent.getType() == TurnEvent.Type.SCORE_ADDED) {
+				scoreBoard.setScore(player, scoreBoard.getScore(player) + turnEvent.getPoints());
+			} else {
+				currentGame.setCurrentPlayer(player);
+			}
+		}
+		currentGame.setTurnCount(currentGame.getTurnCount() + turnEvents.size());
+	}
+
+	private Player findPlayer(ScoreBoard scoreBoard, String playerId) {
+		for (ScoreBoardEntry entry : scoreBoard.getEntriesInTurnOrder()) {
+			Player player = entry.getPlayer();
+			if (player.getId() != null && player.getId().equals(playerId)) {
+				return player;
+			}
+		}
+		return null;
+	}
 }
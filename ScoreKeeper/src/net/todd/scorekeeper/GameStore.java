@@ -1,18 +1,72 @@
 package net.todd.scorekeeper;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
+import net.todd.scorekeeper.data.CachingPersistor;
 import net.todd.scorekeeper.data.Game;
-import net.todd.scorekeeper.data.XmlPersistor;
+import net.todd.scorekeeper.data.JournalPersistor;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.PlayerStatistics;
+import net.todd.scorekeeper.data.RecordKey;
+import net.todd.scorekeeper.data.ScoreBoardEntry;
 import android.content.Context;
 
 public class GameStore {
+	static final RecordKey<Game> GAME_OVER_TIMESTAMP = new RecordKey<Game>() {
+		@Override
+		public long keyOf(Game game) {
+			return game.getGameOverTimestamp() == null ? Long.MIN_VALUE : game
+					.getGameOverTimestamp().getTime();
+		}
+	};
+
+	private static final String TAG = GameStore.class.getSimpleName();
+	private static final HeadToHeadCalculator headToHeadCalculator = new HeadToHeadCalculator();
+
+	private final GameQueryExecutor queryExecutor = new GameQueryExecutor(this);
+	private final PlayerStore playerStore;
+	private final PlayerDirectory playerDirectory;
+	private final JournalPersistor<Game> journal;
 	private final Persistor<Game> persistor;
+	private final GameHistoryCache historyCache;
+	private final StatisticsStore statisticsStore;
+	private final RatingEngine ratingEngine;
+	private final DispatchLane historyLane;
+	private final EventBus historyEvents = new EventBus();
 	private List<Game> games;
+	private boolean hasLoadedPlayerRecency;
 
 	public GameStore(Context context) {
-		persistor = XmlPersistor.create(Game.class, context);
+		this(context, DispatchLane.getDefault());
+	}
+
+	GameStore(Context context, DispatchLane historyLane) {
+		this.historyLane = historyLane;
+		playerStore = new PlayerStore(context);
+		playerDirectory = new PlayerDirectory(playerStore);
+		journal = JournalPersistor.create(Game.class, context, GAME_OVER_TIMESTAMP,
+				playerDirectory);
+		persistor = CachingPersistor.create(Game.class, journal, context);
+		historyCache = new GameHistoryCache(journal);
+		statisticsStore = new StatisticsStore(context);
+		ratingEngine = new RatingEngine(context);
+		historyEvents.subscribe(GameAddedEvent.class, new EventListener<GameAddedEvent>() {
+			@Override
+			public void handle(GameAddedEvent event) {
+				if (statisticsStore.isBuilt()) {
+					statisticsStore.gameAdded(event.getGame());
+				}
+			}
+		});
+		historyEvents.subscribe(GameAddedEvent.class, new EventListener<GameAddedEvent>() {
+			@Override
+			public void handle(GameAddedEvent event) {
+				ratingEngine.gameAdded(event.getGame());
+			}
+		});
 	}
 
 	public List<Game> getAllGames() {
@@ -20,39 +74,231 @@ public class GameStore {
 		return games;
 	}
 
+	public List<Game> getGames(int offset, int limit) {
+		List<Game> page = journal.loadNewest(offset, limit);
+		archiveUnknownInlinePlayers();
+		return page;
+	}
+
+	public List<Game> getOldestGames(int offset, int limit) {
+		List<Game> page = journal.loadOldest(offset, limit);
+		archiveUnknownInlinePlayers();
+		return page;
+	}
+
+	public int getGameCount() {
+		return journal.count();
+	}
+
+	public List<Game> getGamesBetween(Date from, Date to) {
+		List<Game> gamesBetween = journal.loadByKeyRange(from.getTime(), to.getTime());
+		archiveUnknownInlinePlayers();
+		return gamesBetween;
+	}
+
+	public int getGameCountBetween(Date from, Date to) {
+		return journal.countByKeyRange(from.getTime(), to.getTime());
+	}
+
+	List<Game> getGamesWithKeys(long[] gameOverTimestamps) {
+		List<Game> keyedGames = journal.loadByKeys(gameOverTimestamps);
+		archiveUnknownInlinePlayers();
+		return keyedGames;
+	}
+
+	public Game findGame(Date gameOverTimestamp) {
+		Game game = journal.findByKey(gameOverTimestamp.getTime());
+		archiveUnknownInlinePlayers();
+		return game;
+	}
+
+	public List<Game> find(GameQuery query) {
+		return queryExecutor.list(query);
+	}
+
+	public int count(GameQuery query) {
+		return queryExecutor.count(query);
+	}
+
+	public CloseableIterator<Game> iterateGames() {
+		return persistor.iterate();
+	}
+
+	public boolean hasGames() {
+		return getGameCount() > 0;
+	}
+
 	public void addGame(Game game) {
-		load();
-		games.add(game);
-		save();
+		registerPlayers(game);
+		journal.add(game);
+		historyCache.gameAdded(game);
+		addToPlayerRecency(game);
+		final GameAddedEvent event = new GameAddedEvent(game);
+		historyLane.post(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					historyEvents.publish(event);
+				} catch (RuntimeException e) {
+					Logger.error(TAG, "Updating the history of " + event.getGame().getGameName()
+							+ " failed", e);
+				}
+			}
+		});
 	}
 
-	private void save() {
-		persistor.persist(games);
+	private void registerPlayers(Game game) {
+		if (game.getScoreBoard() != null) {
+			for (ScoreBoardEntry entry : game.getScoreBoard().getEntries()) {
+				if (entry.getPlayer().getId() != null) {
+					playerDirectory.register(entry.getPlayer());
+				}
+			}
+		}
 	}
 
 	private void load() {
 		games = persistor.load();
+		if (playerDirectory.takeHasResolvedInlinePlayers()) {
+			migrateInlinePlayers();
+		}
+	}
+
+	private void migrateInlinePlayers() {
+		archiveUnknownInlinePlayers();
+		journal.rewriteAll();
+		historyCache.invalidate();
+	}
+
+	private void archiveUnknownInlinePlayers() {
+		List<Player> unknownPlayers = playerDirectory.takeUnknownInlinePlayers();
+		if (!unknownPlayers.isEmpty()) {
+			playerStore.archivePlayers(unknownPlayers);
+		}
 	}
 
 	public void clearAllGames() {
+		historyLane.flush();
 		persistor.persist(new ArrayList<Game>());
+		historyCache.invalidate();
+		statisticsStore.clear();
+		ratingEngine.clear();
 	}
 
 	public void deleteGame(Game selectedGame) {
+		long key = GAME_OVER_TIMESTAMP.keyOf(selectedGame);
+		if (!journal.containsKey(key)) {
+			return;
+		}
+		historyLane.flush();
 		load();
-		Game actualGame = findMatchingGameByDate(selectedGame);
-		games.remove(actualGame);
-		persistor.persist(games);
+		int index = indexOfGameWithKey(key);
+		if (index >= 0) {
+			Game actualGame = games.remove(index);
+			persistor.persist(games);
+			historyCache.invalidate();
+			if (statisticsStore.isBuilt()) {
+				statisticsStore.gameRemoved(actualGame, games);
+			} else {
+				rebuildStatistics();
+			}
+			ratingEngine.gameRemoved(index, games);
+		}
+	}
+
+	public List<PlayerStatistics> getPlayerStatistics() {
+		historyLane.flush();
+		List<PlayerStatistics> statistics = statisticsStore.getAllStatistics();
+		if (!statisticsStore.isBuilt() || statistics.isEmpty() && hasGames()) {
+			rebuildStatistics();
+			statistics = statisticsStore.getAllStatistics();
+		}
+		return statistics;
+	}
+
+	public PlayerStatistics getPlayerStatistics(String playerId) {
+		getPlayerStatistics();
+		return statisticsStore.getStatistics(playerId);
+	}
+
+	public Map<String, Double> getRatings() {
+		historyLane.flush();
+		if (ratingEngine.getGameCount() != getGameCount()) {
+			ratingEngine.update(getAllGames());
+		}
+		return ratingEngine.getRatings();
+	}
+
+	public void rebuildRatings() {
+		historyLane.flush();
+		ratingEngine.rebuild(getAllGames());
+	}
+
+	public String getHistoryVersion() {
+		return journal.getVersion();
+	}
+
+	public HeadToHead getHeadToHead() {
+		String historyVersion = getHistoryVersion();
+		HeadToHead headToHead = headToHeadCalculator.getCached(historyVersion);
+		if (headToHead == null) {
+			headToHead = headToHeadCalculator.calculate(historyVersion, getAllGames());
+		}
+		return headToHead;
+	}
+
+	public ColumnarHistory getColumnarHistory() {
+		return historyCache.getColumnarHistory();
+	}
+
+	public List<String> findGameNames(String prefix, int limit) {
+		return historyCache.findGameNames(prefix, limit);
+	}
+
+	public List<Player> findPlayers(String prefix, int limit) {
+		if (!hasLoadedPlayerRecency) {
+			for (Map.Entry<String, Long> lastPlayed : getColumnarHistory()
+					.getLastPlayedByPlayer().entrySet()) {
+				playerStore.playerUsed(lastPlayed.getKey(), lastPlayed.getValue());
+			}
+			hasLoadedPlayerRecency = true;
+		}
+		return playerStore.findPlayers(prefix, limit);
+	}
+
+	private void addToPlayerRecency(Game game) {
+		long timestamp = GAME_OVER_TIMESTAMP.keyOf(game);
+		if (game.getScoreBoard() != null) {
+			for (ScoreBoardEntry entry : game.getScoreBoard().getEntries()) {
+				playerStore.playerUsed(entry.getPlayer().getId(), timestamp);
+			}
+		}
 	}
 
-	private Game findMatchingGameByDate(Game selectedGame) {
-		Game target = null;
-		for (Game game : games) {
-			if (game.getGameOverTimestamp().equals(selectedGame.getGameOverTimestamp())) {
-				target = game;
-				break;
+	public void rebuildStatistics() {
+		historyLane.flush();
+		statisticsStore.rebuild(iterateGames());
+	}
+
+	private int indexOfGameWithKey(long key) {
+		int low = 0;
+		int high = games.size() - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			long middleKey = GAME_OVER_TIMESTAMP.keyOf(games.get(middle));
+			if (middleKey < key) {
+				low = middle + 1;
+			} else if (middleKey > key) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		for (int i = 0; i < games.size(); i++) {
+			if (GAME_OVER_TIMESTAMP.keyOf(games.get(i)) == key) {
+				return i;
 			}
 		}
-		return target;
+		return -1;
 	}
 }
@@ -1,5 +1,8 @@
 package net.todd.scorekeeper;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import net.todd.scorekeeper.data.Player;
 import net.todd.scorekeeper.data.ScoreBoard;
 import net.todd.scorekeeper.data.ScoreBoardEntry;
@@ -33,6 +36,7 @@ public class GameView {
 	private Listener cancelGameListener;
 	private final TextView playerScore;
 	private final TextView gameNameText;
+	private final Map<String, TableRow> scoreBoardRows = new HashMap<String, TableRow>();
 
 	private final ListenerManager gameOverButtonListenerManager = new ListenerManager();
 	private final ListenerManager gameOverConfirmationListenerManager = new ListenerManager();
@@ -215,10 +219,12 @@ public class GameView {
 
 	public void setScoreBoard(ScoreBoard scoreBoard) {
 		scoreBoardTable.removeAllViews();
+		scoreBoardRows.clear();
 
 		for (ScoreBoardEntry scoreBoardEntry : scoreBoard.getEntries()) {
 			TableRow playerRow = new TableRow(context);
 			scoreBoardTable.addView(playerRow);
+			scoreBoardRows.put(scoreBoardEntry.getPlayer().getId(), playerRow);
 
 			TextView playerView = new TextView(context);
 			playerView.setText(scoreBoardEntry.getPlayer().getName());
@@ -234,6 +240,19 @@ public class GameView {
 		}
 	}
 
+	public void updateScore(Player player, int score, int rank) {
+		TableRow playerRow = scoreBoardRows.get(player.getId());
+		if (playerRow == null) {
+			return;
+		}
+		((TextView) playerRow.getChildAt(1)).setText("" + score);
+		if (rank >= 0 && rank < scoreBoardTable.getChildCount()
+				&& scoreBoardTable.indexOfChild(playerRow) != rank) {
+			scoreBoardTable.removeView(playerRow);
+			scoreBoardTable.addView(playerRow, rank);
+		}
+	}
+
 	public void closeSoftKeyboard() {
 		InputMethodManager inputMethodManager = (InputMethodManager) context
 				.getSystemService(Context.INPUT_METHOD_SERVICE);
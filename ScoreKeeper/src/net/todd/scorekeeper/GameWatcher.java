@@ -1,26 +1,41 @@
 package net.todd.scorekeeper;
 
 public class GameWatcher {
-	public static void create(final GameModel model, final CurrentGameStore currentGameStore) {
-		model.addPlayerChangedListener(new Listener() {
+	static final int SNAPSHOT_INTERVAL = 20;
+
+	public static void create(final GameModel model, final CurrentGameAutosaver autosaver) {
+		Listener turnListener = new Listener() {
+			private int snapshotTurnCount = model.getTurnCount();
+
 			@Override
 			public void handle() {
-				currentGameStore.saveState(model.getGameName(), model.getScoreBoard(),
-						model.getCurrentPlayer());
+				autosaver.appendTurnEvents(model.drainTurnEvents());
+				if (model.getTurnCount() - snapshotTurnCount >= SNAPSHOT_INTERVAL) {
+					snapshotTurnCount = model.getTurnCount();
+					saveSnapshot(model, autosaver);
+				}
 			}
-		});
+		};
+
+		model.addScoreChangedListener(turnListener);
+		model.addPlayerChangedListener(turnListener);
 
 		Listener gameEndedListener = new Listener() {
 			@Override
 			public void handle() {
-				currentGameStore.clearState();
+				autosaver.clear();
+				autosaver.flush();
 			}
 		};
 
 		model.addGameOverListener(gameEndedListener);
 		model.addCancelGameListener(gameEndedListener);
 
-		currentGameStore.saveState(model.getGameName(), model.getScoreBoard(),
-				model.getCurrentPlayer());
+		saveSnapshot(model, autosaver);
+	}
+
+	private static void saveSnapshot(GameModel model, CurrentGameAutosaver autosaver) {
+		autosaver.save(model.getGameName(), model.getScoreBoard(), model.getCurrentPlayer(),
+				model.getTurnCount());
 	}
 }
@@ -0,0 +1,43 @@
+package net.todd.scorekeeper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class HeadToHead {
+	private final List<String> playerIds;
+	private final Map<String, Integer> indexesByPlayerId;
+	private final int[] timesAhead;
+
+	HeadToHead(List<String> playerIds, Map<String, Integer> indexesByPlayerId, int[] timesAhead) {
+		this.playerIds = playerIds;
+		this.indexesByPlayerId = indexesByPlayerId;
+		this.timesAhead = timesAhead;
+	}
+
+	public List<String> getPlayerIds() {
+		return Collections.unmodifiableList(playerIds);
+	}
+
+	public int getPlayerCount() {
+		return playerIds.size();
+	}
+
+	public int indexOf(String playerId) {
+		Integer index = indexesByPlayerId.get(playerId);
+		return index == null ? -1 : index;
+	}
+
+	public int getTimesAhead(int playerIndex, int opponentIndex) {
+		return timesAhead[playerIndex * playerIds.size() + opponentIndex];
+	}
+
+	public int getTimesAhead(String playerId, String opponentId) {
+		int playerIndex = indexOf(playerId);
+		int opponentIndex = indexOf(opponentId);
+		if (playerIndex < 0 || opponentIndex < 0) {
+			return 0;
+		}
+		return getTimesAhead(playerIndex, opponentIndex);
+	}
+}
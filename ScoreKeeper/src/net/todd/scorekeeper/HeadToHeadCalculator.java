@@ -0,0 +1,155 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.ScoreBoardEntry;
+
+public class HeadToHeadCalculator {
+	private static final int DEFAULT_MINIMUM_CHUNK_SIZE = 512;
+
+	private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+	private static final ExecutorService workers = Executors.newFixedThreadPool(PARALLELISM,
+			new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "HeadToHead");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	private final ExecutorService executor;
+	private final int parallelism;
+	private final int minimumChunkSize;
+
+	private String cachedHistoryVersion;
+	private HeadToHead cachedHeadToHead;
+
+	public HeadToHeadCalculator() {
+		this(workers, PARALLELISM, DEFAULT_MINIMUM_CHUNK_SIZE);
+	}
+
+	HeadToHeadCalculator(ExecutorService executor, int parallelism, int minimumChunkSize) {
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.minimumChunkSize = minimumChunkSize;
+	}
+
+	public synchronized HeadToHead getCached(String historyVersion) {
+		return historyVersion.equals(cachedHistoryVersion) ? cachedHeadToHead : null;
+	}
+
+	public HeadToHead calculate(String historyVersion, List<Game> games) {
+		HeadToHead headToHead = calculate(games);
+		synchronized (this) {
+			cachedHistoryVersion = historyVersion;
+			cachedHeadToHead = headToHead;
+		}
+		return headToHead;
+	}
+
+	HeadToHead calculate(final List<Game> games) {
+		final List<String> playerIds = new ArrayList<String>();
+		final Map<String, Integer> indexesByPlayerId = new HashMap<String, Integer>();
+		for (Game game : games) {
+			for (ScoreBoardEntry entry : getEntries(game.getScoreBoard())) {
+				String playerId = entry.getPlayer().getId();
+				if (playerId != null && !indexesByPlayerId.containsKey(playerId)) {
+					indexesByPlayerId.put(playerId, playerIds.size());
+					playerIds.add(playerId);
+				}
+			}
+		}
+
+		final int playerCount = playerIds.size();
+		int chunkCount = Math.max(1, Math.min(parallelism, games.size() / minimumChunkSize));
+		int chunkSize = (games.size() + chunkCount - 1) / Math.max(1, chunkCount);
+		int[] timesAhead;
+		if (chunkCount == 1) {
+			timesAhead = count(games, indexesByPlayerId, playerCount);
+		} else {
+			List<Future<int[]>> chunks = new ArrayList<Future<int[]>>();
+			for (int start = 0; start < games.size(); start += chunkSize) {
+				final List<Game> chunk = games.subList(start, Math.min(games.size(), start
+						+ chunkSize));
+				chunks.add(executor.submit(new Callable<int[]>() {
+					@Override
+					public int[] call() {
+						return count(chunk, indexesByPlayerId, playerCount);
+					}
+				}));
+			}
+			timesAhead = new int[playerCount * playerCount];
+			for (Future<int[]> chunk : chunks) {
+				int[] chunkTimesAhead = getResult(chunk);
+				for (int i = 0; i < timesAhead.length; i++) {
+					timesAhead[i] += chunkTimesAhead[i];
+				}
+			}
+		}
+		return new HeadToHead(playerIds, indexesByPlayerId, timesAhead);
+	}
+
+	private static int[] count(List<Game> games, Map<String, Integer> indexesByPlayerId,
+			int playerCount) {
+		int[] timesAhead = new int[playerCount * playerCount];
+		int[] ranking = new int[0];
+		for (Game game : games) {
+			ScoreBoard scoreBoard = game.getScoreBoard();
+			if (scoreBoard == null) {
+				continue;
+			}
+			List<ScoreBoardEntry> entries = scoreBoard.getEntries();
+			if (ranking.length < entries.size()) {
+				ranking = new int[entries.size()];
+			}
+			for (int i = 0; i < entries.size(); i++) {
+				Integer index = indexesByPlayerId.get(entries.get(i).getPlayer().getId());
+				ranking[i] = index == null ? -1 : index;
+			}
+			Comparator<ScoreBoardEntry> comparator = scoreBoard.getScoring().getComparator();
+			for (int i = 0; i < entries.size(); i++) {
+				if (ranking[i] < 0) {
+					continue;
+				}
+				int row = ranking[i] * playerCount;
+				for (int j = i + 1; j < entries.size(); j++) {
+					if (ranking[j] >= 0 && comparator.compare(entries.get(i), entries.get(j)) < 0) {
+						timesAhead[row + ranking[j]]++;
+					}
+				}
+			}
+		}
+		return timesAhead;
+	}
+
+	private static List<ScoreBoardEntry> getEntries(ScoreBoard scoreBoard) {
+		if (scoreBoard == null) {
+			return new ArrayList<ScoreBoardEntry>();
+		}
+		return scoreBoard.getEntriesInTurnOrder();
+	}
+
+	private static int[] getResult(Future<int[]> chunk) {
+		try {
+			return chunk.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+}
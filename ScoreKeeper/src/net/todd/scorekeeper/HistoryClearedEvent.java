@@ -0,0 +1,4 @@
+package net.todd.scorekeeper;
+
+public class HistoryClearedEvent {
+}
@@ -1,14 +1,17 @@
 package net.todd.scorekeeper;
 
-import java.util.Collections;
 import java.util.List;
 
 import net.todd.scorekeeper.data.Game;
 
 public class HistoryModel {
+	static final int PAGE_SIZE = 20;
+
 	private final GameStore gameStore;
 	private final PageNavigator pageNavigator;
 	private final ListenerManager historyChangedListener = new ListenerManager();
+	private final EventBus eventBus = new EventBus();
+	private int loadedGameCount;
 
 	public HistoryModel(GameStore gameStore, PageNavigator pageNavigator) {
 		this.gameStore = gameStore;
@@ -19,15 +22,27 @@ public class HistoryModel {
 		pageNavigator.navigateToActivityAndFinish(MainPageActivity.class);
 	}
 
-	public List<Game> getAllGames() {
-		List<Game> allGames = gameStore.getAllGames();
-		Collections.sort(allGames);
-		return allGames;
+	public List<Game> getFirstPageOfGames() {
+		loadedGameCount = 0;
+		return getNextPageOfGames();
+	}
+
+	public List<Game> getNextPageOfGames() {
+		List<Game> games = gameStore.find(new GameQuery().offset(loadedGameCount).limit(
+				PAGE_SIZE));
+		loadedGameCount += games.size();
+		return games;
+	}
+
+	public boolean areThereMoreGames() {
+		return loadedGameCount < gameStore.count(new GameQuery());
 	}
 
 	public void clearHistory() {
 		gameStore.clearAllGames();
+		loadedGameCount = 0;
 		historyChangedListener.notifyListeners();
+		eventBus.publish(new HistoryClearedEvent());
 	}
 
 	public void addHistoryChangedListener(Listener listener) {
@@ -36,10 +51,18 @@ public class HistoryModel {
 
 	public void removeGame(Game selectedGame) {
 		gameStore.deleteGame(selectedGame);
+		if (loadedGameCount > 0) {
+			loadedGameCount--;
+		}
 		historyChangedListener.notifyListeners();
+		eventBus.publish(new GameRemovedEvent(selectedGame, gameStore.hasGames()));
+	}
+
+	public EventBus getEventBus() {
+		return eventBus;
 	}
 
 	public boolean areThereGamesInHistory() {
-		return !gameStore.getAllGames().isEmpty();
+		return gameStore.hasGames();
 	}
 }
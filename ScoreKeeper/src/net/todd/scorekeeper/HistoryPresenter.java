@@ -1,8 +1,13 @@
 package net.todd.scorekeeper;
 
+import java.util.Collections;
+
+import net.todd.scorekeeper.data.Game;
+
 public class HistoryPresenter {
 	public static void create(final HistoryView view, final HistoryModel model) {
-		updateView(view, model);
+		view.setHistory(model.getFirstPageOfGames());
+		view.setClearButtonEnabled(model.areThereGamesInHistory());
 
 		view.addBackPressedListener(new Listener() {
 			@Override
@@ -46,16 +51,31 @@ public class HistoryPresenter {
 			}
 		});
 
-		model.addHistoryChangedListener(new Listener() {
+		view.addScrolledToEndListener(new Listener() {
 			@Override
 			public void handle() {
-				updateView(view, model);
+				if (model.areThereMoreGames()) {
+					view.addHistory(model.getNextPageOfGames());
+				}
 			}
 		});
-	}
 
-	private static void updateView(final HistoryView view, final HistoryModel model) {
-		view.setHistory(model.getAllGames());
-		view.setClearButtonEnabled(model.areThereGamesInHistory());
+		model.getEventBus().subscribe(GameRemovedEvent.class,
+				new EventListener<GameRemovedEvent>() {
+					@Override
+					public void handle(GameRemovedEvent event) {
+						view.removeGame(event.getGame());
+						view.setClearButtonEnabled(event.areThereGamesLeft());
+					}
+				});
+
+		model.getEventBus().subscribe(HistoryClearedEvent.class,
+				new EventListener<HistoryClearedEvent>() {
+					@Override
+					public void handle(HistoryClearedEvent event) {
+						view.setHistory(Collections.<Game> emptyList());
+						view.setClearButtonEnabled(false);
+					}
+				});
 	}
 }
@@ -2,6 +2,7 @@ package net.todd.scorekeeper;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.List;
 
 import net.todd.scorekeeper.data.Game;
@@ -29,12 +30,16 @@ public class HistoryView {
 	private final ListenerManager clearHistoryConfirmationListenerManager = new ListenerManager();
 	private final ListenerManager clearGameConfirmationListenerManager = new ListenerManager();
 	private final ListenerManager clearGameButtonPressedListenerManager = new ListenerManager();
+	private final ListenerManager scrolledToEndListenerManager = new ListenerManager();
 
 	private final Activity activity;
 	private final LinearLayout mainView;
 	private final ScrollView historyContainer;
+	private TableLayout historyTable;
 
 	private Game selectedGameToRemove;
+	private final List<Game> displayedGames = new ArrayList<Game>();
+	private final List<List<View>> displayedGameRows = new ArrayList<List<View>>();
 	private final Button clearButton;
 	private final LinearLayout buttonLayout;
 	private final TextView title;
@@ -60,7 +65,16 @@ public class HistoryView {
 		title.setGravity(Gravity.CENTER_HORIZONTAL);
 		mainView.addView(title);
 
-		historyContainer = new ScrollView(activity);
+		historyContainer = new ScrollView(activity) {
+			@Override
+			protected void onScrollChanged(int left, int top, int oldLeft, int oldTop) {
+				super.onScrollChanged(left, top, oldLeft, oldTop);
+				View content = getChildAt(0);
+				if (content != null && top + getHeight() >= content.getHeight()) {
+					scrolledToEndListenerManager.notifyListeners();
+				}
+			}
+		};
 		mainView.addView(historyContainer);
 
 		buttonLayout = new LinearLayout(activity);
@@ -99,11 +113,13 @@ public class HistoryView {
 	public void setHistory(List<Game> allGames) {
 		historyContainer.removeAllViews();
 
-		TableLayout historyTable = new TableLayout(activity);
+		historyTable = new TableLayout(activity);
 		historyTable.setLayoutParams(new TableLayout.LayoutParams(
 				TableLayout.LayoutParams.FILL_PARENT, TableLayout.LayoutParams.FILL_PARENT));
 		historyTable.setColumnStretchable(0, true);
 		historyContainer.addView(historyTable);
+		displayedGames.clear();
+		displayedGameRows.clear();
 
 		int totalHeight = activity.getWindowManager().getDefaultDisplay().getHeight();
 		int resultingHeight = totalHeight - 210;
@@ -113,10 +129,31 @@ public class HistoryView {
 		historyContainerLayoutParams.rightMargin = UIConstants.MARGIN_SIZE;
 		historyContainer.setLayoutParams(historyContainerLayoutParams);
 
-		for (int gameIndex = 0; gameIndex < allGames.size(); gameIndex++) {
-			final Game game = allGames.get(gameIndex);
+		addHistory(allGames);
+	}
+
+	public void addHistory(List<Game> games) {
+		for (final Game game : games) {
+			List<View> gameRows = new ArrayList<View>();
+			if (historyTable.getChildCount() > 0) {
+				TableRow borderGameRow = new TableRow(activity);
+				historyTable.addView(borderGameRow);
+				gameRows.add(borderGameRow);
+
+				View line = new View(activity);
+				line.setBackgroundColor(UIConstants.TEXT_COLOR);
+				TableRow.LayoutParams lineLayoutParam = new TableRow.LayoutParams(
+						TableRow.LayoutParams.FILL_PARENT, 2);
+				lineLayoutParam.topMargin = UIConstants.MARGIN_SIZE;
+				lineLayoutParam.bottomMargin = UIConstants.MARGIN_SIZE;
+				lineLayoutParam.span = 2;
+				line.setLayoutParams(lineLayoutParam);
+				borderGameRow.addView(line);
+			}
+
 			TableRow firstGameRow = new TableRow(activity);
 			historyTable.addView(firstGameRow);
+			gameRows.add(firstGameRow);
 
 			TextView gameName = new TextView(activity);
 			gameName.setText(game.getGameName() == null ? "Unknown Game" : game.getGameName());
@@ -138,6 +175,7 @@ public class HistoryView {
 
 			TableRow secondGameRow = new TableRow(activity);
 			historyTable.addView(secondGameRow);
+			gameRows.add(secondGameRow);
 
 			TextView gameOverTimestamp = new TextView(activity);
 			gameOverTimestamp.setText(dateFormatter.format(game.getGameOverTimestamp()));
@@ -147,6 +185,7 @@ public class HistoryView {
 
 			TableRow thirdGameRow = new TableRow(activity);
 			historyTable.addView(thirdGameRow);
+			gameRows.add(thirdGameRow);
 
 			TextView scoreBoardTextView = new TextView(activity);
 			TableRow.LayoutParams scorBoardTextLayoutParams = new TableRow.LayoutParams(
@@ -158,21 +197,29 @@ public class HistoryView {
 			scoreBoardTextView.setTextSize(UIConstants.TEXT_SMALL_SIZE);
 			thirdGameRow.addView(scoreBoardTextView);
 
-			if (gameIndex < allGames.size() - 1) {
-				TableRow borderGameRow = new TableRow(activity);
-				historyTable.addView(borderGameRow);
+			displayedGames.add(game);
+			displayedGameRows.add(gameRows);
+		}
+	}
 
-				View line = new View(activity);
-				line.setBackgroundColor(UIConstants.TEXT_COLOR);
-				TableRow.LayoutParams lineLayoutParam = new TableRow.LayoutParams(
-						TableRow.LayoutParams.FILL_PARENT, 2);
-				lineLayoutParam.topMargin = UIConstants.MARGIN_SIZE;
-				lineLayoutParam.bottomMargin = UIConstants.MARGIN_SIZE;
-				lineLayoutParam.span = 2;
-				line.setLayoutParams(lineLayoutParam);
-				borderGameRow.addView(line);
+	public void removeGame(Game game) {
+		int position = -1;
+		for (int i = 0; i < displayedGames.size() && position == -1; i++) {
+			if (displayedGames.get(i) == game) {
+				position = i;
 			}
 		}
+		if (position == -1) {
+			return;
+		}
+		for (View row : displayedGameRows.get(position)) {
+			historyTable.removeView(row);
+		}
+		displayedGames.remove(position);
+		displayedGameRows.remove(position);
+		if (position == 0 && !displayedGameRows.isEmpty()) {
+			historyTable.removeView(displayedGameRows.get(0).remove(0));
+		}
 	}
 
 	private String getScoreBoardText(final Game game) {
@@ -263,4 +310,8 @@ public class HistoryView {
 	public void addClearGameButtonPressedListener(Listener listener) {
 		clearGameButtonPressedListenerManager.addListener(listener);
 	}
+
+	public void addScrolledToEndListener(Listener listener) {
+		scrolledToEndListenerManager.addListener(listener);
+	}
 }
@@ -1,24 +1,103 @@
 package net.todd.scorekeeper;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class ListenerManager {
-	private final List<Listener> listeners = new ArrayList<Listener>();
-	
-	public void addListener(Listener listener) {
-		if (!listeners.contains(listener)) {
-			listeners.add(listener);
+	private static final Registration[] NO_REGISTRATIONS = new Registration[0];
+
+	private final String name;
+	private final NotificationBatch batch;
+	private volatile Registration[] registrations = NO_REGISTRATIONS;
+
+	public ListenerManager() {
+		this(null, null);
+	}
+
+	public ListenerManager(NotificationBatch batch) {
+		this(null, batch);
+	}
+
+	public ListenerManager(String name, NotificationBatch batch) {
+		this.name = name;
+		this.batch = batch;
+	}
+
+	public synchronized void addListener(Listener listener) {
+		Registration[] currentRegistrations = registrations;
+		if (indexOf(currentRegistrations, listener) == -1) {
+			Registration[] newRegistrations = new Registration[currentRegistrations.length + 1];
+			System.arraycopy(currentRegistrations, 0, newRegistrations, 0,
+					currentRegistrations.length);
+			newRegistrations[currentRegistrations.length] = new Registration(listener,
+					ListenerTimings.labelOf(listener, name));
+			registrations = newRegistrations;
 		}
 	}
 
-	public void removeListener(Listener listener) {
-		listeners.remove(listener);
+	public synchronized void removeListener(Listener listener) {
+		Registration[] currentRegistrations = registrations;
+		int index = indexOf(currentRegistrations, listener);
+		if (index != -1) {
+			if (currentRegistrations.length == 1) {
+				registrations = NO_REGISTRATIONS;
+			} else {
+				Registration[] newRegistrations = new Registration[currentRegistrations.length - 1];
+				System.arraycopy(currentRegistrations, 0, newRegistrations, 0, index);
+				System.arraycopy(currentRegistrations, index + 1, newRegistrations, index,
+						newRegistrations.length - index);
+				registrations = newRegistrations;
+			}
+		}
 	}
-	
+
 	public void notifyListeners() {
-		for (Listener listener : listeners) {
-			listener.handle();
+		Registration[] snapshot = registrations;
+		if (batch != null && batch.isOpen()) {
+			for (int i = 0; i < snapshot.length; i++) {
+				batch.add(snapshot[i]);
+			}
+			return;
+		}
+		for (int i = 0; i < snapshot.length; i++) {
+			Registration registration = snapshot[i];
+			if (registrations == snapshot
+					|| indexOf(registrations, registration.listener) != -1) {
+				registration.dispatch();
+			}
+		}
+	}
+
+	private static int indexOf(Registration[] registrations, Listener listener) {
+		for (int i = 0; i < registrations.length; i++) {
+			if (registrations[i].listener == listener) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	static class Registration {
+		private final Listener listener;
+		private final String label;
+
+		private Registration(Listener listener, String label) {
+			this.listener = listener;
+			this.label = label;
+		}
+
+		Listener getListener() {
+			return listener;
+		}
+
+		void dispatch() {
+			if (ListenerTimings.isEnabled) {
+				long startTime = System.nanoTime();
+				try {
+					listener.handle();
+				} finally {
+					ListenerTimings.record(label, System.nanoTime() - startTime);
+				}
+			} else {
+				listener.handle();
+			}
 		}
 	}
 }
@@ -0,0 +1,113 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ListenerTimings {
+	private static final String TAG = ListenerTimings.class.getSimpleName();
+
+	static volatile boolean isEnabled;
+
+	private static final Map<String, Timing> timingsByLabel = new HashMap<String, Timing>();
+
+	public static void setEnabled(boolean isEnabled) {
+		ListenerTimings.isEnabled = isEnabled;
+	}
+
+	public static boolean isEnabled() {
+		return isEnabled;
+	}
+
+	public static synchronized void reset() {
+		timingsByLabel.clear();
+	}
+
+	public static synchronized List<Timing> dump() {
+		List<Timing> timings = new ArrayList<Timing>();
+		for (Timing timing : timingsByLabel.values()) {
+			timings.add(timing.copy());
+		}
+		Collections.sort(timings, new Comparator<Timing>() {
+			@Override
+			public int compare(Timing timing1, Timing timing2) {
+				if (timing1.totalNanos != timing2.totalNanos) {
+					return timing1.totalNanos > timing2.totalNanos ? -1 : 1;
+				}
+				return timing1.label.compareTo(timing2.label);
+			}
+		});
+		return timings;
+	}
+
+	public static void log() {
+		for (Timing timing : dump()) {
+			Logger.info(TAG, timing.toString());
+		}
+	}
+
+	static synchronized void record(String label, long nanos) {
+		Timing timing = timingsByLabel.get(label);
+		if (timing == null) {
+			timing = new Timing(label);
+			timingsByLabel.put(label, timing);
+		}
+		timing.callCount++;
+		timing.totalNanos += nanos;
+		timing.maxNanos = Math.max(timing.maxNanos, nanos);
+	}
+
+	static String labelOf(Object listener, String eventName) {
+		String site = listener.getClass().getName();
+		site = site.substring(site.lastIndexOf('.') + 1);
+		int innerClassIndex = site.indexOf('$');
+		if (innerClassIndex > 0) {
+			site = site.substring(0, innerClassIndex);
+		}
+		return eventName == null ? site : site + " " + eventName;
+	}
+
+	public static class Timing {
+		private final String label;
+		private int callCount;
+		private long totalNanos;
+		private long maxNanos;
+
+		private Timing(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		public int getCallCount() {
+			return callCount;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		private Timing copy() {
+			Timing copy = new Timing(label);
+			copy.callCount = callCount;
+			copy.totalNanos = totalNanos;
+			copy.maxNanos = maxNanos;
+			return copy;
+		}
+
+		@Override
+		public String toString() {
+			return label + ": " + callCount + " calls, " + totalNanos / 1000 + " us total, "
+					+ maxNanos / 1000 + " us max";
+		}
+	}
+}
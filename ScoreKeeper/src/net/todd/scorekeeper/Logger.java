@@ -20,6 +20,22 @@ public class Logger {
 		}
 	}
 
+	public static void info(String tag, String message) {
+		if (isTestMode) {
+			System.out.println(getCurrentDate() + tag + " : " + message);
+		} else {
+			Log.i(tag, message);
+		}
+	}
+
+	public static void debug(String tag, String message) {
+		if (isTestMode) {
+			System.out.println(getCurrentDate() + tag + " : " + message);
+		} else {
+			Log.d(tag, message);
+		}
+	}
+
 	private static String getCurrentDate() {
 		// TODO make this prettier
 		return new Date().toString();
@@ -16,7 +16,8 @@ public class MainPageActivity extends Activity {
 		CurrentGameStore currentStateStore = new CurrentGameStore(this);
 		PageNavigator pageNavigator = new PageNavigator(this);
 
-		new GameRestorer(currentStateStore, pageNavigator).restoreGameInProgress();
+		new GameRestorer(currentStateStore, new TurnLog(this), pageNavigator)
+				.restoreGameInProgress();
 
 		mainView = new MainPageView(this);
 		MainPageModel mainModel = new MainPageModel(this, currentStateStore, pageNavigator);
@@ -1,5 +1,10 @@
 package net.todd.scorekeeper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import net.todd.scorekeeper.data.Player;
@@ -9,6 +14,10 @@ public class ManagePlayersModel {
 	private final PageNavigator pageNavigator;
 
 	private final ListenerManager playerChangedListenerManager = new ListenerManager();
+	private final EventBus eventBus = new EventBus();
+
+	private List<Player> pendingAdditions;
+	private List<String> pendingRemovals;
 
 	public ManagePlayersModel(PlayerStore playerStore, PageNavigator pageNavigator) {
 		this.pageNavigator = pageNavigator;
@@ -20,22 +29,101 @@ public class ManagePlayersModel {
 			Player player = new Player();
 			player.setId(playerStore.nextPlayerId());
 			player.setName(playerName);
-			playerStore.addPlayer(player);
-			playerChangedListenerManager.notifyListeners();
+			if (isBulkEditing()) {
+				pendingAdditions.add(player);
+			} else {
+				playerStore.addPlayer(player);
+				playersChanged(Arrays.asList(player), Collections.<String> emptyList());
+			}
 		}
 	}
 
+	public void addPlayers(Collection<String> playerNames) {
+		boolean isOwnBulkEdit = !isBulkEditing();
+		beginBulkEdit();
+		for (String playerName : playerNames) {
+			addPlayer(playerName);
+		}
+		if (isOwnBulkEdit) {
+			endBulkEdit();
+		}
+	}
+
+	public void beginBulkEdit() {
+		if (!isBulkEditing()) {
+			pendingAdditions = new ArrayList<Player>();
+			pendingRemovals = new ArrayList<String>();
+		}
+	}
+
+	public void endBulkEdit() {
+		if (isBulkEditing()) {
+			List<Player> additions = pendingAdditions;
+			List<String> removals = pendingRemovals;
+			pendingAdditions = null;
+			pendingRemovals = null;
+			if (!removals.isEmpty()) {
+				playerStore.removePlayers(removals);
+			}
+			if (!additions.isEmpty()) {
+				playerStore.addPlayers(additions);
+			}
+			if (!removals.isEmpty() || !additions.isEmpty()) {
+				playersChanged(additions, removals);
+			}
+		}
+	}
+
+	private void playersChanged(List<Player> additions, List<String> removals) {
+		playerChangedListenerManager.notifyListeners();
+		eventBus.publish(new PlayersChangedEvent(additions, removals));
+	}
+
+	public boolean isBulkEditing() {
+		return pendingAdditions != null;
+	}
+
 	public void addPlayerChangedListener(Listener listener) {
 		playerChangedListenerManager.addListener(listener);
 	}
 
+	public EventBus getEventBus() {
+		return eventBus;
+	}
+
 	public void removePlayer(String playerToRemove) {
-		playerStore.removePlayer(playerToRemove);
-		playerChangedListenerManager.notifyListeners();
+		if (isBulkEditing()) {
+			if (!removePendingAddition(playerToRemove)) {
+				pendingRemovals.add(playerToRemove);
+			}
+		} else {
+			playerStore.removePlayer(playerToRemove);
+			playersChanged(Collections.<Player> emptyList(), Arrays.asList(playerToRemove));
+		}
 	}
 
 	public List<Player> getPlayers() {
-		return playerStore.getAllPlayers();
+		if (!isBulkEditing()) {
+			return playerStore.getAllPlayers();
+		}
+		List<Player> players = new ArrayList<Player>();
+		for (Player player : playerStore.getAllPlayers()) {
+			if (!pendingRemovals.contains(player.getId())) {
+				players.add(player);
+			}
+		}
+		players.addAll(pendingAdditions);
+		return players;
+	}
+
+	private boolean removePendingAddition(String playerId) {
+		for (Iterator<Player> iterator = pendingAdditions.iterator(); iterator.hasNext();) {
+			if (iterator.next().getId().equals(playerId)) {
+				iterator.remove();
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public void finish() {
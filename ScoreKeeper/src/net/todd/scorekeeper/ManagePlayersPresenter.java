@@ -18,12 +18,14 @@ public class ManagePlayersPresenter {
 			}
 		});
 
-		model.addPlayerChangedListener(new Listener() {
-			@Override
-			public void handle() {
-				view.setPlayers(model.getPlayers());
-			}
-		});
+		model.getEventBus().subscribe(PlayersChangedEvent.class,
+				new EventListener<PlayersChangedEvent>() {
+					@Override
+					public void handle(PlayersChangedEvent event) {
+						view.removePlayers(event.getRemovedPlayerIds());
+						view.addPlayers(event.getAddedPlayers());
+					}
+				});
 
 		view.addDoneButtonListener(new Listener() {
 			@Override
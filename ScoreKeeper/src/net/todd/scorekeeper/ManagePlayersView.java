@@ -1,6 +1,8 @@
 package net.todd.scorekeeper;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.todd.scorekeeper.data.Player;
 import android.content.Context;
@@ -30,6 +32,7 @@ public class ManagePlayersView {
 	private final ListenerManager backPressedListenerManager = new ListenerManager();
 
 	private String playerToRemove;
+	private final Map<String, View> playerRows = new HashMap<String, View>();
 
 	public ManagePlayersView(Context context) {
 		this.context = context;
@@ -133,6 +136,7 @@ public class ManagePlayersView {
 				TableRow.LayoutParams.WRAP_CONTENT));
 		playerRow.setGravity(Gravity.CENTER_VERTICAL);
 		tableView.addView(playerRow);
+		playerRows.put(playerId, playerRow);
 
 		TextView player = new TextView(context);
 		player.setText(playerName);
@@ -162,16 +166,29 @@ public class ManagePlayersView {
 
 	public void setPlayers(List<Player> players) {
 		clearCurrentPlayers();
+		addPlayers(players);
+	}
 
+	public void addPlayers(List<Player> players) {
 		for (Player player : players) {
 			addPlayer(player.getId(), player.getName());
 		}
 	}
 
+	public void removePlayers(List<String> playerIds) {
+		for (String playerId : playerIds) {
+			View playerRow = playerRows.remove(playerId);
+			if (playerRow != null) {
+				tableView.removeView(playerRow);
+			}
+		}
+	}
+
 	private void clearCurrentPlayers() {
 		while (tableView.getChildCount() > 1) {
 			tableView.removeViewAt(tableView.getChildCount() - 1);
 		}
+		playerRows.clear();
 	}
 
 	public void addDoneButtonListener(Listener listener) {
@@ -0,0 +1,55 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class NotificationBatch {
+	private final List<ListenerManager.Registration> pendingRegistrations =
+			new ArrayList<ListenerManager.Registration>();
+	private int depth;
+	private int coalescedCount;
+
+	public void begin() {
+		depth++;
+	}
+
+	public void end() {
+		if (depth == 0) {
+			throw new IllegalStateException("end() called without a matching begin()");
+		}
+		depth--;
+		if (depth == 0) {
+			deliver();
+		}
+	}
+
+	public boolean isOpen() {
+		return depth > 0;
+	}
+
+	public int getCoalescedCount() {
+		return coalescedCount;
+	}
+
+	void add(ListenerManager.Registration registration) {
+		for (int i = 0; i < pendingRegistrations.size(); i++) {
+			if (pendingRegistrations.get(i).getListener() == registration.getListener()) {
+				coalescedCount++;
+				return;
+			}
+		}
+		pendingRegistrations.add(registration);
+	}
+
+	private void deliver() {
+		if (pendingRegistrations.isEmpty()) {
+			return;
+		}
+		ListenerManager.Registration[] registrations = pendingRegistrations
+				.toArray(new ListenerManager.Registration[pendingRegistrations.size()]);
+		pendingRegistrations.clear();
+		for (ListenerManager.Registration registration : registrations) {
+			registration.dispatch();
+		}
+	}
+}
@@ -31,6 +31,7 @@ public class ObjectSerializerPersistor<T> extends Persistor<T> {
 				oos.close();
 			} catch (Exception e) {
 			}
+			fileWritten();
 		}
 	}
 
@@ -57,7 +58,8 @@ public class ObjectSerializerPersistor<T> extends Persistor<T> {
 		return items;
 	}
 
-	private String getDataFilename() {
+	@Override
+	public String getDataFilename() {
 		return getClazz().getName() + ".data";
 	}
 }
@@ -22,7 +22,8 @@ public class OrderPlayersModel {
 		this.pageNavigator = pageNavigator;
 
 		currentGame = (CurrentGame) pageNavigator.getExtra("currentGame");
-		for (ScoreBoardEntry scoreBoardEntry : currentGame.getScoreBoard().getEntries()) {
+		for (ScoreBoardEntry scoreBoardEntry : currentGame.getScoreBoard()
+				.getEntriesInTurnOrder()) {
 			allPlayers.add(scoreBoardEntry.getPlayer());
 		}
 	}
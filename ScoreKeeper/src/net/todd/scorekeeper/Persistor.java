@@ -1,12 +1,18 @@
 package net.todd.scorekeeper;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import android.content.Context;
 
 public abstract class Persistor<T> {
+	private static final Map<String, Integer> writeCounts = new HashMap<String, Integer>();
+
 	protected Context context;
 	private Class<T> clazz;
 
@@ -54,4 +60,46 @@ public abstract class Persistor<T> {
 	public abstract List<T> load();
 
 	public abstract void persist(List<T> items);
+
+	public abstract String getDataFilename();
+
+	public boolean exists() {
+		return getContext().getFileStreamPath(getDataFilename()).exists();
+	}
+
+	public int getWriteCount() {
+		synchronized (writeCounts) {
+			Integer writeCount = writeCounts.get(getDataFilePath());
+			return writeCount == null ? 0 : writeCount;
+		}
+	}
+
+	protected void fileWritten() {
+		synchronized (writeCounts) {
+			writeCounts.put(getDataFilePath(), getWriteCount() + 1);
+		}
+	}
+
+	private String getDataFilePath() {
+		File file = getContext().getFileStreamPath(getDataFilename());
+		return file == null ? getDataFilename() : file.getPath();
+	}
+
+	public CloseableIterator<T> iterate() {
+		return iteratorOver(load());
+	}
+
+	protected static <T> CloseableIterator<T> iteratorOver(List<T> items) {
+		final Iterator<T> iterator = items.iterator();
+		return new AbstractCloseableIterator<T>() {
+			@Override
+			protected T computeNext() {
+				return iterator.hasNext() ? iterator.next() : null;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
 }
@@ -0,0 +1,83 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.PlayerResolver;
+
+public class PlayerDirectory implements PlayerResolver {
+	static final String UNKNOWN_PLAYER_NAME = "Unknown player";
+
+	private final PlayerStore playerStore;
+	private Map<String, Player> playersById;
+	private final List<Player> unknownInlinePlayers = new ArrayList<Player>();
+	private boolean hasResolvedInlinePlayers;
+
+	public PlayerDirectory(PlayerStore playerStore) {
+		this.playerStore = playerStore;
+	}
+
+	@Override
+	public synchronized Player resolve(String playerId) {
+		Player player = getPlayersById().get(playerId);
+		if (player == null) {
+			player = new Player();
+			player.setId(playerId);
+			player.setName(UNKNOWN_PLAYER_NAME);
+			playersById.put(playerId, player);
+		}
+		return player;
+	}
+
+	@Override
+	public synchronized Player resolveInline(Player player) {
+		hasResolvedInlinePlayers = true;
+		Player knownPlayer = getPlayersById().get(player.getId());
+		if (knownPlayer == null) {
+			playersById.put(player.getId(), player);
+			unknownInlinePlayers.add(player);
+			knownPlayer = player;
+		}
+		return knownPlayer;
+	}
+
+	public synchronized void register(Player player) {
+		if (getPlayersById().containsKey(player.getId())) {
+			return;
+		}
+		Player knownPlayer = playerStore.getPlayerById(player.getId());
+		if (knownPlayer == null) {
+			playerStore.archivePlayer(player);
+			knownPlayer = player;
+		}
+		playersById.put(player.getId(), knownPlayer);
+	}
+
+	public synchronized boolean takeHasResolvedInlinePlayers() {
+		boolean hadResolvedInlinePlayers = hasResolvedInlinePlayers;
+		hasResolvedInlinePlayers = false;
+		return hadResolvedInlinePlayers;
+	}
+
+	public synchronized List<Player> takeUnknownInlinePlayers() {
+		List<Player> players = new ArrayList<Player>(unknownInlinePlayers);
+		unknownInlinePlayers.clear();
+		return players;
+	}
+
+	private Map<String, Player> getPlayersById() {
+		if (playersById == null) {
+			playersById = new HashMap<String, Player>();
+			for (Player player : playerStore.getArchivedPlayers()) {
+				playersById.put(player.getId(), player);
+			}
+			for (Player player : playerStore.getAllPlayers()) {
+				playersById.put(player.getId(), player);
+			}
+		}
+		return playersById;
+	}
+}
@@ -1,23 +1,38 @@
 package net.todd.scorekeeper;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import net.todd.scorekeeper.data.BinaryPersistor;
+import net.todd.scorekeeper.data.CachingPersistor;
 import net.todd.scorekeeper.data.Player;
-import net.todd.scorekeeper.data.XmlPersistor;
 import android.content.Context;
 
 public class PlayerStore {
 	private List<Player> players;
 	private final Persistor<Player> persistor;
+	private final Persistor<Player> archivePersistor;
+	private final Map<String, Long> lastUsedTimes = new HashMap<String, Long>();
+	private PrefixIndex<String> nameIndex;
+	private Map<String, Player> indexedPlayers;
 
 	public PlayerStore(Context context) {
-		this(XmlPersistor.create(Player.class, context));
+		this(CachingPersistor.create(Player.class, BinaryPersistor.create(Player.class, context),
+				context), CachingPersistor.create(Player.class, BinaryPersistor.create(
+				Player.class, context, Player.class.getName() + ".archive.bin"), context));
 	}
 
-	PlayerStore(Persistor<Player> persistor) {
+	PlayerStore(Persistor<Player> persistor, Persistor<Player> archivePersistor) {
 		this.persistor = persistor;
+		this.archivePersistor = archivePersistor;
 	}
 
 	public List<Player> getAllPlayers() {
@@ -27,16 +42,103 @@ public class PlayerStore {
 	}
 
 	public void addPlayer(Player player) {
+		addPlayers(Arrays.asList(player));
+	}
+
+	public void addPlayers(Collection<Player> newPlayers) {
 		load();
-		players.add(player);
+		players.addAll(newPlayers);
 		persist();
+		if (nameIndex != null) {
+			for (Player player : newPlayers) {
+				index(player);
+			}
+		}
 	}
 
 	public void removePlayer(String playerId) {
+		removePlayers(Arrays.asList(playerId));
+	}
+
+	public void removePlayers(Collection<String> playerIds) {
 		load();
-		Player playerToRemove = getPlayerById(playerId);
-		players.remove(playerToRemove);
+		Set<String> idsToRemove = new HashSet<String>(playerIds);
+		List<Player> playersToRemove = new ArrayList<Player>();
+		for (Iterator<Player> iterator = players.iterator(); iterator.hasNext();) {
+			Player player = iterator.next();
+			if (idsToRemove.remove(player.getId())) {
+				playersToRemove.add(player);
+				iterator.remove();
+			}
+		}
 		persist();
+		if (!playersToRemove.isEmpty()) {
+			archivePlayers(playersToRemove);
+		}
+		if (nameIndex != null) {
+			for (Player player : playersToRemove) {
+				nameIndex.remove(player.getId());
+				indexedPlayers.remove(player.getId());
+			}
+		}
+	}
+
+	public List<Player> findPlayers(String prefix, int limit) {
+		if (nameIndex == null) {
+			nameIndex = new PrefixIndex<String>();
+			indexedPlayers = new HashMap<String, Player>();
+			for (Player player : getAllPlayers()) {
+				index(player);
+			}
+		}
+		List<Player> matchingPlayers = new ArrayList<Player>();
+		for (String playerId : nameIndex.find(prefix, limit)) {
+			matchingPlayers.add(indexedPlayers.get(playerId));
+		}
+		return matchingPlayers;
+	}
+
+	public void playerUsed(String playerId, long timestamp) {
+		Long lastUsed = lastUsedTimes.get(playerId);
+		if (lastUsed == null || timestamp > lastUsed) {
+			lastUsedTimes.put(playerId, timestamp);
+		}
+		if (nameIndex != null) {
+			nameIndex.touch(playerId, timestamp);
+		}
+	}
+
+	private void index(Player player) {
+		Long lastUsed = lastUsedTimes.get(player.getId());
+		nameIndex.put(player.getName(), player.getId(), lastUsed == null ? Long.MIN_VALUE
+				: lastUsed);
+		indexedPlayers.put(player.getId(), player);
+	}
+
+	public List<Player> getArchivedPlayers() {
+		return archivePersistor.load();
+	}
+
+	public void archivePlayer(Player player) {
+		archivePlayers(Arrays.asList(player));
+	}
+
+	public void archivePlayers(List<Player> playersToArchive) {
+		List<Player> archivedPlayers = archivePersistor.load();
+		Set<String> archivedPlayerIds = new HashSet<String>();
+		for (Player archivedPlayer : archivedPlayers) {
+			archivedPlayerIds.add(archivedPlayer.getId());
+		}
+		boolean isChanged = false;
+		for (Player player : playersToArchive) {
+			if (archivedPlayerIds.add(player.getId())) {
+				archivedPlayers.add(player);
+				isChanged = true;
+			}
+		}
+		if (isChanged) {
+			archivePersistor.persist(archivedPlayers);
+		}
 	}
 
 	private void load() {
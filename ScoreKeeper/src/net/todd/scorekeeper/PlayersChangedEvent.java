@@ -0,0 +1,23 @@
+package net.todd.scorekeeper;
+
+import java.util.List;
+
+import net.todd.scorekeeper.data.Player;
+
+public class PlayersChangedEvent {
+	private final List<Player> addedPlayers;
+	private final List<String> removedPlayerIds;
+
+	public PlayersChangedEvent(List<Player> addedPlayers, List<String> removedPlayerIds) {
+		this.addedPlayers = addedPlayers;
+		this.removedPlayerIds = removedPlayerIds;
+	}
+
+	public List<Player> getAddedPlayers() {
+		return addedPlayers;
+	}
+
+	public List<String> getRemovedPlayerIds() {
+		return removedPlayerIds;
+	}
+}
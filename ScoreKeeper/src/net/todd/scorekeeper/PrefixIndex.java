@@ -0,0 +1,225 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class PrefixIndex<T> {
+	private final Node<T> root = new Node<T>();
+	private final Map<T, Entry<T>> entries = new HashMap<T, Entry<T>>();
+
+	public synchronized void put(String text, T value, long lastUsed) {
+		remove(value);
+		Entry<T> entry = new Entry<T>(value, text, lastUsed);
+		entries.put(value, entry);
+		for (String key : keysOf(text)) {
+			Node<T> node = root;
+			for (int i = 0; i < key.length(); i++) {
+				node = node.getOrAddChild(key.charAt(i));
+			}
+			node.addEntry(entry);
+		}
+	}
+
+	public synchronized void remove(T value) {
+		Entry<T> entry = entries.remove(value);
+		if (entry != null) {
+			for (String key : keysOf(entry.text)) {
+				remove(root, key, 0, entry);
+			}
+		}
+	}
+
+	public synchronized void touch(T value, long lastUsed) {
+		Entry<T> entry = entries.get(value);
+		if (entry != null && lastUsed > entry.lastUsed) {
+			entry.lastUsed = lastUsed;
+		}
+	}
+
+	public synchronized boolean contains(T value) {
+		return entries.containsKey(value);
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized List<T> find(String prefix, int limit) {
+		String key = normalize(prefix);
+		Node<T> node = root;
+		for (int i = 0; i < key.length() && node != null; i++) {
+			node = node.getChild(key.charAt(i));
+		}
+		List<T> values = new ArrayList<T>();
+		if (node == null || limit <= 0) {
+			return values;
+		}
+
+		Map<Entry<T>, Boolean> matches = new IdentityHashMap<Entry<T>, Boolean>();
+		collect(node, matches);
+		List<Entry<T>> rankedEntries = new ArrayList<Entry<T>>(matches.keySet());
+		Collections.sort(rankedEntries, new Comparator<Entry<T>>() {
+			@Override
+			public int compare(Entry<T> entry1, Entry<T> entry2) {
+				if (entry1.lastUsed != entry2.lastUsed) {
+					return entry1.lastUsed > entry2.lastUsed ? -1 : 1;
+				}
+				return entry1.text.compareToIgnoreCase(entry2.text);
+			}
+		});
+		for (int i = 0; i < rankedEntries.size() && i < limit; i++) {
+			values.add(rankedEntries.get(i).value);
+		}
+		return values;
+	}
+
+	private static <T> void collect(Node<T> node, Map<Entry<T>, Boolean> matches) {
+		for (int i = 0; i < node.entryCount; i++) {
+			matches.put(node.entries[i], Boolean.TRUE);
+		}
+		for (int i = 0; i < node.childCount; i++) {
+			collect(node.children[i], matches);
+		}
+	}
+
+	private static <T> boolean remove(Node<T> node, String key, int depth, Entry<T> entry) {
+		if (depth == key.length()) {
+			node.removeEntry(entry);
+		} else {
+			Node<T> child = node.getChild(key.charAt(depth));
+			if (child != null && remove(child, key, depth + 1, entry)) {
+				node.removeChild(key.charAt(depth));
+			}
+		}
+		return node.entryCount == 0 && node.childCount == 0;
+	}
+
+	private static List<String> keysOf(String text) {
+		String key = normalize(text);
+		List<String> keys = new ArrayList<String>();
+		for (int i = 0; i < key.length(); i++) {
+			if (!Character.isWhitespace(key.charAt(i))
+					&& (i == 0 || Character.isWhitespace(key.charAt(i - 1)))) {
+				keys.add(key.substring(i));
+			}
+		}
+		if (keys.isEmpty()) {
+			keys.add(key);
+		}
+		return keys;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.trim().toLowerCase(Locale.ENGLISH);
+	}
+
+	private static class Entry<T> {
+		private final T value;
+		private final String text;
+		private long lastUsed;
+
+		private Entry(T value, String text, long lastUsed) {
+			this.value = value;
+			this.text = text == null ? "" : text;
+			this.lastUsed = lastUsed;
+		}
+	}
+
+	private static class Node<T> {
+		private char[] keys = new char[0];
+		private Node<T>[] children = newNodes(0);
+		private int childCount;
+		private Entry<T>[] entries = newEntries(0);
+		private int entryCount;
+
+		private int indexOf(char key) {
+			int low = 0;
+			int high = childCount - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				if (keys[middle] < key) {
+					low = middle + 1;
+				} else if (keys[middle] > key) {
+					high = middle - 1;
+				} else {
+					return middle;
+				}
+			}
+			return -(low + 1);
+		}
+
+		private Node<T> getChild(char key) {
+			int position = indexOf(key);
+			return position < 0 ? null : children[position];
+		}
+
+		private Node<T> getOrAddChild(char key) {
+			int position = indexOf(key);
+			if (position >= 0) {
+				return children[position];
+			}
+			position = -position - 1;
+			if (childCount == keys.length) {
+				char[] newKeys = new char[Math.max(2, childCount * 2)];
+				Node<T>[] newChildren = newNodes(newKeys.length);
+				System.arraycopy(keys, 0, newKeys, 0, childCount);
+				System.arraycopy(children, 0, newChildren, 0, childCount);
+				keys = newKeys;
+				children = newChildren;
+			}
+			System.arraycopy(keys, position, keys, position + 1, childCount - position);
+			System.arraycopy(children, position, children, position + 1, childCount - position);
+			keys[position] = key;
+			children[position] = new Node<T>();
+			childCount++;
+			return children[position];
+		}
+
+		private void removeChild(char key) {
+			int position = indexOf(key);
+			if (position >= 0) {
+				childCount--;
+				System.arraycopy(keys, position + 1, keys, position, childCount - position);
+				System.arraycopy(children, position + 1, children, position, childCount
+						- position);
+				children[childCount] = null;
+			}
+		}
+
+		private void addEntry(Entry<T> entry) {
+			if (entryCount == entries.length) {
+				Entry<T>[] newEntries = newEntries(Math.max(1, entryCount * 2));
+				System.arraycopy(entries, 0, newEntries, 0, entryCount);
+				entries = newEntries;
+			}
+			entries[entryCount++] = entry;
+		}
+
+		private void removeEntry(Entry<T> entry) {
+			for (int i = 0; i < entryCount; i++) {
+				if (entries[i] == entry) {
+					entryCount--;
+					System.arraycopy(entries, i + 1, entries, i, entryCount - i);
+					entries[entryCount] = null;
+					return;
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> Node<T>[] newNodes(int size) {
+			return (Node<T>[]) new Node<?>[size];
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> Entry<T>[] newEntries(int size) {
+			return (Entry<T>[]) new Entry<?>[size];
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.JournalPersistor;
+import net.todd.scorekeeper.data.RatingCheckpoint;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.ScoreBoardEntry;
+import android.content.Context;
+
+public class RatingEngine {
+	static final double INITIAL_RATING = 1500;
+	static final double K_FACTOR = 32;
+	private static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+
+	private final Persistor<RatingCheckpoint> persistor;
+	private final int checkpointInterval;
+
+	private List<RatingCheckpoint> checkpoints;
+
+	private final List<String> playerIds = new ArrayList<String>();
+	private final Map<String, Integer> indexesByPlayerId = new HashMap<String, Integer>();
+	private double[] ratings = new double[16];
+	private int[] gamesRated = new int[16];
+	private int gameCount;
+	private long lastGameKey;
+
+	public RatingEngine(Context context) {
+		this(JournalPersistor.create(RatingCheckpoint.class, context),
+				DEFAULT_CHECKPOINT_INTERVAL);
+	}
+
+	RatingEngine(Persistor<RatingCheckpoint> persistor, int checkpointInterval) {
+		this.persistor = persistor;
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	public synchronized int getGameCount() {
+		load();
+		return gameCount;
+	}
+
+	public synchronized double getRating(String playerId) {
+		load();
+		Integer index = indexesByPlayerId.get(playerId);
+		return index == null ? INITIAL_RATING : ratings[index];
+	}
+
+	public synchronized int getGamesRated(String playerId) {
+		load();
+		Integer index = indexesByPlayerId.get(playerId);
+		return index == null ? 0 : gamesRated[index];
+	}
+
+	public synchronized Map<String, Double> getRatings() {
+		load();
+		Map<String, Double> ratingsByPlayerId = new LinkedHashMap<String, Double>();
+		for (int i = 0; i < playerIds.size(); i++) {
+			ratingsByPlayerId.put(playerIds.get(i), ratings[i]);
+		}
+		return ratingsByPlayerId;
+	}
+
+	public synchronized void update(List<Game> games) {
+		load();
+		boolean isChanged = false;
+		if (!isConsistentWith(gameCount, lastGameKey, games)) {
+			restoreLatestCheckpointConsistentWith(games);
+			isChanged = true;
+		}
+		while (gameCount < games.size()) {
+			rateNext(games.get(gameCount));
+			isChanged = true;
+		}
+		if (isChanged) {
+			persist();
+		}
+	}
+
+	public synchronized void gameAdded(Game game) {
+		load();
+		rateNext(game);
+		persist();
+	}
+
+	public synchronized void gameRemoved(int index, List<Game> games) {
+		load();
+		while (!checkpoints.isEmpty()
+				&& checkpoints.get(checkpoints.size() - 1).getGameCount() > index) {
+			checkpoints.remove(checkpoints.size() - 1);
+		}
+		if (gameCount > index) {
+			restoreLatestCheckpointConsistentWith(games);
+		}
+		update(games);
+	}
+
+	public synchronized void rebuild(List<Game> games) {
+		clear();
+		update(games);
+	}
+
+	public synchronized void clear() {
+		load();
+		checkpoints.clear();
+		restore(null);
+		persistor.persist(new ArrayList<RatingCheckpoint>());
+	}
+
+	private void rateNext(Game game) {
+		rate(game.getScoreBoard());
+		gameCount++;
+		lastGameKey = GameStore.GAME_OVER_TIMESTAMP.keyOf(game);
+		if (gameCount % checkpointInterval == 0) {
+			checkpoints.add(createCheckpoint());
+		}
+	}
+
+	private void rate(ScoreBoard scoreBoard) {
+		if (scoreBoard == null) {
+			return;
+		}
+		List<ScoreBoardEntry> entries = scoreBoard.getEntries();
+		int size = entries.size();
+		int[] indexes = new int[size];
+		for (int i = 0; i < size; i++) {
+			indexes[i] = indexOf(entries.get(i).getPlayer().getId());
+		}
+		if (size > 1) {
+			Comparator<ScoreBoardEntry> comparator = scoreBoard.getScoring().getComparator();
+			double kFactor = K_FACTOR / (size - 1);
+			double[] deltas = new double[size];
+			for (int i = 0; i < size; i++) {
+				if (indexes[i] < 0) {
+					continue;
+				}
+				for (int j = i + 1; j < size; j++) {
+					if (indexes[j] < 0) {
+						continue;
+					}
+					int result = comparator.compare(entries.get(i), entries.get(j));
+					double actual = result < 0 ? 1 : result == 0 ? 0.5 : 0;
+					double expected = 1 / (1 + Math.pow(10, (ratings[indexes[j]]
+							- ratings[indexes[i]]) / 400));
+					double delta = kFactor * (actual - expected);
+					deltas[i] += delta;
+					deltas[j] -= delta;
+				}
+			}
+			for (int i = 0; i < size; i++) {
+				if (indexes[i] >= 0) {
+					ratings[indexes[i]] += deltas[i];
+				}
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			if (indexes[i] >= 0) {
+				gamesRated[indexes[i]]++;
+			}
+		}
+	}
+
+	private int indexOf(String playerId) {
+		if (playerId == null) {
+			return -1;
+		}
+		Integer index = indexesByPlayerId.get(playerId);
+		if (index == null) {
+			index = playerIds.size();
+			if (index == ratings.length) {
+				ratings = ArrayUtil.resize(ratings, index * 2);
+				gamesRated = ArrayUtil.resize(gamesRated, index * 2);
+			}
+			playerIds.add(playerId);
+			indexesByPlayerId.put(playerId, index);
+			ratings[index] = INITIAL_RATING;
+			gamesRated[index] = 0;
+		}
+		return index;
+	}
+
+	private boolean isConsistentWith(int ratedGameCount, long ratedGameKey, List<Game> games) {
+		if (ratedGameCount == 0) {
+			return true;
+		}
+		if (ratedGameCount > games.size()) {
+			return false;
+		}
+		return GameStore.GAME_OVER_TIMESTAMP.keyOf(games.get(ratedGameCount - 1)) == ratedGameKey;
+	}
+
+	private void restoreLatestCheckpointConsistentWith(List<Game> games) {
+		while (!checkpoints.isEmpty()) {
+			RatingCheckpoint checkpoint = checkpoints.get(checkpoints.size() - 1);
+			if (isConsistentWith(checkpoint.getGameCount(), checkpoint.getLastGameKey(), games)) {
+				break;
+			}
+			checkpoints.remove(checkpoints.size() - 1);
+		}
+		restore(checkpoints.isEmpty() ? null : checkpoints.get(checkpoints.size() - 1));
+	}
+
+	private void restore(RatingCheckpoint checkpoint) {
+		playerIds.clear();
+		indexesByPlayerId.clear();
+		gameCount = 0;
+		lastGameKey = 0;
+		if (checkpoint != null) {
+			String[] checkpointPlayerIds = checkpoint.getPlayerIds();
+			ratings = ArrayUtil.resize(checkpoint.getRatings(), Math.max(16,
+					checkpointPlayerIds.length * 2));
+			gamesRated = ArrayUtil.resize(checkpoint.getGamesRated(), ratings.length);
+			for (String playerId : checkpointPlayerIds) {
+				indexesByPlayerId.put(playerId, playerIds.size());
+				playerIds.add(playerId);
+			}
+			gameCount = checkpoint.getGameCount();
+			lastGameKey = checkpoint.getLastGameKey();
+		}
+	}
+
+	private RatingCheckpoint createCheckpoint() {
+		RatingCheckpoint checkpoint = new RatingCheckpoint();
+		checkpoint.setGameCount(gameCount);
+		checkpoint.setLastGameKey(lastGameKey);
+		checkpoint.setPlayerIds(playerIds.toArray(new String[playerIds.size()]));
+		checkpoint.setRatings(ArrayUtil.resize(ratings, playerIds.size()));
+		checkpoint.setGamesRated(ArrayUtil.resize(gamesRated, playerIds.size()));
+		return checkpoint;
+	}
+
+	private void load() {
+		if (checkpoints == null) {
+			checkpoints = persistor.load();
+			RatingCheckpoint latest = null;
+			if (!checkpoints.isEmpty()) {
+				latest = checkpoints.remove(checkpoints.size() - 1);
+			}
+			restore(latest);
+		}
+	}
+
+	private void persist() {
+		List<RatingCheckpoint> items = new ArrayList<RatingCheckpoint>(checkpoints);
+		items.add(createCheckpoint());
+		persistor.persist(items);
+	}
+}
@@ -0,0 +1,33 @@
+package net.todd.scorekeeper;
+
+import net.todd.scorekeeper.data.Player;
+
+public class ScoreChangedEvent {
+	private final Player player;
+	private final int previousScore;
+	private final int score;
+	private final int rank;
+
+	public ScoreChangedEvent(Player player, int previousScore, int score, int rank) {
+		this.player = player;
+		this.previousScore = previousScore;
+		this.score = score;
+		this.rank = rank;
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	public int getPreviousScore() {
+		return previousScore;
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public int getRank() {
+		return rank;
+	}
+}
@@ -46,7 +46,7 @@ public class SetupGameModel {
 	}
 
 	public boolean arePlayersAddedToGame() {
-		return currentGame.getScoreBoard().getEntries().size() >= 2;
+		return currentGame.getScoreBoard().getEntriesInTurnOrder().size() >= 2;
 	}
 
 	public boolean isGameSetupComplete() {
@@ -0,0 +1,154 @@
+package net.todd.scorekeeper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.todd.scorekeeper.data.BinaryPersistor;
+import net.todd.scorekeeper.data.CachingPersistor;
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.PlayerStatistics;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.ScoreBoardEntry;
+import android.content.Context;
+
+public class StatisticsStore {
+	private final Persistor<PlayerStatistics> persistor;
+
+	public StatisticsStore(Context context) {
+		this(CachingPersistor.create(PlayerStatistics.class, BinaryPersistor.create(
+				PlayerStatistics.class, context), context));
+	}
+
+	StatisticsStore(Persistor<PlayerStatistics> persistor) {
+		this.persistor = persistor;
+	}
+
+	public List<PlayerStatistics> getAllStatistics() {
+		return persistor.load();
+	}
+
+	public boolean isBuilt() {
+		return persistor.exists();
+	}
+
+	public PlayerStatistics getStatistics(String playerId) {
+		for (PlayerStatistics statistics : persistor.load()) {
+			if (statistics.getPlayerId().equals(playerId)) {
+				return statistics;
+			}
+		}
+		return null;
+	}
+
+	public void gameAdded(Game game) {
+		Map<String, PlayerStatistics> statisticsByPlayerId = load();
+		addGame(statisticsByPlayerId, game);
+		persist(statisticsByPlayerId);
+	}
+
+	public void gameRemoved(Game game, List<Game> remainingGames) {
+		Map<String, PlayerStatistics> statisticsByPlayerId = load();
+		List<PlayerStatistics> staleBestScores = new ArrayList<PlayerStatistics>();
+		ScoreBoard scoreBoard = game.getScoreBoard();
+		for (ScoreBoardEntry entry : getEntries(scoreBoard)) {
+			PlayerStatistics statistics = statisticsByPlayerId.get(entry.getPlayer().getId());
+			if (statistics == null) {
+				continue;
+			}
+			if (!statistics.removeGame(entry.getScore(), isWinner(scoreBoard, entry))) {
+				staleBestScores.add(statistics);
+			}
+			if (statistics.getGamesPlayed() <= 0) {
+				statisticsByPlayerId.remove(statistics.getPlayerId());
+			}
+		}
+		if (!staleBestScores.isEmpty()) {
+			recomputeBestScores(staleBestScores, remainingGames);
+		}
+		persist(statisticsByPlayerId);
+	}
+
+	public void rebuild(CloseableIterator<Game> games) {
+		Map<String, PlayerStatistics> statisticsByPlayerId =
+				new LinkedHashMap<String, PlayerStatistics>();
+		try {
+			while (games.hasNext()) {
+				addGame(statisticsByPlayerId, games.next());
+			}
+		} finally {
+			games.close();
+		}
+		persist(statisticsByPlayerId);
+	}
+
+	public void clear() {
+		persistor.persist(new ArrayList<PlayerStatistics>());
+	}
+
+	private void addGame(Map<String, PlayerStatistics> statisticsByPlayerId, Game game) {
+		ScoreBoard scoreBoard = game.getScoreBoard();
+		for (ScoreBoardEntry entry : getEntries(scoreBoard)) {
+			Player player = entry.getPlayer();
+			if (player.getId() == null) {
+				continue;
+			}
+			PlayerStatistics statistics = statisticsByPlayerId.get(player.getId());
+			if (statistics == null) {
+				statistics = new PlayerStatistics();
+				statistics.setPlayerId(player.getId());
+				statisticsByPlayerId.put(player.getId(), statistics);
+			}
+			statistics.setPlayerName(player.getName());
+			statistics.addGame(entry.getScore(), isWinner(scoreBoard, entry), scoreBoard
+					.getScoring());
+		}
+	}
+
+	private void recomputeBestScores(List<PlayerStatistics> staleBestScores,
+			List<Game> remainingGames) {
+		Map<String, PlayerStatistics> statisticsByPlayerId =
+				new LinkedHashMap<String, PlayerStatistics>();
+		for (PlayerStatistics statistics : staleBestScores) {
+			statistics.resetBestScore();
+			statisticsByPlayerId.put(statistics.getPlayerId(), statistics);
+		}
+		for (Game game : remainingGames) {
+			ScoreBoard scoreBoard = game.getScoreBoard();
+			for (ScoreBoardEntry entry : getEntries(scoreBoard)) {
+				PlayerStatistics statistics = statisticsByPlayerId.get(entry.getPlayer().getId());
+				if (statistics != null) {
+					statistics.addBestScoreCandidate(entry.getScore(), scoreBoard.getScoring());
+				}
+			}
+		}
+	}
+
+	private List<ScoreBoardEntry> getEntries(ScoreBoard scoreBoard) {
+		if (scoreBoard == null) {
+			return new ArrayList<ScoreBoardEntry>();
+		}
+		return scoreBoard.getEntriesInTurnOrder();
+	}
+
+	private boolean isWinner(ScoreBoard scoreBoard, ScoreBoardEntry entry) {
+		Comparator<ScoreBoardEntry> comparator = scoreBoard.getScoring().getComparator();
+		return comparator.compare(scoreBoard.getEntries().get(0), entry) == 0;
+	}
+
+	private Map<String, PlayerStatistics> load() {
+		Map<String, PlayerStatistics> statisticsByPlayerId =
+				new LinkedHashMap<String, PlayerStatistics>();
+		for (PlayerStatistics statistics : persistor.load()) {
+			statisticsByPlayerId.put(statistics.getPlayerId(), statistics);
+		}
+		return statisticsByPlayerId;
+	}
+
+	private void persist(Map<String, PlayerStatistics> statisticsByPlayerId) {
+		persistor.persist(new ArrayList<PlayerStatistics>(statisticsByPlayerId.values()));
+	}
+}
@@ -0,0 +1,159 @@
+package net.todd.scorekeeper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import net.todd.scorekeeper.data.TurnEvent;
+import android.content.Context;
+
+public class TurnLog {
+	private static final String TAG = TurnLog.class.getSimpleName();
+	private static final String FILENAME = TurnEvent.class.getName() + ".log";
+
+	private static final int FRAME_OVERHEAD = 8;
+
+	private final Context context;
+	private long verifiedLength = -1;
+
+	public TurnLog(Context context) {
+		this.context = context;
+	}
+
+	public void append(List<TurnEvent> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		try {
+			truncateDamagedTail();
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(context
+					.openFileOutput(FILENAME, Context.MODE_APPEND)));
+			try {
+				for (TurnEvent event : events) {
+					byte[] payload = encode(event);
+					output.writeInt(payload.length);
+					output.write(payload);
+					output.writeInt(checksum(payload));
+				}
+			} finally {
+				output.close();
+			}
+			verifiedLength = context.getFileStreamPath(FILENAME).length();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public List<TurnEvent> readAll() {
+		return readFrom(0);
+	}
+
+	public List<TurnEvent> readFrom(int firstEvent) {
+		List<TurnEvent> events = new ArrayList<TurnEvent>();
+		File file = context.getFileStreamPath(FILENAME);
+		if (file != null && file.exists()) {
+			read(file.length(), firstEvent, events);
+		}
+		return events;
+	}
+
+	public void clear() {
+		context.deleteFile(FILENAME);
+		verifiedLength = -1;
+	}
+
+	private void truncateDamagedTail() throws IOException {
+		File file = context.getFileStreamPath(FILENAME);
+		if (file == null || !file.exists()) {
+			return;
+		}
+		long fileLength = file.length();
+		if (verifiedLength != fileLength) {
+			verifiedLength = read(fileLength, 0, new ArrayList<TurnEvent>());
+		}
+		if (verifiedLength < fileLength) {
+			RandomAccessFile output = new RandomAccessFile(file, "rw");
+			try {
+				output.setLength(verifiedLength);
+			} finally {
+				output.close();
+			}
+		}
+	}
+
+	private long read(long fileLength, int firstEvent, List<TurnEvent> events) {
+		long position = 0;
+		DataInputStream input = null;
+		try {
+			input = new DataInputStream(new BufferedInputStream(context.openFileInput(FILENAME)));
+			for (int eventIndex = 0; position < fileLength; eventIndex++) {
+				int payloadLength = input.readInt();
+				if (payloadLength < 0 || position + FRAME_OVERHEAD + payloadLength > fileLength) {
+					throw new EOFException("Event runs past end of log at " + position);
+				}
+				byte[] payload = new byte[payloadLength];
+				input.readFully(payload);
+				if (input.readInt() != checksum(payload)) {
+					throw new IOException("Event checksum mismatch at " + position);
+				}
+				TurnEvent event = decode(payload);
+				if (eventIndex >= firstEvent) {
+					events.add(event);
+				}
+				position += FRAME_OVERHEAD + payloadLength;
+			}
+		} catch (IOException e) {
+			Logger.error(TAG, "Ignoring damaged tail of " + FILENAME, e);
+		} finally {
+			close(input);
+		}
+		return position;
+	}
+
+	private static byte[] encode(TurnEvent event) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeByte(event.getType().ordinal());
+		output.writeUTF(event.getPlayerId() == null ? "" : event.getPlayerId());
+		output.writeInt(event.getPoints());
+		output.close();
+		return bytes.toByteArray();
+	}
+
+	private static TurnEvent decode(byte[] payload) throws IOException {
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+		int type = input.readUnsignedByte();
+		String playerId = input.readUTF();
+		int points = input.readInt();
+		if (type >= TurnEvent.Type.values().length) {
+			throw new IOException("Unknown turn event type " + type);
+		}
+		return new TurnEvent(TurnEvent.Type.values()[type], playerId.length() == 0 ? null
+				: playerId, points);
+	}
+
+	private static int checksum(byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		return (int) crc.getValue();
+	}
+
+	private static void close(DataInputStream input) {
+		try {
+			if (input != null) {
+				input.close();
+			}
+		} catch (IOException e) {
+		}
+	}
+}
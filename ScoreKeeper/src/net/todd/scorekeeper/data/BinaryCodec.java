@@ -0,0 +1,11 @@
+package net.todd.scorekeeper.data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface BinaryCodec<T> {
+	void write(T item, DataOutput output, StringTable strings) throws IOException;
+
+	T read(DataInput input, StringTable strings, int version) throws IOException;
+}
@@ -0,0 +1,377 @@
+package net.todd.scorekeeper.data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import net.todd.scorekeeper.Scoring;
+
+public class BinaryCodecs {
+	public static final int VERSION = 3;
+
+	private static final BinaryCodec<Player> PLAYER_CODEC = new PlayerCodec();
+	private static final BinaryCodec<ScoreBoard> SCORE_BOARD_CODEC = new ScoreBoardCodec(null);
+	private static final BinaryCodec<Game> GAME_CODEC = new GameCodec(SCORE_BOARD_CODEC);
+	private static final BinaryCodec<CurrentGame> CURRENT_GAME_CODEC = new CurrentGameCodec();
+	private static final BinaryCodec<PlayerStatistics> PLAYER_STATISTICS_CODEC =
+			new PlayerStatisticsCodec();
+	private static final BinaryCodec<RatingCheckpoint> RATING_CHECKPOINT_CODEC =
+			new RatingCheckpointCodec();
+
+	private static final int NO_CURRENT_PLAYER = 0;
+	private static final int CURRENT_PLAYER_ON_SCORE_BOARD = 1;
+	private static final int CURRENT_PLAYER_INLINE = 2;
+
+	private static final int PLAYER_INLINE = 0;
+	private static final int PLAYER_UUID_KEY = 1;
+	private static final int PLAYER_STRING_KEY = 2;
+
+	public static boolean isSupported(Class<?> clazz) {
+		return clazz == Player.class || clazz == Game.class || clazz == CurrentGame.class
+				|| clazz == PlayerStatistics.class || clazz == RatingCheckpoint.class;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> BinaryCodec<T> forClass(Class<T> clazz) {
+		BinaryCodec<?> codec;
+		if (clazz == Player.class) {
+			codec = PLAYER_CODEC;
+		} else if (clazz == Game.class) {
+			codec = GAME_CODEC;
+		} else if (clazz == CurrentGame.class) {
+			codec = CURRENT_GAME_CODEC;
+		} else if (clazz == PlayerStatistics.class) {
+			codec = PLAYER_STATISTICS_CODEC;
+		} else if (clazz == RatingCheckpoint.class) {
+			codec = RATING_CHECKPOINT_CODEC;
+		} else {
+			throw new IllegalArgumentException("No binary codec for " + clazz.getName());
+		}
+		return (BinaryCodec<T>) codec;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> BinaryCodec<T> forClass(Class<T> clazz, PlayerResolver playerResolver) {
+		if (clazz == Game.class && playerResolver != null) {
+			return (BinaryCodec<T>) new GameCodec(new ScoreBoardCodec(playerResolver));
+		}
+		return forClass(clazz);
+	}
+
+	static void writeVarInt(DataOutput output, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+
+	static int readVarInt(DataInput input) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = input.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+
+	static void writeSignedVarInt(DataOutput output, int value) throws IOException {
+		writeVarInt(output, (value << 1) ^ (value >> 31));
+	}
+
+	static int readSignedVarInt(DataInput input) throws IOException {
+		int value = readVarInt(input);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeString(DataOutput output, StringTable strings, String string)
+			throws IOException {
+		writeVarInt(output, strings.indexOf(string));
+	}
+
+	private static String readString(DataInput input, StringTable strings) throws IOException {
+		return strings.get(readVarInt(input));
+	}
+
+	private static class PlayerCodec implements BinaryCodec<Player> {
+		@Override
+		public void write(Player player, DataOutput output, StringTable strings)
+				throws IOException {
+			writeString(output, strings, player.getId());
+			writeString(output, strings, player.getName());
+			output.writeBoolean(player.isSelected());
+		}
+
+		@Override
+		public Player read(DataInput input, StringTable strings, int version) throws IOException {
+			Player player = new Player();
+			player.setId(readString(input, strings));
+			player.setName(readString(input, strings));
+			player.setSelected(input.readBoolean());
+			return player;
+		}
+	}
+
+	private static class ScoreBoardCodec implements BinaryCodec<ScoreBoard> {
+		private final PlayerResolver playerResolver;
+
+		private ScoreBoardCodec(PlayerResolver playerResolver) {
+			this.playerResolver = playerResolver;
+		}
+
+		@Override
+		public void write(ScoreBoard scoreBoard, DataOutput output, StringTable strings)
+				throws IOException {
+			output.writeByte(scoreBoard.getScoring().ordinal());
+			List<ScoreBoardEntry> entries = scoreBoard.getEntriesInStoredOrder();
+			writeVarInt(output, entries.size());
+			for (ScoreBoardEntry entry : entries) {
+				writePlayer(entry.getPlayer(), output, strings);
+				writeSignedVarInt(output, entry.getScore());
+			}
+		}
+
+		@Override
+		public ScoreBoard read(DataInput input, StringTable strings, int version)
+				throws IOException {
+			ScoreBoard scoreBoard = new ScoreBoard();
+			int scoring = input.readUnsignedByte();
+			if (scoring >= Scoring.values().length) {
+				throw new IOException("Unknown scoring " + scoring);
+			}
+			scoreBoard.setScoring(Scoring.values()[scoring]);
+			int size = readVarInt(input);
+			List<ScoreBoardEntry> entries = scoreBoard.getEntriesInStoredOrder();
+			for (int i = 0; i < size; i++) {
+				ScoreBoardEntry entry = new ScoreBoardEntry();
+				entry.setPlayer(readPlayer(input, strings, version));
+				entry.setScore(readSignedVarInt(input));
+				entries.add(entry);
+			}
+			return scoreBoard;
+		}
+
+		private void writePlayer(Player player, DataOutput output, StringTable strings)
+				throws IOException {
+			if (playerResolver == null || player.getId() == null) {
+				output.writeByte(PLAYER_INLINE);
+				PLAYER_CODEC.write(player, output, strings);
+				return;
+			}
+			UUID uuid = parseUuid(player.getId());
+			if (uuid != null) {
+				output.writeByte(PLAYER_UUID_KEY);
+				output.writeLong(uuid.getMostSignificantBits());
+				output.writeLong(uuid.getLeastSignificantBits());
+			} else {
+				output.writeByte(PLAYER_STRING_KEY);
+				writeString(output, strings, player.getId());
+			}
+		}
+
+		private Player readPlayer(DataInput input, StringTable strings, int version)
+				throws IOException {
+			int kind = version >= 3 ? input.readUnsignedByte() : PLAYER_INLINE;
+			String playerId;
+			if (kind == PLAYER_INLINE) {
+				Player player = PLAYER_CODEC.read(input, strings, version);
+				return playerResolver == null ? Interners.internPlayer(player) : playerResolver
+						.resolveInline(player);
+			} else if (kind == PLAYER_UUID_KEY) {
+				playerId = new UUID(input.readLong(), input.readLong()).toString();
+			} else if (kind == PLAYER_STRING_KEY) {
+				playerId = readString(input, strings);
+			} else {
+				throw new IOException("Unknown player kind " + kind);
+			}
+			if (playerResolver == null) {
+				Player player = new Player();
+				player.setId(playerId);
+				return player;
+			}
+			return playerResolver.resolve(playerId);
+		}
+
+		private static UUID parseUuid(String playerId) {
+			try {
+				UUID uuid = UUID.fromString(playerId);
+				return uuid.toString().equals(playerId) ? uuid : null;
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+	}
+
+	private static class GameCodec implements BinaryCodec<Game> {
+		private final BinaryCodec<ScoreBoard> scoreBoardCodec;
+
+		private GameCodec(BinaryCodec<ScoreBoard> scoreBoardCodec) {
+			this.scoreBoardCodec = scoreBoardCodec;
+		}
+
+		@Override
+		public void write(Game game, DataOutput output, StringTable strings) throws IOException {
+			Date gameOverTimestamp = game.getGameOverTimestamp();
+			output.writeBoolean(gameOverTimestamp != null);
+			if (gameOverTimestamp != null) {
+				output.writeLong(gameOverTimestamp.getTime());
+			}
+			writeString(output, strings, game.getGameName());
+			output.writeBoolean(game.getScoreBoard() != null);
+			if (game.getScoreBoard() != null) {
+				scoreBoardCodec.write(game.getScoreBoard(), output, strings);
+			}
+		}
+
+		@Override
+		public Game read(DataInput input, StringTable strings, int version) throws IOException {
+			Game game = new Game();
+			if (input.readBoolean()) {
+				game.setGameOverTimestamp(new Date(input.readLong()));
+			}
+			game.setGameName(Interners.internGameName(readString(input, strings)));
+			if (input.readBoolean()) {
+				game.setScoreBoard(scoreBoardCodec.read(input, strings, version));
+			}
+			return game;
+		}
+	}
+
+	private static class CurrentGameCodec implements BinaryCodec<CurrentGame> {
+		@Override
+		public void write(CurrentGame currentGame, DataOutput output, StringTable strings)
+				throws IOException {
+			writeString(output, strings, currentGame.getGameName());
+			ScoreBoard scoreBoard = currentGame.getScoreBoard();
+			output.writeBoolean(scoreBoard != null);
+			if (scoreBoard != null) {
+				SCORE_BOARD_CODEC.write(scoreBoard, output, strings);
+			}
+
+			Player currentPlayer = currentGame.getCurrentPlayer();
+			int currentPlayerIndex = indexOnScoreBoard(scoreBoard, currentPlayer);
+			if (currentPlayer == null) {
+				output.writeByte(NO_CURRENT_PLAYER);
+			} else if (currentPlayerIndex != -1) {
+				output.writeByte(CURRENT_PLAYER_ON_SCORE_BOARD);
+				writeVarInt(output, currentPlayerIndex);
+			} else {
+				output.writeByte(CURRENT_PLAYER_INLINE);
+				PLAYER_CODEC.write(currentPlayer, output, strings);
+			}
+			writeVarInt(output, currentGame.getTurnCount());
+		}
+
+		@Override
+		public CurrentGame read(DataInput input, StringTable strings, int version)
+				throws IOException {
+			CurrentGame currentGame = new CurrentGame();
+			currentGame.setGameName(readString(input, strings));
+			if (input.readBoolean()) {
+				currentGame.setScoreBoard(SCORE_BOARD_CODEC.read(input, strings, version));
+			}
+
+			int currentPlayerKind = input.readUnsignedByte();
+			if (currentPlayerKind == CURRENT_PLAYER_ON_SCORE_BOARD) {
+				int index = readVarInt(input);
+				List<ScoreBoardEntry> entries = currentGame.getScoreBoard() == null ? null
+						: currentGame.getScoreBoard().getEntriesInStoredOrder();
+				if (entries == null || index >= entries.size()) {
+					throw new IOException("Current player is not on the score board");
+				}
+				currentGame.setCurrentPlayer(entries.get(index).getPlayer());
+			} else if (currentPlayerKind == CURRENT_PLAYER_INLINE) {
+				currentGame.setCurrentPlayer(PLAYER_CODEC.read(input, strings, version));
+			} else if (currentPlayerKind != NO_CURRENT_PLAYER) {
+				throw new IOException("Unknown current player kind " + currentPlayerKind);
+			}
+			if (version >= 2) {
+				currentGame.setTurnCount(readVarInt(input));
+			}
+			return currentGame;
+		}
+
+		private int indexOnScoreBoard(ScoreBoard scoreBoard, Player player) {
+			if (scoreBoard != null && player != null) {
+				List<ScoreBoardEntry> entries = scoreBoard.getEntriesInStoredOrder();
+				for (int i = 0; i < entries.size(); i++) {
+					if (entries.get(i).getPlayer() == player) {
+						return i;
+					}
+				}
+			}
+			return -1;
+		}
+	}
+
+	private static class PlayerStatisticsCodec implements BinaryCodec<PlayerStatistics> {
+		@Override
+		public void write(PlayerStatistics statistics, DataOutput output, StringTable strings)
+				throws IOException {
+			writeString(output, strings, statistics.getPlayerId());
+			writeString(output, strings, statistics.getPlayerName());
+			writeVarInt(output, statistics.getGamesPlayed());
+			writeVarInt(output, statistics.getWins());
+			output.writeLong(statistics.getTotalScore());
+			writeSignedVarInt(output, statistics.getBestScore());
+			writeVarInt(output, statistics.getBestScoreCount());
+		}
+
+		@Override
+		public PlayerStatistics read(DataInput input, StringTable strings, int version)
+				throws IOException {
+			PlayerStatistics statistics = new PlayerStatistics();
+			statistics.setPlayerId(readString(input, strings));
+			statistics.setPlayerName(readString(input, strings));
+			statistics.setGamesPlayed(readVarInt(input));
+			statistics.setWins(readVarInt(input));
+			statistics.setTotalScore(input.readLong());
+			statistics.setBestScore(readSignedVarInt(input));
+			statistics.setBestScoreCount(readVarInt(input));
+			return statistics;
+		}
+	}
+
+	private static class RatingCheckpointCodec implements BinaryCodec<RatingCheckpoint> {
+		@Override
+		public void write(RatingCheckpoint checkpoint, DataOutput output, StringTable strings)
+				throws IOException {
+			writeVarInt(output, checkpoint.getGameCount());
+			output.writeLong(checkpoint.getLastGameKey());
+			String[] playerIds = checkpoint.getPlayerIds();
+			writeVarInt(output, playerIds.length);
+			for (int i = 0; i < playerIds.length; i++) {
+				writeString(output, strings, playerIds[i]);
+				output.writeDouble(checkpoint.getRatings()[i]);
+				writeVarInt(output, checkpoint.getGamesRated()[i]);
+			}
+		}
+
+		@Override
+		public RatingCheckpoint read(DataInput input, StringTable strings, int version)
+				throws IOException {
+			RatingCheckpoint checkpoint = new RatingCheckpoint();
+			checkpoint.setGameCount(readVarInt(input));
+			checkpoint.setLastGameKey(input.readLong());
+			int size = readVarInt(input);
+			String[] playerIds = new String[size];
+			double[] ratings = new double[size];
+			int[] gamesRated = new int[size];
+			for (int i = 0; i < size; i++) {
+				playerIds[i] = readString(input, strings);
+				ratings[i] = input.readDouble();
+				gamesRated[i] = readVarInt(input);
+			}
+			checkpoint.setPlayerIds(playerIds);
+			checkpoint.setRatings(ratings);
+			checkpoint.setGamesRated(gamesRated);
+			return checkpoint;
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package net.todd.scorekeeper.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.todd.scorekeeper.AbstractCloseableIterator;
+import net.todd.scorekeeper.CloseableIterator;
+import net.todd.scorekeeper.Logger;
+import net.todd.scorekeeper.Persistor;
+import android.content.Context;
+
+public class BinaryPersistor<T> extends Persistor<T> {
+	private static final String TAG = BinaryPersistor.class.getSimpleName();
+
+	static final int MAGIC = 0x534B4244;
+
+	public static <T> Persistor<T> create(Class<T> clazz, Context context) {
+		return new BinaryPersistor<T>(clazz, context, BinaryCodecs.forClass(clazz),
+				XmlPersistor.create(clazz, context), null);
+	}
+
+	public static <T> Persistor<T> create(Class<T> clazz, Context context, String dataFilename) {
+		return new BinaryPersistor<T>(clazz, context, BinaryCodecs.forClass(clazz), null,
+				dataFilename);
+	}
+
+	private final BinaryCodec<T> codec;
+	private final Persistor<T> legacyPersistor;
+	private final String dataFilename;
+
+	BinaryPersistor(Class<T> clazz, Context context, BinaryCodec<T> codec,
+			Persistor<T> legacyPersistor, String dataFilename) {
+		super(clazz, context);
+		this.codec = codec;
+		this.legacyPersistor = legacyPersistor;
+		this.dataFilename = dataFilename;
+	}
+
+	@Override
+	public List<T> load() {
+		List<T> items = new ArrayList<T>();
+		if (doesFileExist(getDataFilename()) && doesFileHaveData(getDataFilename())) {
+			CloseableIterator<T> iterator = iterate();
+			try {
+				while (iterator.hasNext()) {
+					items.add(iterator.next());
+				}
+			} finally {
+				iterator.close();
+			}
+		} else if (legacyPersistor != null) {
+			items.addAll(migrateLegacyData());
+		}
+		return items;
+	}
+
+	@Override
+	public CloseableIterator<T> iterate() {
+		if (!doesFileExist(getDataFilename()) || !doesFileHaveData(getDataFilename())) {
+			return super.iterate();
+		}
+
+		DataInputStream input = null;
+		try {
+			input = new DataInputStream(new BufferedInputStream(getContext().openFileInput(
+					getDataFilename())));
+			return new RecordIterator(input);
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not read " + getDataFilename(), e);
+			close(input);
+			return iteratorOver(new ArrayList<T>());
+		}
+	}
+
+	@Override
+	public synchronized void persist(List<T> items) {
+		try {
+			StringTable strings = new StringTable();
+			ByteArrayOutputStream records = new ByteArrayOutputStream();
+			DataOutputStream recordsOutput = new DataOutputStream(records);
+			ByteArrayOutputStream record = new ByteArrayOutputStream();
+			DataOutputStream recordOutput = new DataOutputStream(record);
+			for (T item : items) {
+				record.reset();
+				codec.write(item, recordOutput, strings);
+				BinaryCodecs.writeVarInt(recordsOutput, record.size());
+				record.writeTo(recordsOutput);
+			}
+
+			String temporaryFilename = getDataFilename() + ".tmp";
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(getContext()
+					.openFileOutput(temporaryFilename, Context.MODE_PRIVATE)));
+			try {
+				output.writeInt(MAGIC);
+				output.writeByte(BinaryCodecs.VERSION);
+				strings.write(output);
+				BinaryCodecs.writeVarInt(output, items.size());
+				records.writeTo(output);
+			} finally {
+				output.close();
+			}
+
+			File temporaryFile = getContext().getFileStreamPath(temporaryFilename);
+			if (!temporaryFile.renameTo(getContext().getFileStreamPath(getDataFilename()))) {
+				throw new IOException("Could not replace " + getDataFilename());
+			}
+			fileWritten();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public String getDataFilename() {
+		return dataFilename != null ? dataFilename : getClazz().getName() + ".bin";
+	}
+
+	private static void close(DataInputStream input) {
+		try {
+			if (input != null) {
+				input.close();
+			}
+		} catch (IOException e) {
+		}
+	}
+
+	private List<T> migrateLegacyData() {
+		List<T> legacyItems = legacyPersistor.load();
+		if (!legacyItems.isEmpty()) {
+			persist(legacyItems);
+			legacyPersistor.persist(new ArrayList<T>());
+		}
+		return legacyItems;
+	}
+
+	private class RecordIterator extends AbstractCloseableIterator<T> {
+		private final DataInputStream input;
+		private final int version;
+		private final StringTable strings;
+		private int remainingRecords;
+
+		private RecordIterator(DataInputStream input) throws IOException {
+			this.input = input;
+			if (input.readInt() != MAGIC) {
+				throw new IOException("Not a binary data file");
+			}
+			version = input.readUnsignedByte();
+			if (version > BinaryCodecs.VERSION) {
+				throw new IOException("Unsupported binary data version " + version);
+			}
+			strings = StringTable.read(input);
+			remainingRecords = BinaryCodecs.readVarInt(input);
+		}
+
+		@Override
+		protected T computeNext() {
+			if (remainingRecords == 0) {
+				return null;
+			}
+			remainingRecords--;
+			try {
+				byte[] record = new byte[BinaryCodecs.readVarInt(input)];
+				input.readFully(record);
+				return codec.read(new DataInputStream(new ByteArrayInputStream(record)), strings,
+						version);
+			} catch (IOException e) {
+				close();
+				throw new RuntimeException("Could not read " + getDataFilename(), e);
+			}
+		}
+
+		@Override
+		public void close() {
+			BinaryPersistor.close(input);
+		}
+	}
+}
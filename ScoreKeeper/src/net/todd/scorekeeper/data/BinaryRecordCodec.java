@@ -0,0 +1,51 @@
+package net.todd.scorekeeper.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class BinaryRecordCodec<T> implements RecordCodec<T> {
+	private static final int XML_RECORD_START = '<';
+
+	private final BinaryCodec<T> codec;
+	private final RecordCodec<T> xmlCodec;
+
+	public BinaryRecordCodec(Class<T> clazz) {
+		this(clazz, null);
+	}
+
+	public BinaryRecordCodec(Class<T> clazz, PlayerResolver playerResolver) {
+		this.codec = BinaryCodecs.forClass(clazz, playerResolver);
+		this.xmlCodec = new XStreamRecordCodec<T>(clazz);
+	}
+
+	@Override
+	public byte[] encode(T item) throws IOException {
+		StringTable strings = new StringTable();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		codec.write(item, new DataOutputStream(body), strings);
+
+		ByteArrayOutputStream record = new ByteArrayOutputStream(body.size() + 64);
+		DataOutputStream output = new DataOutputStream(record);
+		output.writeByte(BinaryCodecs.VERSION);
+		strings.write(output);
+		body.writeTo(output);
+		return record.toByteArray();
+	}
+
+	@Override
+	public T decode(byte[] record) throws IOException {
+		if (record.length > 0 && record[0] == XML_RECORD_START) {
+			return xmlCodec.decode(record);
+		}
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+		int version = input.readUnsignedByte();
+		if (version > BinaryCodecs.VERSION) {
+			throw new IOException("Unsupported binary record version " + version);
+		}
+		StringTable strings = StringTable.read(input);
+		return codec.read(input, strings, version);
+	}
+}
@@ -0,0 +1,96 @@
+package net.todd.scorekeeper.data;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.todd.scorekeeper.CloseableIterator;
+import net.todd.scorekeeper.Persistor;
+import android.content.Context;
+
+public class CachingPersistor<T> extends Persistor<T> {
+	public static <T> CachingPersistor<T> create(Class<T> clazz, Persistor<T> delegate,
+			Context context) {
+		return new CachingPersistor<T>(clazz, delegate, context);
+	}
+
+	private final Persistor<T> delegate;
+
+	private List<T> cachedItems;
+	private int cachedWriteCount;
+	private long cachedLength;
+
+	private int hitCount;
+	private int missCount;
+
+	private CachingPersistor(Class<T> clazz, Persistor<T> delegate, Context context) {
+		super(clazz, context);
+		this.delegate = delegate;
+	}
+
+	@Override
+	public synchronized List<T> load() {
+		if (cachedItems != null && !hasFileChanged()) {
+			hitCount++;
+		} else {
+			missCount++;
+			int writeCount = getWriteCount();
+			cachedItems = delegate.load();
+			rememberFileState(writeCount);
+		}
+		return new ArrayList<T>(cachedItems);
+	}
+
+	@Override
+	public synchronized CloseableIterator<T> iterate() {
+		if (cachedItems != null && !hasFileChanged()) {
+			hitCount++;
+			return iteratorOver(new ArrayList<T>(cachedItems));
+		}
+		missCount++;
+		return delegate.iterate();
+	}
+
+	@Override
+	public synchronized void persist(List<T> items) {
+		cachedItems = null;
+		delegate.persist(items);
+	}
+
+	@Override
+	public String getDataFilename() {
+		return delegate.getDataFilename();
+	}
+
+	public synchronized void invalidate() {
+		cachedItems = null;
+	}
+
+	public synchronized int getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized int getMissCount() {
+		return missCount;
+	}
+
+	private boolean hasFileChanged() {
+		File file = getDataFile();
+		return file == null || getWriteCount() != cachedWriteCount
+				|| file.length() != cachedLength;
+	}
+
+	private void rememberFileState(int writeCount) {
+		File file = getDataFile();
+		if (file == null) {
+			cachedItems = null;
+		} else {
+			cachedWriteCount = writeCount;
+			cachedLength = file.length();
+		}
+	}
+
+	private File getDataFile() {
+		return getContext().getFileStreamPath(getDataFilename());
+	}
+}
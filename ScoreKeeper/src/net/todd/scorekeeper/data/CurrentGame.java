@@ -8,6 +8,7 @@ public class CurrentGame implements Serializable {
 	private ScoreBoard scoreBoard;
 	private Player currentPlayer;
 	private String gameName;
+	private int turnCount;
 
 	public void setScoreBoard(ScoreBoard scoreBoard) {
 		this.scoreBoard = scoreBoard;
@@ -32,4 +33,12 @@ public class CurrentGame implements Serializable {
 	public void setGameName(String gameType) {
 		this.gameName = gameType;
 	}
+
+	public int getTurnCount() {
+		return turnCount;
+	}
+
+	public void setTurnCount(int turnCount) {
+		this.turnCount = turnCount;
+	}
 }
@@ -0,0 +1,27 @@
+package net.todd.scorekeeper.data;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class Interner<T> {
+	private final Map<T, WeakReference<T>> canonicalValues =
+			new WeakHashMap<T, WeakReference<T>>();
+
+	public synchronized T intern(T value) {
+		if (value == null) {
+			return null;
+		}
+		WeakReference<T> reference = canonicalValues.get(value);
+		T canonicalValue = reference == null ? null : reference.get();
+		if (canonicalValue == null || !canonicalValue.equals(value)) {
+			canonicalValues.put(value, new WeakReference<T>(value));
+			canonicalValue = value;
+		}
+		return canonicalValue;
+	}
+
+	public synchronized int size() {
+		return canonicalValues.size();
+	}
+}
@@ -0,0 +1,36 @@
+package net.todd.scorekeeper.data;
+
+public class Interners {
+	private static final Interner<Player> players = new Interner<Player>();
+	private static final Interner<String> gameNames = new Interner<String>();
+
+	public static Player internPlayer(Player player) {
+		return players.intern(player);
+	}
+
+	public static String internGameName(String gameName) {
+		return gameNames.intern(gameName);
+	}
+
+	public static <T> T internAll(T item) {
+		if (item instanceof Game) {
+			Game game = (Game) item;
+			game.setGameName(internGameName(game.getGameName()));
+			internScoreBoard(game.getScoreBoard());
+		} else if (item instanceof CurrentGame) {
+			CurrentGame currentGame = (CurrentGame) item;
+			currentGame.setGameName(internGameName(currentGame.getGameName()));
+			internScoreBoard(currentGame.getScoreBoard());
+			currentGame.setCurrentPlayer(internPlayer(currentGame.getCurrentPlayer()));
+		}
+		return item;
+	}
+
+	private static void internScoreBoard(ScoreBoard scoreBoard) {
+		if (scoreBoard != null) {
+			for (ScoreBoardEntry entry : scoreBoard.getEntriesInStoredOrder()) {
+				entry.setPlayer(internPlayer(entry.getPlayer()));
+			}
+		}
+	}
+}
@@ -0,0 +1,240 @@
+package net.todd.scorekeeper.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+class JournalIndex {
+	private static final int MAGIC = 0x534B4959;
+	private static final int HEADER_SIZE = 4 + 8 + 4;
+	private static final int ENTRY_SIZE = 8 + 8;
+	private static final long NOT_VALID = -1;
+
+	private final File file;
+
+	JournalIndex(File file) {
+		this.file = file;
+	}
+
+	boolean isValidFor(long journalLength) {
+		long fileLength = file.length();
+		if (fileLength < HEADER_SIZE || (fileLength - HEADER_SIZE) % ENTRY_SIZE != 0) {
+			return false;
+		}
+		try {
+			RandomAccessFile index = new RandomAccessFile(file, "r");
+			try {
+				return index.readInt() == MAGIC && index.readLong() == journalLength;
+			} finally {
+				index.close();
+			}
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	int size() {
+		return (int) Math.max(0, (file.length() - HEADER_SIZE) / ENTRY_SIZE);
+	}
+
+	int getNextRecordId() throws IOException {
+		RandomAccessFile index = new RandomAccessFile(file, "r");
+		try {
+			index.seek(4 + 8);
+			return index.readInt();
+		} finally {
+			index.close();
+		}
+	}
+
+	long getLastKey() throws IOException {
+		int size = size();
+		if (size == 0) {
+			return Long.MIN_VALUE;
+		}
+		RandomAccessFile index = new RandomAccessFile(file, "r");
+		try {
+			index.seek(entryPosition(size - 1));
+			return index.readLong();
+		} finally {
+			index.close();
+		}
+	}
+
+	long[] readOffsetsNewestFirst(int offset, int limit) throws IOException {
+		int size = size();
+		int count = Math.max(0, Math.min(limit, size - offset));
+		long[] offsets = new long[count];
+		if (count > 0) {
+			RandomAccessFile index = new RandomAccessFile(file, "r");
+			try {
+				int first = size - offset - count;
+				byte[] entries = new byte[count * ENTRY_SIZE];
+				index.seek(entryPosition(first));
+				index.readFully(entries);
+				for (int i = 0; i < count; i++) {
+					offsets[count - 1 - i] = readLong(entries, i * ENTRY_SIZE + 8);
+				}
+			} finally {
+				index.close();
+			}
+		}
+		return offsets;
+	}
+
+	long[] readOffsetsOldestFirst(int offset, int limit) throws IOException {
+		int size = size();
+		int count = Math.max(0, Math.min(limit, size - offset));
+		long[] offsets = new long[count];
+		if (count > 0) {
+			RandomAccessFile index = new RandomAccessFile(file, "r");
+			try {
+				byte[] entries = new byte[count * ENTRY_SIZE];
+				index.seek(entryPosition(offset));
+				index.readFully(entries);
+				for (int i = 0; i < count; i++) {
+					offsets[i] = readLong(entries, i * ENTRY_SIZE + 8);
+				}
+			} finally {
+				index.close();
+			}
+		}
+		return offsets;
+	}
+
+	long[] readOffsetsInRangeNewestFirst(long fromKey, long toKey) throws IOException {
+		RandomAccessFile index = new RandomAccessFile(file, "r");
+		try {
+			int first = lowerBound(index, fromKey);
+			int count = Math.max(0, lowerBound(index, toKey) - first);
+			long[] offsets = new long[count];
+			if (count > 0) {
+				byte[] entries = new byte[count * ENTRY_SIZE];
+				index.seek(entryPosition(first));
+				index.readFully(entries);
+				for (int i = 0; i < count; i++) {
+					offsets[count - 1 - i] = readLong(entries, i * ENTRY_SIZE + 8);
+				}
+			}
+			return offsets;
+		} finally {
+			index.close();
+		}
+	}
+
+	int countInRange(long fromKey, long toKey) throws IOException {
+		RandomAccessFile index = new RandomAccessFile(file, "r");
+		try {
+			return Math.max(0, lowerBound(index, toKey) - lowerBound(index, fromKey));
+		} finally {
+			index.close();
+		}
+	}
+
+	long findOffset(long key) throws IOException {
+		return findOffsets(new long[] { key })[0];
+	}
+
+	long[] findOffsets(long[] keys) throws IOException {
+		RandomAccessFile index = new RandomAccessFile(file, "r");
+		try {
+			long[] offsets = new long[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				offsets[i] = findOffset(index, keys[i]);
+			}
+			return offsets;
+		} finally {
+			index.close();
+		}
+	}
+
+	private long findOffset(RandomAccessFile index, long key) throws IOException {
+		int entry = lowerBound(index, key);
+		if (entry < size()) {
+			index.seek(entryPosition(entry));
+			if (index.readLong() == key) {
+				return index.readLong();
+			}
+		}
+		return -1;
+	}
+
+	void rebuild(long[] keys, long[] offsets, int nextRecordId, long journalLength)
+			throws IOException {
+		RandomAccessFile index = new RandomAccessFile(file, "rw");
+		try {
+			index.setLength(0);
+			index.writeInt(MAGIC);
+			index.writeLong(NOT_VALID);
+			index.writeInt(nextRecordId);
+			index.write(toEntries(keys, offsets));
+			index.seek(4);
+			index.writeLong(journalLength);
+		} finally {
+			index.close();
+		}
+	}
+
+	void append(long[] keys, long[] offsets, int nextRecordId, long previousJournalLength,
+			long journalLength) throws IOException {
+		RandomAccessFile index = new RandomAccessFile(file, "rw");
+		try {
+			index.seek(4);
+			if (index.readLong() != previousJournalLength) {
+				throw new IOException("Index is out of date");
+			}
+			index.seek(4);
+			index.writeLong(NOT_VALID);
+			index.writeInt(nextRecordId);
+			index.seek(index.length());
+			index.write(toEntries(keys, offsets));
+			index.seek(4);
+			index.writeLong(journalLength);
+		} finally {
+			index.close();
+		}
+	}
+
+	private int lowerBound(RandomAccessFile index, long key) throws IOException {
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			index.seek(entryPosition(middle));
+			if (index.readLong() < key) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static long entryPosition(int entry) {
+		return HEADER_SIZE + (long) entry * ENTRY_SIZE;
+	}
+
+	private static byte[] toEntries(long[] keys, long[] offsets) {
+		byte[] entries = new byte[keys.length * ENTRY_SIZE];
+		for (int i = 0; i < keys.length; i++) {
+			writeLong(entries, i * ENTRY_SIZE, keys[i]);
+			writeLong(entries, i * ENTRY_SIZE + 8, offsets[i]);
+		}
+		return entries;
+	}
+
+	private static void writeLong(byte[] buffer, int position, long value) {
+		for (int i = 7; i >= 0; i--) {
+			buffer[position + i] = (byte) value;
+			value >>>= 8;
+		}
+	}
+
+	private static long readLong(byte[] buffer, int position) {
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | (buffer[position + i] & 0xFF);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,874 @@
+package net.todd.scorekeeper.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.CRC32;
+
+import net.todd.scorekeeper.AbstractCloseableIterator;
+import net.todd.scorekeeper.CloseableIterator;
+import net.todd.scorekeeper.Logger;
+import net.todd.scorekeeper.Persistor;
+import android.content.Context;
+
+public class JournalPersistor<T> extends Persistor<T> {
+	private static final String TAG = JournalPersistor.class.getSimpleName();
+
+	static final byte ADD_RECORD = 1;
+	static final byte REMOVE_RECORD = 2;
+
+	private static final int FRAME_OVERHEAD = 1 + 4 + 4 + 4;
+	private static final long DEFAULT_COMPACTION_THRESHOLD = 64 * 1024;
+
+	private static final ExecutorService compactionExecutor = Executors
+			.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "JournalCompaction");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	public static <T> Persistor<T> create(Class<T> clazz, Context context) {
+		return create(clazz, context, null);
+	}
+
+	public static <T> JournalPersistor<T> create(Class<T> clazz, Context context,
+			RecordKey<T> recordKey) {
+		return create(clazz, context, recordKey, null);
+	}
+
+	public static <T> JournalPersistor<T> create(Class<T> clazz, Context context,
+			RecordKey<T> recordKey, PlayerResolver playerResolver) {
+		RecordCodec<T> codec = BinaryCodecs.isSupported(clazz) ? new BinaryRecordCodec<T>(clazz,
+				playerResolver) : new XStreamRecordCodec<T>(clazz);
+		return new JournalPersistor<T>(clazz, context, codec,
+				XmlPersistor.create(clazz, context), DEFAULT_COMPACTION_THRESHOLD, recordKey);
+	}
+
+	private final RecordCodec<T> codec;
+	private final Persistor<T> legacyPersistor;
+	private final long compactionThreshold;
+	private final RecordKey<T> recordKey;
+
+	private final List<T> items = new ArrayList<T>();
+	private final Map<T, Record> records = new IdentityHashMap<T, Record>();
+	private int nextRecordId;
+	private long journalLength = -1;
+	private long deadBytes;
+	private boolean isTailDamaged;
+	private Future<?> pendingCompaction;
+
+	JournalPersistor(Class<T> clazz, Context context, RecordCodec<T> codec,
+			Persistor<T> legacyPersistor, long compactionThreshold, RecordKey<T> recordKey) {
+		super(clazz, context);
+		this.codec = codec;
+		this.legacyPersistor = legacyPersistor;
+		this.compactionThreshold = compactionThreshold;
+		this.recordKey = recordKey;
+	}
+
+	@Override
+	public synchronized List<T> load() {
+		migrateLegacyData();
+		replay();
+		return new ArrayList<T>(items);
+	}
+
+	@Override
+	public synchronized CloseableIterator<T> iterate() {
+		migrateLegacyData();
+		long fileLength = getFileLength();
+		if (fileLength == 0) {
+			return iteratorOver(new ArrayList<T>());
+		}
+
+		FileInputStream input = null;
+		try {
+			input = getContext().openFileInput(getDataFilename());
+			Set<Integer> removedRecordIds = new HashSet<Integer>();
+			FrameReader reader = new FrameReader(input, fileLength);
+			try {
+				Frame frame;
+				while ((frame = reader.next()) != null) {
+					if (frame.type == REMOVE_RECORD) {
+						removedRecordIds.add(frame.recordId);
+					}
+				}
+			} catch (IOException e) {
+				fileLength = reader.getPosition();
+			}
+			input.getChannel().position(0);
+			return new RecordIterator(new FrameReader(input, fileLength), removedRecordIds);
+		} catch (IOException e) {
+			close(input);
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public synchronized void persist(List<T> newItems) {
+		if (journalLength != getFileLength()) {
+			replay();
+		}
+
+		List<T> removedItems = new ArrayList<T>();
+		List<T> addedItems = new ArrayList<T>();
+		if (isTailDamaged || newItems.isEmpty() || !diff(newItems, removedItems, addedItems)) {
+			rewrite(newItems);
+		} else if (!removedItems.isEmpty() || !addedItems.isEmpty()) {
+			append(removedItems, addedItems);
+			scheduleCompactionIfNeeded();
+		}
+	}
+
+	public synchronized void add(T item) {
+		migrateLegacyData();
+		if (journalLength != getFileLength()) {
+			if (appendUnloaded(item)) {
+				return;
+			}
+			replay();
+		}
+
+		if (isTailDamaged) {
+			List<T> newItems = new ArrayList<T>(items);
+			newItems.add(item);
+			rewrite(newItems);
+		} else {
+			append(new ArrayList<T>(), Collections.singletonList(item));
+		}
+	}
+
+	public synchronized int count() {
+		if (!ensureIndexed()) {
+			return items.size();
+		}
+		return getIndex().size();
+	}
+
+	public synchronized List<T> loadNewest(int offset, int limit) {
+		if (!ensureIndexed()) {
+			return pageOfItemsNewestFirst(offset, limit);
+		}
+		try {
+			return readRecordsAt(getIndex().readOffsetsNewestFirst(offset, limit));
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not read a page of " + getDataFilename(), e);
+			deleteIndex();
+			replay();
+			return pageOfItemsNewestFirst(offset, limit);
+		}
+	}
+
+	public synchronized List<T> loadOldest(int offset, int limit) {
+		if (!ensureIndexed()) {
+			return pageOfItemsOldestFirst(offset, limit);
+		}
+		try {
+			return readRecordsAt(getIndex().readOffsetsOldestFirst(offset, limit));
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not read a page of " + getDataFilename(), e);
+			deleteIndex();
+			replay();
+			return pageOfItemsOldestFirst(offset, limit);
+		}
+	}
+
+	public synchronized List<T> loadByKeyRange(long fromKey, long toKey) {
+		if (!ensureIndexed()) {
+			return itemsInKeyRangeNewestFirst(fromKey, toKey);
+		}
+		try {
+			return readRecordsAt(getIndex().readOffsetsInRangeNewestFirst(fromKey, toKey));
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not read a range of " + getDataFilename(), e);
+			deleteIndex();
+			replay();
+			return itemsInKeyRangeNewestFirst(fromKey, toKey);
+		}
+	}
+
+	public synchronized int countByKeyRange(long fromKey, long toKey) {
+		if (!ensureIndexed()) {
+			return itemsInKeyRangeNewestFirst(fromKey, toKey).size();
+		}
+		try {
+			return getIndex().countInRange(fromKey, toKey);
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not count a range of " + getDataFilename(), e);
+			deleteIndex();
+			replay();
+			return itemsInKeyRangeNewestFirst(fromKey, toKey).size();
+		}
+	}
+
+	public synchronized T findByKey(long key) {
+		if (!ensureIndexed()) {
+			return findItemByKey(key);
+		}
+		try {
+			long offset = getIndex().findOffset(key);
+			return offset < 0 ? null : readRecordsAt(new long[] { offset }).get(0);
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not look up a record of " + getDataFilename(), e);
+			deleteIndex();
+			replay();
+			return findItemByKey(key);
+		}
+	}
+
+	public synchronized List<T> loadByKeys(long[] keys) {
+		if (!ensureIndexed()) {
+			return itemsWithKeys(keys);
+		}
+		try {
+			long[] offsets = getIndex().findOffsets(keys);
+			for (int i = 0; i < offsets.length; i++) {
+				if (offsets[i] < 0) {
+					throw new IOException("No record with key " + keys[i]);
+				}
+			}
+			return readRecordsAt(offsets);
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not look up records of " + getDataFilename(), e);
+			deleteIndex();
+			replay();
+			return itemsWithKeys(keys);
+		}
+	}
+
+	public synchronized boolean containsKey(long key) {
+		if (!ensureIndexed()) {
+			return findItemByKey(key) != null;
+		}
+		try {
+			return getIndex().findOffset(key) >= 0;
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not look up a record of " + getDataFilename(), e);
+			deleteIndex();
+			replay();
+			return findItemByKey(key) != null;
+		}
+	}
+
+	public synchronized void rewriteAll() {
+		migrateLegacyData();
+		if (journalLength != getFileLength()) {
+			replay();
+		}
+		rewrite(new ArrayList<T>(items));
+	}
+
+	public synchronized String getVersion() {
+		File file = getContext().getFileStreamPath(getDataFilename());
+		if (file == null) {
+			return getDataFilename();
+		}
+		return file.getPath() + ":" + file.length() + ":" + file.lastModified();
+	}
+
+	synchronized long getDeadBytes() {
+		return deadBytes;
+	}
+
+	void awaitCompaction() throws Exception {
+		Future<?> compaction;
+		synchronized (this) {
+			compaction = pendingCompaction;
+		}
+		if (compaction != null) {
+			compaction.get();
+		}
+	}
+
+	private void migrateLegacyData() {
+		if (legacyPersistor != null && getFileLength() == 0) {
+			List<T> legacyItems = legacyPersistor.load();
+			if (!legacyItems.isEmpty()) {
+				rewrite(legacyItems);
+				legacyPersistor.persist(new ArrayList<T>());
+			}
+		}
+	}
+
+	private boolean ensureIndexed() {
+		if (recordKey == null) {
+			throw new IllegalStateException(getDataFilename() + " has no record key to order by");
+		}
+		migrateLegacyData();
+		if (!getIndex().isValidFor(getFileLength())) {
+			replay();
+		}
+		return getIndex().isValidFor(getFileLength());
+	}
+
+	private List<T> readRecordsAt(long[] offsets) throws IOException {
+		List<T> page = new ArrayList<T>(offsets.length);
+		if (offsets.length > 0) {
+			long fileLength = getFileLength();
+			FileInputStream input = getContext().openFileInput(getDataFilename());
+			try {
+				for (long offset : offsets) {
+					input.getChannel().position(offset);
+					Frame frame = new FrameReader(input, fileLength - offset).next();
+					if (frame == null || frame.offset != 0 || frame.type != ADD_RECORD) {
+						throw new IOException("No record at " + offset);
+					}
+					page.add(codec.decode(frame.payload));
+				}
+			} finally {
+				close(input);
+			}
+		}
+		return page;
+	}
+
+	private List<T> pageOfItemsNewestFirst(int offset, int limit) {
+		List<T> sortedItems = new ArrayList<T>(items);
+		Collections.reverse(sortedItems);
+		Collections.sort(sortedItems, new Comparator<T>() {
+			@Override
+			public int compare(T item1, T item2) {
+				long key1 = recordKey.keyOf(item1);
+				long key2 = recordKey.keyOf(item2);
+				return key1 < key2 ? 1 : key1 > key2 ? -1 : 0;
+			}
+		});
+		int fromIndex = Math.min(offset, sortedItems.size());
+		int toIndex = Math.min(fromIndex + limit, sortedItems.size());
+		return new ArrayList<T>(sortedItems.subList(fromIndex, toIndex));
+	}
+
+	private List<T> pageOfItemsOldestFirst(int offset, int limit) {
+		List<T> sortedItems = pageOfItemsNewestFirst(0, items.size());
+		Collections.reverse(sortedItems);
+		int fromIndex = Math.min(offset, sortedItems.size());
+		int toIndex = Math.min(fromIndex + limit, sortedItems.size());
+		return new ArrayList<T>(sortedItems.subList(fromIndex, toIndex));
+	}
+
+	private List<T> itemsInKeyRangeNewestFirst(long fromKey, long toKey) {
+		List<T> itemsInRange = new ArrayList<T>();
+		for (T item : pageOfItemsNewestFirst(0, items.size())) {
+			long key = recordKey.keyOf(item);
+			if (key >= fromKey && key < toKey) {
+				itemsInRange.add(item);
+			}
+		}
+		return itemsInRange;
+	}
+
+	private List<T> itemsWithKeys(long[] keys) {
+		List<T> keyedItems = new ArrayList<T>(keys.length);
+		for (long key : keys) {
+			T item = findItemByKey(key);
+			if (item != null) {
+				keyedItems.add(item);
+			}
+		}
+		return keyedItems;
+	}
+
+	private T findItemByKey(long key) {
+		for (T item : items) {
+			if (recordKey.keyOf(item) == key) {
+				return item;
+			}
+		}
+		return null;
+	}
+
+	private JournalIndex getIndex() {
+		return new JournalIndex(getContext().getFileStreamPath(getDataFilename() + ".index"));
+	}
+
+	private void rebuildIndex() {
+		if (recordKey != null) {
+			List<long[]> entries = new ArrayList<long[]>(items.size());
+			for (T item : items) {
+				entries.add(new long[] { recordKey.keyOf(item), records.get(item).offset });
+			}
+			Collections.sort(entries, new Comparator<long[]>() {
+				@Override
+				public int compare(long[] entry1, long[] entry2) {
+					for (int i = 0; i < entry1.length; i++) {
+						if (entry1[i] != entry2[i]) {
+							return entry1[i] < entry2[i] ? -1 : 1;
+						}
+					}
+					return 0;
+				}
+			});
+			long[] keys = new long[entries.size()];
+			long[] offsets = new long[entries.size()];
+			for (int i = 0; i < entries.size(); i++) {
+				keys[i] = entries.get(i)[0];
+				offsets[i] = entries.get(i)[1];
+			}
+			try {
+				getIndex().rebuild(keys, offsets, isTailDamaged ? -1 : nextRecordId,
+						journalLength);
+			} catch (IOException e) {
+				Logger.error(TAG, "Could not index " + getDataFilename(), e);
+				deleteIndex();
+			}
+		}
+	}
+
+	private void updateIndex(long previousJournalLength, List<T> removedItems,
+			List<T> addedItems) {
+		if (recordKey == null) {
+			return;
+		}
+		JournalIndex index = getIndex();
+		try {
+			if (removedItems.isEmpty() && index.isValidFor(previousJournalLength)) {
+				long[] keys = new long[addedItems.size()];
+				long[] offsets = new long[addedItems.size()];
+				long lastKey = index.getLastKey();
+				for (int i = 0; i < addedItems.size(); i++) {
+					T item = addedItems.get(i);
+					keys[i] = recordKey.keyOf(item);
+					offsets[i] = records.get(item).offset;
+					if (keys[i] < lastKey) {
+						rebuildIndex();
+						return;
+					}
+					lastKey = keys[i];
+				}
+				index.append(keys, offsets, nextRecordId, previousJournalLength, journalLength);
+				return;
+			}
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not update the index of " + getDataFilename(), e);
+		}
+		rebuildIndex();
+	}
+
+	private void deleteIndex() {
+		getContext().deleteFile(getDataFilename() + ".index");
+	}
+
+	private boolean diff(List<T> newItems, List<T> removedItems, List<T> addedItems) {
+		Map<T, Boolean> newItemSet = new IdentityHashMap<T, Boolean>();
+		for (T item : newItems) {
+			newItemSet.put(item, Boolean.TRUE);
+		}
+		if (newItemSet.size() != newItems.size()) {
+			return false;
+		}
+
+		int position = 0;
+		for (T item : items) {
+			if (!newItemSet.containsKey(item)) {
+				removedItems.add(item);
+			} else if (position < newItems.size() && newItems.get(position) == item) {
+				position++;
+			} else {
+				return false;
+			}
+		}
+		for (; position < newItems.size(); position++) {
+			T item = newItems.get(position);
+			if (records.containsKey(item)) {
+				return false;
+			}
+			addedItems.add(item);
+		}
+		return true;
+	}
+
+	private void replay() {
+		items.clear();
+		records.clear();
+		nextRecordId = 0;
+		deadBytes = 0;
+		isTailDamaged = false;
+
+		long fileLength = getFileLength();
+		if (fileLength > 0) {
+			Map<Integer, T> itemsById = new LinkedHashMap<Integer, T>();
+			Map<Integer, Record> addRecords = new HashMap<Integer, Record>();
+			FrameReader reader = null;
+			try {
+				reader = new FrameReader(getContext().openFileInput(getDataFilename()),
+						fileLength);
+				Frame frame;
+				while ((frame = reader.next()) != null) {
+					nextRecordId = Math.max(nextRecordId, frame.recordId + 1);
+					if (frame.type == ADD_RECORD) {
+						T item = decodeOrSkip(frame);
+						if (item == null) {
+							deadBytes += frame.getLength();
+							continue;
+						}
+						itemsById.put(frame.recordId, item);
+						addRecords.put(frame.recordId, new Record(frame.recordId, frame.offset,
+								frame.getLength()));
+					} else if (itemsById.remove(frame.recordId) != null) {
+						deadBytes += addRecords.remove(frame.recordId).frameLength
+								+ frame.getLength();
+					} else {
+						deadBytes += frame.getLength();
+					}
+				}
+			} catch (IOException e) {
+				Logger.error(TAG, "Ignoring damaged tail of " + getDataFilename(), e);
+				isTailDamaged = true;
+			} finally {
+				if (reader != null) {
+					deadBytes += reader.getSkippedBytes();
+				}
+				close(reader);
+			}
+
+			for (Map.Entry<Integer, T> entry : itemsById.entrySet()) {
+				T item = entry.getValue();
+				items.add(item);
+				records.put(item, addRecords.get(entry.getKey()));
+			}
+		}
+		journalLength = fileLength;
+		if (recordKey != null && !getIndex().isValidFor(journalLength)) {
+			rebuildIndex();
+		}
+	}
+
+	private T decodeOrSkip(Frame frame) {
+		try {
+			return codec.decode(frame.payload);
+		} catch (IOException e) {
+			Logger.error(TAG, "Skipping undecodable record at " + frame.offset + " of "
+					+ getDataFilename(), e);
+			return null;
+		}
+	}
+
+	private void append(List<T> removedItems, List<T> addedItems) {
+		long previousJournalLength = journalLength;
+		long offset = journalLength;
+		DataOutputStream output = null;
+		try {
+			output = new DataOutputStream(new BufferedOutputStream(getContext().openFileOutput(
+					getDataFilename(), Context.MODE_APPEND)));
+			for (T item : removedItems) {
+				Record record = records.remove(item);
+				removeByIdentity(item);
+				int frameLength = writeFrame(output, REMOVE_RECORD, record.id, new byte[0]);
+				deadBytes += record.frameLength + frameLength;
+				offset += frameLength;
+			}
+			for (T item : addedItems) {
+				int recordId = nextRecordId++;
+				int frameLength = writeFrame(output, ADD_RECORD, recordId, codec.encode(item));
+				items.add(item);
+				records.put(item, new Record(recordId, offset, frameLength));
+				offset += frameLength;
+			}
+			output.flush();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			close(output);
+			fileWritten();
+		}
+		journalLength = getFileLength();
+		updateIndex(previousJournalLength, removedItems, addedItems);
+	}
+
+	private boolean appendUnloaded(T item) {
+		if (recordKey == null) {
+			return false;
+		}
+		long previousJournalLength = getFileLength();
+		long key = recordKey.keyOf(item);
+		JournalIndex index = getIndex();
+		int recordId;
+		try {
+			if (!index.isValidFor(previousJournalLength) || key < index.getLastKey()) {
+				return false;
+			}
+			recordId = index.getNextRecordId();
+			if (recordId < 0) {
+				return false;
+			}
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not read the index of " + getDataFilename(), e);
+			return false;
+		}
+
+		DataOutputStream output = null;
+		try {
+			output = new DataOutputStream(new BufferedOutputStream(getContext().openFileOutput(
+					getDataFilename(), Context.MODE_APPEND)));
+			writeFrame(output, ADD_RECORD, recordId, codec.encode(item));
+			output.flush();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			close(output);
+			fileWritten();
+		}
+
+		items.clear();
+		records.clear();
+		journalLength = -1;
+		try {
+			index.append(new long[] { key }, new long[] { previousJournalLength }, recordId + 1,
+					previousJournalLength, getFileLength());
+		} catch (IOException e) {
+			Logger.error(TAG, "Could not update the index of " + getDataFilename(), e);
+			deleteIndex();
+		}
+		return true;
+	}
+
+	private void rewrite(List<T> newItems) {
+		List<T> rewrittenItems = new ArrayList<T>();
+		Map<T, Record> rewrittenRecords = new IdentityHashMap<T, Record>();
+		String rewriteFilename = getDataFilename() + ".tmp";
+		long offset = 0;
+		DataOutputStream output = null;
+		try {
+			output = new DataOutputStream(new BufferedOutputStream(getContext().openFileOutput(
+					rewriteFilename, Context.MODE_PRIVATE)));
+			for (T item : newItems) {
+				int recordId = rewrittenItems.size();
+				int frameLength = writeFrame(output, ADD_RECORD, recordId, codec.encode(item));
+				rewrittenItems.add(item);
+				rewrittenRecords.put(item, new Record(recordId, offset, frameLength));
+				offset += frameLength;
+			}
+			output.flush();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			close(output);
+		}
+
+		File rewrittenFile = getContext().getFileStreamPath(rewriteFilename);
+		if (!rewrittenFile.renameTo(getContext().getFileStreamPath(getDataFilename()))) {
+			throw new RuntimeException("Could not replace " + getDataFilename());
+		}
+		fileWritten();
+
+		items.clear();
+		items.addAll(rewrittenItems);
+		records.clear();
+		records.putAll(rewrittenRecords);
+		nextRecordId = rewrittenItems.size();
+		deadBytes = 0;
+		isTailDamaged = false;
+		journalLength = getFileLength();
+		rebuildIndex();
+	}
+
+	private void removeByIdentity(T item) {
+		for (int i = 0; i < items.size(); i++) {
+			if (items.get(i) == item) {
+				items.remove(i);
+				break;
+			}
+		}
+	}
+
+	private void scheduleCompactionIfNeeded() {
+		if (deadBytes >= compactionThreshold && pendingCompaction == null) {
+			pendingCompaction = compactionExecutor.submit(new Runnable() {
+				@Override
+				public void run() {
+					compact();
+				}
+			});
+		}
+	}
+
+	private synchronized void compact() {
+		pendingCompaction = null;
+		try {
+			if (journalLength == getFileLength()) {
+				rewrite(new ArrayList<T>(items));
+			}
+		} catch (RuntimeException e) {
+			Logger.error(TAG, "Compacting " + getDataFilename() + " failed", e);
+		}
+	}
+
+	private int writeFrame(DataOutputStream output, byte type, int recordId, byte[] payload)
+			throws IOException {
+		output.writeByte(type);
+		output.writeInt(recordId);
+		output.writeInt(payload.length);
+		output.write(payload);
+		output.writeInt(checksum(type, recordId, payload));
+		return FRAME_OVERHEAD + payload.length;
+	}
+
+	private static int checksum(int type, int recordId, byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(type);
+		crc.update(recordId >>> 24);
+		crc.update(recordId >>> 16);
+		crc.update(recordId >>> 8);
+		crc.update(recordId);
+		crc.update(payload);
+		return (int) crc.getValue();
+	}
+
+	@Override
+	public String getDataFilename() {
+		return getClazz().getName() + ".journal";
+	}
+
+	private long getFileLength() {
+		File file = getContext().getFileStreamPath(getDataFilename());
+		return file == null ? 0 : file.length();
+	}
+
+	private static void close(Closeable closeable) {
+		try {
+			if (closeable != null) {
+				closeable.close();
+			}
+		} catch (IOException e) {
+		}
+	}
+
+	private class RecordIterator extends AbstractCloseableIterator<T> {
+		private final FrameReader reader;
+		private final Set<Integer> removedRecordIds;
+
+		private RecordIterator(FrameReader reader, Set<Integer> removedRecordIds) {
+			this.reader = reader;
+			this.removedRecordIds = removedRecordIds;
+		}
+
+		@Override
+		protected T computeNext() {
+			try {
+				Frame frame;
+				while ((frame = reader.next()) != null) {
+					if (frame.type == ADD_RECORD && !removedRecordIds.contains(frame.recordId)) {
+						T item = decodeOrSkip(frame);
+						if (item != null) {
+							return item;
+						}
+					}
+				}
+			} catch (IOException e) {
+				Logger.error(TAG, "Stopped reading " + getDataFilename(), e);
+			}
+			return null;
+		}
+
+		@Override
+		public void close() {
+			JournalPersistor.close(reader);
+		}
+	}
+
+	private static class FrameReader implements Closeable {
+		private final DataInputStream input;
+		private final long length;
+		private long position;
+		private long skippedBytes;
+
+		private FrameReader(InputStream input, long length) {
+			this.input = new DataInputStream(new BufferedInputStream(input));
+			this.length = length;
+		}
+
+		private Frame next() throws IOException {
+			while (position < length) {
+				long offset = position;
+				int type = input.readUnsignedByte();
+				int recordId = input.readInt();
+				int payloadLength = input.readInt();
+				if (payloadLength < 0 || position + FRAME_OVERHEAD + payloadLength > length) {
+					throw new EOFException("Frame runs past end of journal at " + position);
+				}
+				byte[] payload = new byte[payloadLength];
+				input.readFully(payload);
+				int storedChecksum = input.readInt();
+				position += FRAME_OVERHEAD + payloadLength;
+				if (storedChecksum != checksum(type, recordId, payload)) {
+					Logger.error(TAG, "Skipping frame with a checksum mismatch at " + offset,
+							new IOException("Damaged frame"));
+				} else if (type != ADD_RECORD && type != REMOVE_RECORD) {
+					Logger.error(TAG, "Skipping frame of unknown type " + type + " at "
+							+ offset, new IOException("Damaged frame"));
+				} else {
+					return new Frame(type, recordId, payload, offset);
+				}
+				skippedBytes += FRAME_OVERHEAD + payloadLength;
+			}
+			return null;
+		}
+
+		private long getPosition() {
+			return position;
+		}
+
+		private long getSkippedBytes() {
+			return skippedBytes;
+		}
+
+		@Override
+		public void close() throws IOException {
+			input.close();
+		}
+	}
+
+	private static class Frame {
+		private final int type;
+		private final int recordId;
+		private final byte[] payload;
+		private final long offset;
+
+		private Frame(int type, int recordId, byte[] payload, long offset) {
+			this.type = type;
+			this.recordId = recordId;
+			this.payload = payload;
+			this.offset = offset;
+		}
+
+		private int getLength() {
+			return FRAME_OVERHEAD + payload.length;
+		}
+	}
+
+	private static class Record {
+		private final int id;
+		private final long offset;
+		private final int frameLength;
+
+		private Record(int id, long offset, int frameLength) {
+			this.id = id;
+			this.offset = offset;
+			this.frameLength = frameLength;
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package net.todd.scorekeeper.data;
+
+public interface PlayerResolver {
+	Player resolve(String playerId);
+
+	Player resolveInline(Player player);
+}
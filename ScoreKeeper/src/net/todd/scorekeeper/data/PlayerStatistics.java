@@ -0,0 +1,113 @@
+package net.todd.scorekeeper.data;
+
+import java.io.Serializable;
+
+import net.todd.scorekeeper.Scoring;
+
+public class PlayerStatistics implements Serializable {
+	private static final long serialVersionUID = 6254307165916937102L;
+
+	private String playerId;
+	private String playerName;
+	private int gamesPlayed;
+	private int wins;
+	private long totalScore;
+	private int bestScore;
+	private int bestScoreCount;
+
+	public String getPlayerId() {
+		return playerId;
+	}
+
+	public void setPlayerId(String playerId) {
+		this.playerId = playerId;
+	}
+
+	public String getPlayerName() {
+		return playerName;
+	}
+
+	public void setPlayerName(String playerName) {
+		this.playerName = playerName;
+	}
+
+	public int getGamesPlayed() {
+		return gamesPlayed;
+	}
+
+	public void setGamesPlayed(int gamesPlayed) {
+		this.gamesPlayed = gamesPlayed;
+	}
+
+	public int getWins() {
+		return wins;
+	}
+
+	public void setWins(int wins) {
+		this.wins = wins;
+	}
+
+	public long getTotalScore() {
+		return totalScore;
+	}
+
+	public void setTotalScore(long totalScore) {
+		this.totalScore = totalScore;
+	}
+
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	public void setBestScore(int bestScore) {
+		this.bestScore = bestScore;
+	}
+
+	public int getBestScoreCount() {
+		return bestScoreCount;
+	}
+
+	public void setBestScoreCount(int bestScoreCount) {
+		this.bestScoreCount = bestScoreCount;
+	}
+
+	public double getAverageScore() {
+		return gamesPlayed == 0 ? 0 : (double) totalScore / gamesPlayed;
+	}
+
+	public void addGame(int score, boolean won, Scoring scoring) {
+		addBestScoreCandidate(score, scoring);
+		gamesPlayed++;
+		totalScore += score;
+		if (won) {
+			wins++;
+		}
+	}
+
+	public boolean removeGame(int score, boolean won) {
+		gamesPlayed--;
+		totalScore -= score;
+		if (won) {
+			wins--;
+		}
+		if (score == bestScore) {
+			bestScoreCount--;
+		}
+		return gamesPlayed == 0 || bestScoreCount > 0;
+	}
+
+	public void resetBestScore() {
+		bestScore = 0;
+		bestScoreCount = 0;
+	}
+
+	public void addBestScoreCandidate(int score, Scoring scoring) {
+		boolean isBetter = scoring == Scoring.LOW ? score < bestScore : score > bestScore;
+		if (bestScoreCount == 0 || isBetter) {
+			bestScore = score;
+			bestScoreCount = 1;
+		} else if (score == bestScore) {
+			bestScoreCount++;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package net.todd.scorekeeper.data;
+
+import java.io.Serializable;
+
+public class RatingCheckpoint implements Serializable {
+	private static final long serialVersionUID = -2297381630534628842L;
+
+	private int gameCount;
+	private long lastGameKey;
+	private String[] playerIds;
+	private double[] ratings;
+	private int[] gamesRated;
+
+	public int getGameCount() {
+		return gameCount;
+	}
+
+	public void setGameCount(int gameCount) {
+		this.gameCount = gameCount;
+	}
+
+	public long getLastGameKey() {
+		return lastGameKey;
+	}
+
+	public void setLastGameKey(long lastGameKey) {
+		this.lastGameKey = lastGameKey;
+	}
+
+	public String[] getPlayerIds() {
+		return playerIds;
+	}
+
+	public void setPlayerIds(String[] playerIds) {
+		this.playerIds = playerIds;
+	}
+
+	public double[] getRatings() {
+		return ratings;
+	}
+
+	public void setRatings(double[] ratings) {
+		this.ratings = ratings;
+	}
+
+	public int[] getGamesRated() {
+		return gamesRated;
+	}
+
+	public void setGamesRated(int[] gamesRated) {
+		this.gamesRated = gamesRated;
+	}
+}
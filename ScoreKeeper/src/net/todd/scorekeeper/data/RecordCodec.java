@@ -0,0 +1,9 @@
+package net.todd.scorekeeper.data;
+
+import java.io.IOException;
+
+public interface RecordCodec<T> {
+	byte[] encode(T item) throws IOException;
+
+	T decode(byte[] record) throws IOException;
+}
@@ -0,0 +1,5 @@
+package net.todd.scorekeeper.data;
+
+public interface RecordKey<T> {
+	long keyOf(T item);
+}
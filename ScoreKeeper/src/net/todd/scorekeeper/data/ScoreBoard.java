@@ -3,7 +3,10 @@ package net.todd.scorekeeper.data;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.todd.scorekeeper.Scoring;
 
@@ -12,6 +15,9 @@ public class ScoreBoard implements Serializable {
 
 	private List<ScoreBoardEntry> scoreBoardEntries;
 	private String scoring;
+	private transient Map<String, ScoreBoardEntry> entriesByPlayerId;
+	private transient int indexedEntryCount;
+	private transient List<ScoreBoardEntry> rankedEntries;
 
 	public ScoreBoard() {
 		initializeScoreBoardEntries();
@@ -28,30 +34,119 @@ public class ScoreBoard implements Serializable {
 			scoreBoardEntry.setPlayer(player);
 			scoreBoardEntries.add(scoreBoardEntry);
 		}
+		entriesByPlayerId = null;
+		rankedEntries = null;
 	}
 
 	public void setScore(Player player, int score) {
-		for (ScoreBoardEntry scoreBoardEntry : scoreBoardEntries) {
-			if (scoreBoardEntry.getPlayer().equals(player)) {
-				scoreBoardEntry.setScore(score);
-				break;
-			}
+		ScoreBoardEntry scoreBoardEntry = findEntry(player);
+		if (scoreBoardEntry != null) {
+			scoreBoardEntry.setScore(score);
 		}
 	}
 
 	public int getScore(Player player) {
-		int score = 0;
+		ScoreBoardEntry scoreBoardEntry = findEntry(player);
+		return scoreBoardEntry == null ? 0 : scoreBoardEntry.getScore();
+	}
+
+	private ScoreBoardEntry findEntry(Player player) {
+		if (player.getId() != null) {
+			return getEntriesByPlayerId().get(player.getId());
+		}
 		for (ScoreBoardEntry scoreBoardEntry : scoreBoardEntries) {
 			if (scoreBoardEntry.getPlayer().equals(player)) {
-				score = scoreBoardEntry.getScore();
-				break;
+				return scoreBoardEntry;
+			}
+		}
+		return null;
+	}
+
+	private Map<String, ScoreBoardEntry> getEntriesByPlayerId() {
+		if (entriesByPlayerId == null || indexedEntryCount != scoreBoardEntries.size()) {
+			entriesByPlayerId = new HashMap<String, ScoreBoardEntry>();
+			for (ScoreBoardEntry scoreBoardEntry : scoreBoardEntries) {
+				String playerId = scoreBoardEntry.getPlayer().getId();
+				if (playerId != null && !entriesByPlayerId.containsKey(playerId)) {
+					entriesByPlayerId.put(playerId, scoreBoardEntry);
+				}
 			}
+			indexedEntryCount = scoreBoardEntries.size();
 		}
-		return score;
+		return entriesByPlayerId;
 	}
 
 	public List<ScoreBoardEntry> getEntries() {
-		Collections.sort(scoreBoardEntries, getScoring().getComparator());
+		return Collections.unmodifiableList(getRankedEntries());
+	}
+
+	public List<ScoreBoardEntry> getEntriesInTurnOrder() {
+		return Collections.unmodifiableList(scoreBoardEntries);
+	}
+
+	public int getRank(Player player) {
+		ScoreBoardEntry scoreBoardEntry = findEntry(player);
+		if (scoreBoardEntry == null) {
+			return -1;
+		}
+		List<ScoreBoardEntry> ranking = getRankedEntries();
+		return Collections.binarySearch(ranking, scoreBoardEntry, getRankingComparator());
+	}
+
+	void scoreChanged(ScoreBoardEntry scoreBoardEntry, int oldScore) {
+		if (rankedEntries == null || rankedEntries.size() != scoreBoardEntries.size()) {
+			rankedEntries = null;
+			return;
+		}
+		ScoreBoardEntry oldPosition = new ScoreBoardEntry();
+		oldPosition.setScore(oldScore);
+		oldPosition.setRankedOn(null, scoreBoardEntry.getSeat());
+		Comparator<ScoreBoardEntry> comparator = getRankingComparator();
+		int oldRank = Collections.binarySearch(rankedEntries, oldPosition, comparator);
+		if (oldRank < 0 || rankedEntries.get(oldRank) != scoreBoardEntry) {
+			rankedEntries = null;
+			return;
+		}
+		rankedEntries.remove(oldRank);
+		int newRank = Collections.binarySearch(rankedEntries, scoreBoardEntry, comparator);
+		rankedEntries.add(-newRank - 1, scoreBoardEntry);
+	}
+
+	private List<ScoreBoardEntry> getRankedEntries() {
+		if (rankedEntries == null || rankedEntries.size() != scoreBoardEntries.size()) {
+			for (int seat = 0; seat < scoreBoardEntries.size(); seat++) {
+				scoreBoardEntries.get(seat).setRankedOn(this, seat);
+			}
+			rankedEntries = new ArrayList<ScoreBoardEntry>(scoreBoardEntries);
+			Collections.sort(rankedEntries, getRankingComparator());
+		}
+		return rankedEntries;
+	}
+
+	private Comparator<ScoreBoardEntry> getRankingComparator() {
+		final Comparator<ScoreBoardEntry> scoringComparator = getScoring().getComparator();
+		return new Comparator<ScoreBoardEntry>() {
+			@Override
+			public int compare(ScoreBoardEntry entry1, ScoreBoardEntry entry2) {
+				int result = scoringComparator.compare(entry1, entry2);
+				return result != 0 ? result : entry1.getSeat() - entry2.getSeat();
+			}
+		};
+	}
+
+	public ScoreBoard copy() {
+		ScoreBoard copy = new ScoreBoard();
+		copy.scoring = scoring;
+		for (ScoreBoardEntry scoreBoardEntry : scoreBoardEntries) {
+			ScoreBoardEntry entryCopy = new ScoreBoardEntry();
+			entryCopy.setPlayer(scoreBoardEntry.getPlayer());
+			entryCopy.setScore(scoreBoardEntry.getScore());
+			copy.scoreBoardEntries.add(entryCopy);
+		}
+		return copy;
+	}
+
+	List<ScoreBoardEntry> getEntriesInStoredOrder() {
 		return scoreBoardEntries;
 	}
 
@@ -61,5 +156,6 @@ public class ScoreBoard implements Serializable {
 
 	public void setScoring(Scoring scoring) {
 		this.scoring = scoring.getText();
+		rankedEntries = null;
 	}
 }
@@ -7,13 +7,28 @@ public class ScoreBoardEntry implements Serializable {
 
 	private Player player;
 	private int score;
+	private transient ScoreBoard scoreBoard;
+	private transient int seat;
 
 	public void setPlayer(Player player) {
 		this.player = player;
 	}
 
 	public void setScore(int score) {
+		int oldScore = this.score;
 		this.score = score;
+		if (scoreBoard != null && oldScore != score) {
+			scoreBoard.scoreChanged(this, oldScore);
+		}
+	}
+
+	void setRankedOn(ScoreBoard scoreBoard, int seat) {
+		this.scoreBoard = scoreBoard;
+		this.seat = seat;
+	}
+
+	int getSeat() {
+		return seat;
 	}
 
 	public int getScore() {
@@ -0,0 +1,52 @@
+package net.todd.scorekeeper.data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StringTable {
+	private final List<String> strings = new ArrayList<String>();
+	private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+
+	public int indexOf(String string) {
+		if (string == null) {
+			return 0;
+		}
+		Integer index = indexes.get(string);
+		if (index == null) {
+			strings.add(string);
+			index = strings.size();
+			indexes.put(string, index);
+		}
+		return index;
+	}
+
+	public String get(int index) throws IOException {
+		if (index < 0 || index > strings.size()) {
+			throw new IOException("No string at index " + index);
+		}
+		return index == 0 ? null : strings.get(index - 1);
+	}
+
+	public void write(DataOutput output) throws IOException {
+		BinaryCodecs.writeVarInt(output, strings.size());
+		for (String string : strings) {
+			output.writeUTF(string);
+		}
+	}
+
+	public static StringTable read(DataInput input) throws IOException {
+		StringTable table = new StringTable();
+		int size = BinaryCodecs.readVarInt(input);
+		for (int i = 0; i < size; i++) {
+			String string = input.readUTF();
+			table.strings.add(string);
+			table.indexes.put(string, table.strings.size());
+		}
+		return table;
+	}
+}
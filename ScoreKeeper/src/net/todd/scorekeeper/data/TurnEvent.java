@@ -0,0 +1,29 @@
+package net.todd.scorekeeper.data;
+
+public class TurnEvent {
+	public enum Type {
+		SCORE_ADDED, PLAYER_ADVANCED, PLAYER_MOVED_BACK
+	}
+
+	private final Type type;
+	private final String playerId;
+	private final int points;
+
+	public TurnEvent(Type type, String playerId, int points) {
+		this.type = type;
+		this.playerId = playerId;
+		this.points = points;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getPlayerId() {
+		return playerId;
+	}
+
+	public int getPoints() {
+		return points;
+	}
+}
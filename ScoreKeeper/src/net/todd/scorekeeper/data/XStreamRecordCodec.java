@@ -0,0 +1,30 @@
+package net.todd.scorekeeper.data;
+
+import java.io.IOException;
+
+import com.thoughtworks.xstream.XStream;
+
+public class XStreamRecordCodec<T> implements RecordCodec<T> {
+	private static final String ENCODING = "UTF-8";
+
+	private final Class<T> clazz;
+	private final XStream xstream = new XStream();
+
+	public XStreamRecordCodec(Class<T> clazz) {
+		this.clazz = clazz;
+	}
+
+	@Override
+	public byte[] encode(T item) throws IOException {
+		return xstream.toXML(item).getBytes(ENCODING);
+	}
+
+	@Override
+	public T decode(byte[] record) throws IOException {
+		try {
+			return Interners.internAll(clazz.cast(xstream.fromXML(new String(record, ENCODING))));
+		} catch (RuntimeException e) {
+			throw new IOException("Unreadable record: " + e.getMessage());
+		}
+	}
+}
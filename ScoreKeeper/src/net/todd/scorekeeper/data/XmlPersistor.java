@@ -1,16 +1,27 @@
 package net.todd.scorekeeper.data;
 
+import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 
+import net.todd.scorekeeper.AbstractCloseableIterator;
+import net.todd.scorekeeper.CloseableIterator;
+import net.todd.scorekeeper.Logger;
 import net.todd.scorekeeper.Persistor;
 import android.content.Context;
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.core.ReferenceByXPathUnmarshaller;
+import com.thoughtworks.xstream.core.util.HierarchicalStreams;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.xml.XppReader;
 
 public class XmlPersistor<T> extends Persistor<T> {
+	private static final String TAG = XmlPersistor.class.getSimpleName();
+
 	public static <T> Persistor<T> create(Class<T> clazz, Context context) {
 		return new XmlPersistor<T>(clazz, context);
 	}
@@ -34,6 +45,7 @@ public class XmlPersistor<T> extends Persistor<T> {
 				output.close();
 			} catch (Exception e) {
 			}
+			fileWritten();
 		}
 	}
 
@@ -48,9 +60,12 @@ public class XmlPersistor<T> extends Persistor<T> {
 				XStream xstream = new XStream();
 				@SuppressWarnings("unchecked")
 				List<T> fromXML = (List<T>) xstream.fromXML(input);
-				items.addAll(fromXML);
+				for (T item : fromXML) {
+					items.add(Interners.internAll(item));
+				}
 			} catch (Exception e) {
 				super.context.deleteFile(getDataFilename());
+				fileWritten();
 			} finally {
 				try {
 					input.close();
@@ -61,7 +76,75 @@ public class XmlPersistor<T> extends Persistor<T> {
 		return items;
 	}
 
-	private String getDataFilename() {
+	@Override
+	public CloseableIterator<T> iterate() {
+		if (!doesFileExist(getDataFilename()) || !doesFileHaveData(getDataFilename())) {
+			return super.iterate();
+		}
+
+		try {
+			XStream xstream = new XStream();
+			HierarchicalStreamReader reader = new XppReader(new BufferedReader(
+					new InputStreamReader(getContext().openFileInput(getDataFilename()))));
+			if (!xstream.getMapper().serializedClass(ArrayList.class).equals(
+					reader.getNodeName())) {
+				reader.close();
+				return super.iterate();
+			}
+			return new StreamingIterator(new StreamingUnmarshaller(reader, xstream));
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public String getDataFilename() {
 		return getClazz().getName() + ".xml";
 	}
+
+	private class StreamingIterator extends AbstractCloseableIterator<T> {
+		private final StreamingUnmarshaller unmarshaller;
+
+		private StreamingIterator(StreamingUnmarshaller unmarshaller) {
+			this.unmarshaller = unmarshaller;
+		}
+
+		@Override
+		protected T computeNext() {
+			try {
+				return unmarshaller.hasNextItem() ? Interners.internAll(getClazz().cast(
+						unmarshaller.nextItem())) : null;
+			} catch (RuntimeException e) {
+				Logger.error(TAG, "Stopped reading " + getDataFilename(), e);
+				return null;
+			}
+		}
+
+		@Override
+		public void close() {
+			unmarshaller.close();
+		}
+	}
+
+	private static class StreamingUnmarshaller extends ReferenceByXPathUnmarshaller {
+		private StreamingUnmarshaller(HierarchicalStreamReader reader, XStream xstream) {
+			super(null, reader, xstream.getConverterLookup(), xstream.getMapper());
+		}
+
+		private boolean hasNextItem() {
+			return reader.hasMoreChildren();
+		}
+
+		private Object nextItem() {
+			reader.moveDown();
+			Object item = convertAnother(null, HierarchicalStreams.readClassType(reader,
+					getMapper()));
+			reader.moveUp();
+			return item;
+		}
+
+		private void close() {
+			reader.close();
+		}
+	}
 }
@@ -0,0 +1,40 @@
+package net.todd.scorekeeper.benchmark;
+
+public abstract class Benchmark {
+	private final String group;
+	private final String operation;
+	private final int size;
+
+	protected Benchmark(String group, String operation, int size) {
+		this.group = group;
+		this.operation = operation;
+		this.size = size;
+	}
+
+	public String getGroup() {
+		return group;
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public long getFileBytes() {
+		return 0;
+	}
+
+	public void setUp() throws Exception {
+	}
+
+	public abstract void run() throws Exception;
+
+	public void reset() throws Exception {
+	}
+
+	public void tearDown() throws Exception {
+	}
+}
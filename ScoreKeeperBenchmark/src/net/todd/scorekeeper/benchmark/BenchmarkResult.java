@@ -0,0 +1,66 @@
+package net.todd.scorekeeper.benchmark;
+
+public class BenchmarkResult {
+	static final String CSV_HEADER = "timestamp,group,operation,size,warmups,iterations,"
+			+ "mean_ns,min_ns,max_ns,allocated_bytes_per_op,file_bytes";
+
+	private final long timestamp;
+	private final Benchmark benchmark;
+	private final int warmups;
+	private final long[] durations;
+	private final long allocatedBytesPerOp;
+	private final long fileBytes;
+
+	BenchmarkResult(long timestamp, Benchmark benchmark, int warmups, long[] durations,
+			long allocatedBytesPerOp, long fileBytes) {
+		this.timestamp = timestamp;
+		this.benchmark = benchmark;
+		this.warmups = warmups;
+		this.durations = durations;
+		this.allocatedBytesPerOp = allocatedBytesPerOp;
+		this.fileBytes = fileBytes;
+	}
+
+	public long getMeanNanos() {
+		long total = 0;
+		for (long duration : durations) {
+			total += duration;
+		}
+		return durations.length == 0 ? 0 : total / durations.length;
+	}
+
+	public long getMinNanos() {
+		long min = Long.MAX_VALUE;
+		for (long duration : durations) {
+			min = Math.min(min, duration);
+		}
+		return durations.length == 0 ? 0 : min;
+	}
+
+	public long getMaxNanos() {
+		long max = 0;
+		for (long duration : durations) {
+			max = Math.max(max, duration);
+		}
+		return max;
+	}
+
+	public long getAllocatedBytesPerOp() {
+		return allocatedBytesPerOp;
+	}
+
+	public String toCsv() {
+		return timestamp + "," + benchmark.getGroup() + "," + benchmark.getOperation() + ","
+				+ benchmark.getSize() + "," + warmups + "," + durations.length + ","
+				+ getMeanNanos() + "," + getMinNanos() + "," + getMaxNanos() + ","
+				+ allocatedBytesPerOp + "," + fileBytes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%-12s %-12s %8d  mean %10.3f ms  min %10.3f ms  "
+				+ "max %10.3f ms  alloc %12d B/op", benchmark.getGroup(),
+				benchmark.getOperation(), benchmark.getSize(), getMeanNanos() / 1e6,
+				getMinNanos() / 1e6, getMaxNanos() / 1e6, allocatedBytesPerOp);
+	}
+}
@@ -0,0 +1,75 @@
+package net.todd.scorekeeper.benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BenchmarkRunner {
+	private final File resultsFile;
+	private final long timestamp = System.currentTimeMillis();
+	private final List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+
+	public BenchmarkRunner(File resultsFile) {
+		this.resultsFile = resultsFile;
+	}
+
+	public BenchmarkResult run(Benchmark benchmark, int warmups, int iterations)
+			throws Exception {
+		benchmark.setUp();
+		try {
+			for (int i = 0; i < warmups; i++) {
+				benchmark.run();
+				benchmark.reset();
+			}
+
+			long[] durations = new long[iterations];
+			long allocatedBytes = 0;
+			for (int i = 0; i < iterations; i++) {
+				long allocatedBefore = getAllocatedBytes();
+				long start = System.nanoTime();
+				benchmark.run();
+				durations[i] = System.nanoTime() - start;
+				allocatedBytes += getAllocatedBytes() - allocatedBefore;
+				benchmark.reset();
+			}
+
+			BenchmarkResult result = new BenchmarkResult(timestamp, benchmark, warmups,
+					durations, iterations == 0 ? 0 : allocatedBytes / iterations,
+					benchmark.getFileBytes());
+			results.add(result);
+			System.out.println(result);
+			return result;
+		} finally {
+			benchmark.tearDown();
+		}
+	}
+
+	public void writeResults() throws IOException {
+		boolean isNewFile = !resultsFile.exists() || resultsFile.length() == 0;
+		PrintWriter writer = new PrintWriter(new FileWriter(resultsFile, true));
+		try {
+			if (isNewFile) {
+				writer.println(BenchmarkResult.CSV_HEADER);
+			}
+			for (BenchmarkResult result : results) {
+				writer.println(result.toCsv());
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	static long getAllocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread
+					.currentThread().getId());
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,64 @@
+package net.todd.scorekeeper.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import net.todd.scorekeeper.Scoring;
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+
+public class GameGenerator {
+	private static final String[] GAME_NAMES = { "Hearts", "Spades", "Rummy", "Yahtzee",
+			"Dominoes", "Cribbage", "Euchre", "Farkle" };
+	private static final long FIRST_GAME_TIME = 1262304000000L;
+	private static final long GAME_INTERVAL = 45 * 60 * 1000L;
+
+	private final Random random;
+	private final List<Player> players = new ArrayList<Player>();
+	private int gameCount;
+
+	public GameGenerator(long seed, int playerCount) {
+		random = new Random(seed);
+		for (int i = 0; i < playerCount; i++) {
+			Player player = new Player();
+			player.setId("player-" + i);
+			player.setName("Player " + i);
+			players.add(player);
+		}
+	}
+
+	public List<Player> getPlayers() {
+		return players;
+	}
+
+	public List<Game> generate(int count) {
+		List<Game> games = new ArrayList<Game>(count);
+		for (int i = 0; i < count; i++) {
+			games.add(next());
+		}
+		return games;
+	}
+
+	public Game next() {
+		List<Player> gamePlayers = new ArrayList<Player>(players);
+		Collections.shuffle(gamePlayers, random);
+		gamePlayers = gamePlayers.subList(0, Math.min(gamePlayers.size(), 2 + random.nextInt(4)));
+
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setScoring(random.nextBoolean() ? Scoring.HIGH : Scoring.LOW);
+		scoreBoard.setPlayers(gamePlayers);
+		for (Player player : gamePlayers) {
+			scoreBoard.setScore(player, random.nextInt(500) - 100);
+		}
+
+		Game game = new Game();
+		game.setGameName(GAME_NAMES[random.nextInt(GAME_NAMES.length)]);
+		game.setGameOverTimestamp(new Date(FIRST_GAME_TIME + gameCount++ * GAME_INTERVAL));
+		game.setScoreBoard(scoreBoard);
+		return game;
+	}
+}
@@ -0,0 +1,145 @@
+package net.todd.scorekeeper.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.todd.scorekeeper.Logger;
+import net.todd.scorekeeper.TempDirectoryContext;
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.ScoreBoardEntry;
+import net.todd.scorekeeper.data.XmlPersistor;
+
+import com.thoughtworks.xstream.XStream;
+
+public class HeapFootprintReport {
+	private static final long SEED = 20100101L;
+	private static final int PLAYER_COUNT = 12;
+	private static final String CSV_HEADER = "timestamp,variant,games,retained_bytes,"
+			+ "player_instances,game_name_instances";
+
+	public static void main(String[] args) throws Exception {
+		int gameCount = 20000;
+		String out = "heap-footprint.csv";
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if ("--games".equals(args[i])) {
+				gameCount = Integer.parseInt(args[i + 1]);
+			} else if ("--out".equals(args[i])) {
+				out = args[i + 1];
+			} else {
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+
+		Logger.setTestMode(true);
+		TempDirectoryContext context = new TempDirectoryContext();
+		try {
+			List<Game> games = new GameGenerator(SEED, PLAYER_COUNT).generate(gameCount);
+			for (Game game : games) {
+				copyPlayersAndGameName(game);
+			}
+			XmlPersistor.create(Game.class, context.getContext()).persist(games);
+			games = null;
+
+			final TempDirectoryContext historyContext = context;
+			long timestamp = System.currentTimeMillis();
+			List<String> rows = new ArrayList<String>();
+			rows.add(measure(timestamp, "plain", new Loader() {
+				@Override
+				public List<Game> load() throws IOException {
+					return loadWithoutInterning(historyContext);
+				}
+			}));
+			rows.add(measure(timestamp, "interned", new Loader() {
+				@Override
+				public List<Game> load() {
+					return XmlPersistor.create(Game.class, historyContext.getContext()).load();
+				}
+			}));
+			writeRows(out, rows);
+		} finally {
+			context.delete();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Game> loadWithoutInterning(TempDirectoryContext context)
+			throws IOException {
+		InputStream input = new FileInputStream(context.getFile(Game.class.getName() + ".xml"));
+		try {
+			return (List<Game>) new XStream().fromXML(input);
+		} finally {
+			input.close();
+		}
+	}
+
+	private static String measure(long timestamp, String variant, Loader loader)
+			throws IOException {
+		long usedBefore = usedHeapAfterGc();
+		List<Game> games = loader.load();
+		long retainedBytes = usedHeapAfterGc() - usedBefore;
+		Map<Object, Boolean> players = new IdentityHashMap<Object, Boolean>();
+		Map<Object, Boolean> gameNames = new IdentityHashMap<Object, Boolean>();
+		for (Game game : games) {
+			gameNames.put(game.getGameName(), Boolean.TRUE);
+			for (ScoreBoardEntry entry : game.getScoreBoard().getEntriesInTurnOrder()) {
+				players.put(entry.getPlayer(), Boolean.TRUE);
+			}
+		}
+
+		System.out.println(String.format("%-10s %8d games  retained %12d B  players %8d  "
+				+ "game names %8d", variant, games.size(), retainedBytes, players.size(),
+				gameNames.size()));
+		return timestamp + "," + variant + "," + games.size() + "," + retainedBytes + ","
+				+ players.size() + "," + gameNames.size();
+	}
+
+	private static void copyPlayersAndGameName(Game game) {
+		game.setGameName(new String(game.getGameName()));
+		ScoreBoard scoreBoard = game.getScoreBoard();
+		for (ScoreBoardEntry entry : scoreBoard.getEntriesInTurnOrder()) {
+			Player player = new Player();
+			player.setId(entry.getPlayer().getId());
+			player.setName(entry.getPlayer().getName());
+			entry.setPlayer(player);
+		}
+	}
+
+	private static void writeRows(String out, List<String> rows) throws IOException {
+		File file = new File(out);
+		boolean isNewFile = !file.exists() || file.length() == 0;
+		PrintWriter writer = new PrintWriter(new FileWriter(file, true));
+		try {
+			if (isNewFile) {
+				writer.println(CSV_HEADER);
+			}
+			for (String row : rows) {
+				writer.println(row);
+			}
+		} finally {
+			writer.close();
+		}
+		System.out.println("Results written to " + file.getAbsolutePath());
+	}
+
+	private interface Loader {
+		List<Game> load() throws IOException;
+	}
+
+	private static long usedHeapAfterGc() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 4; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,109 @@
+package net.todd.scorekeeper.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.todd.scorekeeper.Listener;
+import net.todd.scorekeeper.ListenerManager;
+
+public class ListenerBenchmark {
+	private static final int NOTIFICATIONS = 100000;
+	private static final int ITERATIONS = 10;
+	private static final int WARMUPS = 3;
+
+	private static final String ARRAY_LIST = "notify-arraylist";
+	private static final String COPY_ON_WRITE = "notify-cow";
+
+	public static void main(String[] args) throws Exception {
+		String sizes = "1,4,16";
+		String out = "benchmark-results.csv";
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if ("--sizes".equals(args[i])) {
+				sizes = args[i + 1];
+			} else if ("--out".equals(args[i])) {
+				out = args[i + 1];
+			} else {
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+
+		BenchmarkRunner runner = new BenchmarkRunner(new File(out));
+		for (String size : sizes.split(",")) {
+			int listenerCount = Integer.parseInt(size.trim());
+			runner.run(new ArrayListNotifyBenchmark(listenerCount), WARMUPS, ITERATIONS);
+			runner.run(new CopyOnWriteNotifyBenchmark(listenerCount), WARMUPS, ITERATIONS);
+		}
+		runner.writeResults();
+		System.out.println("Results written to " + new File(out).getAbsolutePath());
+	}
+
+	private static class CountingListener implements Listener {
+		private long count;
+
+		@Override
+		public void handle() {
+			count++;
+		}
+	}
+
+	private static class ArrayListNotifyBenchmark extends Benchmark {
+		private final ArrayListListenerManager listenerManager = new ArrayListListenerManager();
+
+		private ArrayListNotifyBenchmark(int size) {
+			super("listeners", ARRAY_LIST, size);
+		}
+
+		@Override
+		public void setUp() {
+			for (int i = 0; i < getSize(); i++) {
+				listenerManager.addListener(new CountingListener());
+			}
+		}
+
+		@Override
+		public void run() {
+			for (int i = 0; i < NOTIFICATIONS; i++) {
+				listenerManager.notifyListeners();
+			}
+		}
+	}
+
+	private static class CopyOnWriteNotifyBenchmark extends Benchmark {
+		private final ListenerManager listenerManager = new ListenerManager();
+
+		private CopyOnWriteNotifyBenchmark(int size) {
+			super("listeners", COPY_ON_WRITE, size);
+		}
+
+		@Override
+		public void setUp() {
+			for (int i = 0; i < getSize(); i++) {
+				listenerManager.addListener(new CountingListener());
+			}
+		}
+
+		@Override
+		public void run() {
+			for (int i = 0; i < NOTIFICATIONS; i++) {
+				listenerManager.notifyListeners();
+			}
+		}
+	}
+
+	private static class ArrayListListenerManager {
+		private final List<Listener> listeners = new ArrayList<Listener>();
+
+		private void addListener(Listener listener) {
+			if (!listeners.contains(listener)) {
+				listeners.add(listener);
+			}
+		}
+
+		private void notifyListeners() {
+			for (Listener listener : listeners) {
+				listener.handle();
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package net.todd.scorekeeper.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.todd.scorekeeper.Logger;
+import net.todd.scorekeeper.Persistor;
+import net.todd.scorekeeper.TempDirectoryContext;
+import net.todd.scorekeeper.data.Game;
+
+public class PersistenceBenchmark {
+	private static final long SEED = 20100101L;
+	private static final int PLAYER_COUNT = 12;
+	private static final int MAX_ITERATIONS = 30;
+	private static final int MIN_ITERATIONS = 3;
+	private static final int OPERATIONS_PER_SIZE = 30000;
+
+	private static final String LOAD = "load";
+	private static final String PERSIST = "persist";
+	private static final String ADD_ONE = "add-one";
+	private static final String DELETE_ONE = "delete-one";
+
+	public static void main(String[] args) throws Exception {
+		String sizes = "10,1000,10000,100000";
+		String formats = "xml,serialized,binary,journal";
+		String out = "benchmark-results.csv";
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if ("--sizes".equals(args[i])) {
+				sizes = args[i + 1];
+			} else if ("--formats".equals(args[i])) {
+				formats = args[i + 1];
+			} else if ("--out".equals(args[i])) {
+				out = args[i + 1];
+			} else {
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+
+		Logger.setTestMode(true);
+		BenchmarkRunner runner = new BenchmarkRunner(new File(out));
+		for (String size : sizes.split(",")) {
+			int gameCount = Integer.parseInt(size.trim());
+			int iterations = Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS,
+					OPERATIONS_PER_SIZE / gameCount));
+			int warmups = Math.max(1, iterations / 3);
+			for (String format : formats.split(",")) {
+				PersistenceFormat persistenceFormat = PersistenceFormat.byName(format.trim());
+				for (String operation : new String[] { LOAD, PERSIST, ADD_ONE, DELETE_ONE }) {
+					runner.run(new PersistorBenchmark(persistenceFormat, operation, gameCount),
+							warmups, iterations);
+				}
+			}
+		}
+		runner.writeResults();
+		System.out.println("Results written to " + new File(out).getAbsolutePath());
+	}
+
+	private static class PersistorBenchmark extends Benchmark {
+		private final PersistenceFormat format;
+		private TempDirectoryContext context;
+		private GameGenerator generator;
+		private List<Game> games;
+		private Persistor<Game> persistor;
+		private Game removedGame;
+		private long fileBytes;
+
+		private PersistorBenchmark(PersistenceFormat format, String operation, int size) {
+			super(format.getText(), operation, size);
+			this.format = format;
+		}
+
+		@Override
+		public long getFileBytes() {
+			return fileBytes;
+		}
+
+		@Override
+		public void setUp() throws Exception {
+			context = new TempDirectoryContext();
+			generator = new GameGenerator(SEED, PLAYER_COUNT);
+			games = generator.generate(getSize());
+			persistor = format.create(context.getContext());
+			persistor.persist(new ArrayList<Game>(games));
+			fileBytes = context.getTotalFileSize();
+			if (PERSIST.equals(getOperation())) {
+				reset();
+			}
+		}
+
+		@Override
+		public void run() throws Exception {
+			if (LOAD.equals(getOperation())) {
+				format.create(context.getContext()).load();
+			} else if (PERSIST.equals(getOperation())) {
+				format.create(context.getContext()).persist(games);
+			} else if (ADD_ONE.equals(getOperation())) {
+				List<Game> loadedGames = persistor.load();
+				loadedGames.add(generator.next());
+				persistor.persist(loadedGames);
+			} else if (DELETE_ONE.equals(getOperation())) {
+				List<Game> loadedGames = persistor.load();
+				removedGame = loadedGames.remove(loadedGames.size() / 2);
+				persistor.persist(loadedGames);
+			}
+		}
+
+		@Override
+		public void reset() throws Exception {
+			if (PERSIST.equals(getOperation())) {
+				context.clear();
+			} else if (ADD_ONE.equals(getOperation())) {
+				List<Game> loadedGames = persistor.load();
+				loadedGames.remove(loadedGames.size() - 1);
+				persistor.persist(loadedGames);
+			} else if (DELETE_ONE.equals(getOperation())) {
+				List<Game> loadedGames = persistor.load();
+				loadedGames.add(loadedGames.size() / 2, removedGame);
+				persistor.persist(loadedGames);
+			}
+		}
+
+		@Override
+		public void tearDown() throws Exception {
+			context.delete();
+		}
+	}
+}
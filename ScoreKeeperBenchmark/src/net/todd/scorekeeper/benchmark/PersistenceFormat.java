@@ -0,0 +1,57 @@
+package net.todd.scorekeeper.benchmark;
+
+import net.todd.scorekeeper.Persistor;
+import net.todd.scorekeeper.data.BinaryPersistor;
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.JournalPersistor;
+import net.todd.scorekeeper.data.XmlPersistor;
+import android.content.Context;
+
+public enum PersistenceFormat {
+	XML("xml") {
+		@Override
+		public Persistor<Game> create(Context context) {
+			return XmlPersistor.create(Game.class, context);
+		}
+	},
+	SERIALIZED("serialized") {
+		@Override
+		@SuppressWarnings("deprecation")
+		public Persistor<Game> create(Context context) {
+			return net.todd.scorekeeper.ObjectSerializerPersistor.create(Game.class, context);
+		}
+	},
+	BINARY("binary") {
+		@Override
+		public Persistor<Game> create(Context context) {
+			return BinaryPersistor.create(Game.class, context);
+		}
+	},
+	JOURNAL("journal") {
+		@Override
+		public Persistor<Game> create(Context context) {
+			return JournalPersistor.create(Game.class, context);
+		}
+	};
+
+	private final String text;
+
+	private PersistenceFormat(String text) {
+		this.text = text;
+	}
+
+	public abstract Persistor<Game> create(Context context);
+
+	public String getText() {
+		return text;
+	}
+
+	public static PersistenceFormat byName(String name) {
+		for (PersistenceFormat format : values()) {
+			if (format.text.equals(name)) {
+				return format;
+			}
+		}
+		throw new IllegalArgumentException("Unknown format " + name);
+	}
+}
@@ -0,0 +1,67 @@
+package net.todd.scorekeeper.benchmark;
+
+import java.io.File;
+import java.util.List;
+
+import net.todd.scorekeeper.Logger;
+import net.todd.scorekeeper.RatingEngine;
+import net.todd.scorekeeper.TempDirectoryContext;
+import net.todd.scorekeeper.data.Game;
+
+public class RatingBenchmark {
+	private static final long SEED = 20100101L;
+	private static final int PLAYER_COUNT = 200;
+	private static final int ITERATIONS = 10;
+	private static final int WARMUPS = 3;
+
+	private static final String REPLAY = "replay";
+
+	public static void main(String[] args) throws Exception {
+		String sizes = "1000,10000,50000";
+		String out = "benchmark-results.csv";
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if ("--sizes".equals(args[i])) {
+				sizes = args[i + 1];
+			} else if ("--out".equals(args[i])) {
+				out = args[i + 1];
+			} else {
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+
+		Logger.setTestMode(true);
+		BenchmarkRunner runner = new BenchmarkRunner(new File(out));
+		for (String size : sizes.split(",")) {
+			runner.run(new ReplayBenchmark(Integer.parseInt(size.trim())), WARMUPS, ITERATIONS);
+		}
+		runner.writeResults();
+		System.out.println("Results written to " + new File(out).getAbsolutePath());
+	}
+
+	private static class ReplayBenchmark extends Benchmark {
+		private TempDirectoryContext context;
+		private List<Game> games;
+		private RatingEngine ratingEngine;
+
+		private ReplayBenchmark(int size) {
+			super("ratings", REPLAY, size);
+		}
+
+		@Override
+		public void setUp() throws Exception {
+			context = new TempDirectoryContext();
+			games = new GameGenerator(SEED, PLAYER_COUNT).generate(getSize());
+			ratingEngine = new RatingEngine(context.getContext());
+		}
+
+		@Override
+		public void run() throws Exception {
+			ratingEngine.rebuild(games);
+		}
+
+		@Override
+		public void tearDown() throws Exception {
+			context.delete();
+		}
+	}
+}
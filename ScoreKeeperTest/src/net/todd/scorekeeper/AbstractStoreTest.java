@@ -1,24 +1,16 @@
 package net.todd.scorekeeper;
 
-import static org.mockito.Matchers.*;
-import static org.mockito.Mockito.*;
-
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
-import org.mockito.invocation.InvocationOnMock;
-import org.mockito.stubbing.Answer;
 
 import android.content.Context;
 
 public abstract class AbstractStoreTest {
-	private File tempFile;
-	private Context context;
+	private TempDirectoryContext tempDirectoryContext;
 
 	@BeforeClass
 	public static void setUpLogger() {
@@ -32,33 +24,19 @@ public abstract class AbstractStoreTest {
 
 	@Before
 	public void setUpContextAndTempFile() throws Exception {
-		tempFile = File.createTempFile(getClass().getName(), ".data");
-
-		context = mock(Context.class);
-
-		when(context.openFileInput(anyString())).thenAnswer(new Answer<FileInputStream>() {
-			@Override
-			public FileInputStream answer(InvocationOnMock invocation) throws Throwable {
-				return new FileInputStream(tempFile);
-			}
-		});
-
-		when(context.openFileOutput(anyString(), anyInt())).thenAnswer(
-				new Answer<FileOutputStream>() {
-					@Override
-					public FileOutputStream answer(InvocationOnMock invocation) throws Throwable {
-						return new FileOutputStream(tempFile);
-					}
-				});
-
+		tempDirectoryContext = new TempDirectoryContext();
 	}
 
 	@After
 	public void tearDown() throws Exception {
-		tempFile.delete();
+		tempDirectoryContext.delete();
 	}
 
 	protected Context getContext() {
-		return context;
+		return tempDirectoryContext.getContext();
+	}
+
+	protected File getFile(Object filename) {
+		return tempDirectoryContext.getFile(filename);
 	}
 }
@@ -158,9 +158,7 @@ public class AddPlayersToGameModelTest {
 	public void playersThatHaveAScoreBoardEntryAreAlreadySelected() {
 		currentGame = new CurrentGame();
 		ScoreBoard scoreBoard = new ScoreBoard();
-		ScoreBoardEntry scoreBoardEntry = new ScoreBoardEntry();
-		scoreBoardEntry.setPlayer(player2);
-		scoreBoard.getEntries().add(scoreBoardEntry);
+		scoreBoard.setPlayers(Arrays.asList(player2));
 		currentGame.setScoreBoard(scoreBoard);
 		doReturn(currentGame).when(pageNavigator).getExtra("currentGame");
 
@@ -0,0 +1,149 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import net.todd.scorekeeper.ColumnarHistory.Totals;
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ColumnarHistoryTest {
+	private Player player1;
+	private Player player2;
+	private Player player3;
+	private ColumnarHistory testObject;
+
+	@Before
+	public void setUp() {
+		player1 = createPlayer("1");
+		player2 = createPlayer("2");
+		player3 = createPlayer("3");
+		testObject = ColumnarHistory.build(Persistor.iteratorOver(Arrays.asList(createGame(100,
+				"Hearts", Scoring.HIGH, player1, 30, player2, 10), createGame(200, "Spades",
+				Scoring.LOW, player1, 30, player3, 10), createGame(300, "Hearts", Scoring.HIGH,
+				player1, 5, player2, 5, player3, 40))));
+	}
+
+	@Test
+	public void gamesCanBeCountedByTimeRangeNameAndPlayer() {
+		assertEquals(3, testObject.getGameCount());
+		assertEquals(3, testObject.countGames(Long.MIN_VALUE, Long.MAX_VALUE, ColumnarHistory.ANY,
+				ColumnarHistory.ANY));
+		assertEquals(2, testObject.countGames(150, Long.MAX_VALUE, ColumnarHistory.ANY,
+				ColumnarHistory.ANY));
+		assertEquals(1, testObject.countGames(100, 300, testObject.getGameNameId("Hearts"),
+				ColumnarHistory.ANY));
+		assertEquals(2, testObject.countGames(Long.MIN_VALUE, Long.MAX_VALUE,
+				ColumnarHistory.ANY, testObject.getPlayerIndex("2")));
+	}
+
+	@Test
+	public void totalsForAPlayerFollowTheRankingOfEachGame() {
+		Totals totals = testObject.totalsFor(testObject.getPlayerIndex("1"), Long.MIN_VALUE,
+				Long.MAX_VALUE, ColumnarHistory.ANY);
+
+		assertEquals(3, totals.getGames());
+		assertEquals(1, totals.getWins());
+		assertEquals(65, totals.getTotalScore());
+		assertEquals(30, totals.getBestScore());
+	}
+
+	@Test
+	public void bestScoresOfLowScoringGamesAreTheLowestScores() {
+		Totals totals = testObject.totalsFor(testObject.getPlayerIndex("3"), Long.MIN_VALUE,
+				Long.MAX_VALUE, testObject.getGameNameId("Spades"));
+
+		assertEquals(10, totals.getBestScore());
+		testObject.append(createGame(400, "Spades", Scoring.LOW, player3, 4, player1, 9));
+		assertEquals(4, testObject.totalsFor(testObject.getPlayerIndex("3"), Long.MIN_VALUE,
+				Long.MAX_VALUE, testObject.getGameNameId("Spades")).getBestScore());
+		assertEquals(9, testObject.totalsByPlayer(Long.MIN_VALUE, Long.MAX_VALUE,
+				testObject.getGameNameId("Spades")).get("1").getBestScore());
+	}
+
+	@Test
+	public void totalsByPlayerCoverEveryPlayerInTheFilteredGames() {
+		Map<String, Totals> totals = testObject.totalsByPlayer(Long.MIN_VALUE, Long.MAX_VALUE,
+				testObject.getGameNameId("Hearts"));
+
+		assertEquals(3, totals.size());
+		assertEquals(2, totals.get("2").getGames());
+		assertEquals(0, totals.get("2").getWins());
+		assertEquals(1, totals.get("1").getWins());
+		assertEquals(1, totals.get("3").getWins());
+		assertEquals(7.5, totals.get("2").getAverageScore(), 0.0);
+	}
+
+	@Test
+	public void unknownNamesAndPlayersMatchNothing() {
+		assertEquals(0, testObject.countGames(Long.MIN_VALUE, Long.MAX_VALUE, testObject
+				.getGameNameId("Rummy"), ColumnarHistory.ANY));
+		assertEquals(0, testObject.totalsFor(testObject.getPlayerIndex("4"), Long.MIN_VALUE,
+				Long.MAX_VALUE, ColumnarHistory.ANY).getGames());
+	}
+
+	@Test
+	public void appendedGamesAreIncludedInLaterScans() {
+		testObject.append(createGame(400, "Rummy", Scoring.HIGH, player2, 50, player3, 1));
+
+		assertEquals(4, testObject.getGameCount());
+		assertEquals(1, testObject.countGames(Long.MIN_VALUE, Long.MAX_VALUE, testObject
+				.getGameNameId("Rummy"), ColumnarHistory.ANY));
+		assertEquals(50, testObject.totalsFor(testObject.getPlayerIndex("2"), Long.MIN_VALUE,
+				Long.MAX_VALUE, ColumnarHistory.ANY).getBestScore());
+	}
+
+	@Test
+	public void gamesOutOfTimeOrderAreStillFiltered() {
+		testObject.append(createGame(50, "Rummy", Scoring.HIGH, player2, 50));
+
+		assertEquals(2, testObject.countGames(0, 150, ColumnarHistory.ANY, ColumnarHistory.ANY));
+	}
+
+	@Test
+	public void columnsGrowPastTheirInitialCapacity() {
+		ColumnarHistory history = new ColumnarHistory();
+		for (int i = 0; i < 500; i++) {
+			history.append(createGame(i, "Hearts", Scoring.HIGH, player1, i, player2, 0, player3,
+					1));
+		}
+
+		assertEquals(500, history.getGameCount());
+		assertEquals(499, history.totalsFor(history.getPlayerIndex("1"), Long.MIN_VALUE,
+				Long.MAX_VALUE, ColumnarHistory.ANY).getBestScore());
+	}
+
+	private Game createGame(long timestamp, String gameName, Scoring scoring,
+			Object... playersAndScores) {
+		List<Player> players = new ArrayList<Player>();
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			players.add((Player) playersAndScores[i]);
+		}
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setScoring(scoring);
+		scoreBoard.setPlayers(players);
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			scoreBoard.setScore((Player) playersAndScores[i], (Integer) playersAndScores[i + 1]);
+		}
+		Game game = new Game();
+		game.setGameOverTimestamp(new Date(timestamp));
+		game.setGameName(gameName);
+		game.setScoreBoard(scoreBoard);
+		return game;
+	}
+
+	private Player createPlayer(String id) {
+		Player player = new Player();
+		player.setId(id);
+		return player;
+	}
+}
@@ -0,0 +1,208 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.TurnEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class CurrentGameAutosaverTest {
+	@Mock
+	private CurrentGameStore currentGameStore;
+	@Mock
+	private TurnLog turnLog;
+
+	private ExecutorService writer;
+	private Player player1;
+	private Player player2;
+	private ScoreBoard scoreBoard;
+
+	private CurrentGameAutosaver testObject;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+
+		writer = Executors.newSingleThreadExecutor();
+		player1 = createPlayer();
+		player2 = createPlayer();
+		scoreBoard = new ScoreBoard();
+		scoreBoard.setPlayers(Arrays.asList(player1, player2));
+
+		testObject = new CurrentGameAutosaver(currentGameStore, turnLog, writer);
+	}
+
+	@After
+	public void tearDown() {
+		writer.shutdownNow();
+	}
+
+	@Test
+	public void savedStateIsWrittenOnceFlushed() {
+		testObject.save("Hearts", scoreBoard, player2, 1);
+		testObject.flush();
+
+		ArgumentCaptor<ScoreBoard> scoreBoardCaptor = ArgumentCaptor.forClass(ScoreBoard.class);
+		verify(currentGameStore).saveState(eq("Hearts"), scoreBoardCaptor.capture(), eq(player2),
+				eq(1));
+		assertEquals(2, scoreBoardCaptor.getValue().getEntries().size());
+		assertEquals(0, testObject.getQueueDepth());
+		assertEquals(1, testObject.getWriteCount());
+	}
+
+	@Test
+	public void theScoreBoardIsSnapshottedWhenSaveIsCalled() throws Exception {
+		CountDownLatch writeStarted = new CountDownLatch(1);
+		CountDownLatch releaseWrite = new CountDownLatch(1);
+		blockWrites(writeStarted, releaseWrite);
+
+		scoreBoard.setScore(player1, 5);
+		testObject.save("Hearts", scoreBoard, player1, 1);
+		scoreBoard.setScore(player1, 50);
+		releaseWrite.countDown();
+		testObject.flush();
+
+		ArgumentCaptor<ScoreBoard> scoreBoardCaptor = ArgumentCaptor.forClass(ScoreBoard.class);
+		verify(currentGameStore).saveState(eq("Hearts"), scoreBoardCaptor.capture(), eq(player1),
+				eq(1));
+		assertEquals(5, scoreBoardCaptor.getValue().getScore(player1));
+	}
+
+	@Test
+	public void savesMadeWhileTheWriterIsBusyAreCoalescedIntoOneWrite() throws Exception {
+		CountDownLatch writeStarted = new CountDownLatch(1);
+		CountDownLatch releaseWrite = new CountDownLatch(1);
+		blockWrites(writeStarted, releaseWrite);
+
+		testObject.save("Hearts", scoreBoard, player1, 1);
+		writeStarted.await();
+		testObject.save("Hearts", scoreBoard, player2, 1);
+		testObject.save("Hearts", scoreBoard, player1, 1);
+		testObject.save("Hearts", scoreBoard, player2, 1);
+		assertEquals(3, testObject.getQueueDepth());
+
+		releaseWrite.countDown();
+		testObject.flush();
+
+		InOrder inOrder = inOrder(currentGameStore);
+		inOrder.verify(currentGameStore).saveState(eq("Hearts"), any(ScoreBoard.class),
+				eq(player1), eq(1));
+		inOrder.verify(currentGameStore).saveState(eq("Hearts"), any(ScoreBoard.class),
+				eq(player2), eq(1));
+		verify(currentGameStore, times(2)).saveState(anyString(), any(ScoreBoard.class),
+				any(Player.class), anyInt());
+		assertEquals(0, testObject.getQueueDepth());
+		assertEquals(2, testObject.getWriteCount());
+		assertTrue(testObject.getLastFlushLatencyMillis() >= 0);
+	}
+
+	@Test
+	public void clearingAfterSavingLeavesTheStateCleared() {
+		testObject.save("Hearts", scoreBoard, player1, 1);
+		testObject.clear();
+		testObject.flush();
+
+		verify(currentGameStore, atMost(1)).saveState(anyString(), any(ScoreBoard.class),
+				any(Player.class), anyInt());
+		verify(currentGameStore).clearState();
+		verify(turnLog).clear();
+	}
+
+	@Test
+	public void turnEventsAreAppendedBeforeTheSnapshotThatCoversThem() {
+		List<TurnEvent> turnEvents = Arrays.asList(new TurnEvent(TurnEvent.Type.SCORE_ADDED,
+				player1.getId(), 5));
+		testObject.appendTurnEvents(turnEvents);
+		testObject.save("Hearts", scoreBoard, player1, 1);
+		testObject.flush();
+
+		InOrder inOrder = inOrder(turnLog, currentGameStore);
+		inOrder.verify(turnLog).append(turnEvents);
+		inOrder.verify(currentGameStore).saveState(eq("Hearts"), any(ScoreBoard.class),
+				eq(player1), eq(1));
+	}
+
+	@Test
+	public void turnEventsQueuedWhileTheWriterIsBusyAreAllAppended() throws Exception {
+		CountDownLatch writeStarted = new CountDownLatch(1);
+		CountDownLatch releaseWrite = new CountDownLatch(1);
+		blockWrites(writeStarted, releaseWrite);
+
+		testObject.save("Hearts", scoreBoard, player1, 1);
+		writeStarted.await();
+		TurnEvent turnEvent1 = new TurnEvent(TurnEvent.Type.SCORE_ADDED, player1.getId(), 5);
+		TurnEvent turnEvent2 = new TurnEvent(TurnEvent.Type.PLAYER_ADVANCED, player2.getId(), 0);
+		testObject.appendTurnEvents(Arrays.asList(turnEvent1));
+		testObject.appendTurnEvents(Arrays.asList(turnEvent2));
+		releaseWrite.countDown();
+		testObject.flush();
+
+		verify(turnLog).append(Arrays.asList(turnEvent1, turnEvent2));
+	}
+
+	@Test
+	public void theFirstSnapshotOfAGameStartsANewTurnLog() {
+		testObject.save("Hearts", scoreBoard, player1, 0);
+		testObject.flush();
+
+		InOrder inOrder = inOrder(turnLog, currentGameStore);
+		inOrder.verify(turnLog).clear();
+		inOrder.verify(currentGameStore).saveState(eq("Hearts"), any(ScoreBoard.class),
+				eq(player1), eq(0));
+	}
+
+	@Test
+	public void flushingWithNothingPendingReturnsImmediately() {
+		testObject.flush();
+
+		verifyZeroInteractions(currentGameStore);
+	}
+
+	@Test
+	public void shuttingDownWritesPendingStateAndStopsTheWriter() {
+		testObject.save("Hearts", scoreBoard, player1, 1);
+
+		testObject.shutdown();
+
+		verify(currentGameStore).saveState(eq("Hearts"), any(ScoreBoard.class), eq(player1),
+				eq(1));
+		assertTrue(writer.isShutdown());
+	}
+
+	private void blockWrites(final CountDownLatch writeStarted, final CountDownLatch releaseWrite) {
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				writeStarted.countDown();
+				releaseWrite.await();
+				return null;
+			}
+		}).when(currentGameStore).saveState(anyString(), any(ScoreBoard.class),
+				any(Player.class), anyInt());
+	}
+
+	private Player createPlayer() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		player.setName(UUID.randomUUID().toString());
+		return player;
+	}
+}
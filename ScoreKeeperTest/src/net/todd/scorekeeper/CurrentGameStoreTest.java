@@ -42,7 +42,8 @@ public class CurrentGameStoreTest extends AbstractStoreTest {
 		scoreBoard.setScore(player1, 56);
 		scoreBoard.setScore(player2, 34);
 		scoreBoard.setScore(player3, 12);
-		new CurrentGameStore(getContext()).saveState(expectedGameName, scoreBoard, player2);
+		new CurrentGameStore(getContext()).saveState(expectedGameName, scoreBoard, player2,
+				7);
 
 		CurrentGame currentGame = new CurrentGameStore(getContext()).getCurrentGame();
 		String actualGameName = currentGame.getGameName();
@@ -61,6 +62,7 @@ public class CurrentGameStoreTest extends AbstractStoreTest {
 		assertEquals(12, actualEntries.get(2).getScore());
 		assertEquals("2", currentGame.getCurrentPlayer().getId());
 		assertEquals("abbi", currentGame.getCurrentPlayer().getName());
+		assertEquals(7, currentGame.getTurnCount());
 	}
 
 	@Test
@@ -81,7 +83,7 @@ public class CurrentGameStoreTest extends AbstractStoreTest {
 		scoreBoard.setPlayers(players);
 		scoreBoard.setScore(player1, 12);
 		scoreBoard.setScore(player2, 34);
-		new CurrentGameStore(getContext()).saveState(gameName, scoreBoard, player2);
+		new CurrentGameStore(getContext()).saveState(gameName, scoreBoard, player2, 0);
 
 		new CurrentGameStore(getContext()).clearState();
 
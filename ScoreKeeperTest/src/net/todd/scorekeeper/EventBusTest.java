@@ -0,0 +1,142 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventBusTest {
+	private EventBus testObject;
+
+	@Before
+	public void setUp() {
+		testObject = new EventBus();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void publishedEventsAreHandedToListenersOfThatType() {
+		EventListener<HistoryClearedEvent> listener = mock(EventListener.class);
+		testObject.subscribe(HistoryClearedEvent.class, listener);
+		HistoryClearedEvent event = new HistoryClearedEvent();
+
+		testObject.publish(event);
+
+		verify(listener).handle(event);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void listenersOfOtherTypesAreNotNotified() {
+		EventListener<GameRemovedEvent> listener = mock(EventListener.class);
+		testObject.subscribe(GameRemovedEvent.class, listener);
+
+		testObject.publish(new HistoryClearedEvent());
+
+		verifyZeroInteractions(listener);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void listenersOfASuperTypeReceiveEventsOfItsSubtypes() {
+		EventListener<Object> listener = mock(EventListener.class);
+		testObject.subscribe(Object.class, listener);
+		HistoryClearedEvent event = new HistoryClearedEvent();
+
+		testObject.publish(event);
+
+		verify(listener).handle(event);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void subscribingTheSameListenerTwiceOnlyNotifiesItOnce() {
+		EventListener<HistoryClearedEvent> listener = mock(EventListener.class);
+		testObject.subscribe(HistoryClearedEvent.class, listener);
+		testObject.subscribe(HistoryClearedEvent.class, listener);
+		HistoryClearedEvent event = new HistoryClearedEvent();
+
+		testObject.publish(event);
+
+		verify(listener, times(1)).handle(event);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void unsubscribedListenersAreNotNotified() {
+		EventListener<HistoryClearedEvent> listener = mock(EventListener.class);
+		testObject.subscribe(HistoryClearedEvent.class, listener);
+		testObject.unsubscribe(HistoryClearedEvent.class, listener);
+
+		testObject.publish(new HistoryClearedEvent());
+
+		verifyZeroInteractions(listener);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void aListenerSubscribedDuringPublishingIsNotifiedFromTheNextEvent() {
+		final EventListener<HistoryClearedEvent> listener = mock(EventListener.class);
+		testObject.subscribe(HistoryClearedEvent.class,
+				new EventListener<HistoryClearedEvent>() {
+					@Override
+					public void handle(HistoryClearedEvent event) {
+						testObject.subscribe(HistoryClearedEvent.class, listener);
+					}
+				});
+		HistoryClearedEvent event = new HistoryClearedEvent();
+
+		testObject.publish(event);
+		verifyZeroInteractions(listener);
+
+		testObject.publish(event);
+		verify(listener).handle(event);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void aListenerCanUnsubscribeItselfDuringPublishing() {
+		final EventListener<HistoryClearedEvent> listener = mock(EventListener.class);
+		testObject.subscribe(HistoryClearedEvent.class,
+				new EventListener<HistoryClearedEvent>() {
+					@Override
+					public void handle(HistoryClearedEvent event) {
+						testObject.unsubscribe(HistoryClearedEvent.class, this);
+					}
+				});
+		testObject.subscribe(HistoryClearedEvent.class, listener);
+		HistoryClearedEvent event = new HistoryClearedEvent();
+
+		testObject.publish(event);
+		testObject.publish(event);
+
+		verify(listener, times(2)).handle(event);
+	}
+
+	@Test
+	public void handlingTimesAreRecordedPerListenerAndEventTypeWhenTimingsAreEnabled() {
+		ListenerTimings.reset();
+		ListenerTimings.setEnabled(true);
+		try {
+			testObject.subscribe(HistoryClearedEvent.class,
+					new EventListener<HistoryClearedEvent>() {
+						@Override
+						public void handle(HistoryClearedEvent event) {
+						}
+					});
+
+			testObject.publish(new HistoryClearedEvent());
+
+			List<ListenerTimings.Timing> timings = ListenerTimings.dump();
+			assertEquals(1, timings.size());
+			assertEquals("EventBusTest HistoryClearedEvent", timings.get(0).getLabel());
+			assertEquals(1, timings.get(0).getCallCount());
+		} finally {
+			ListenerTimings.setEnabled(false);
+			ListenerTimings.reset();
+		}
+	}
+}
@@ -4,8 +4,10 @@ import static org.junit.Assert.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
@@ -13,6 +15,7 @@ import net.todd.scorekeeper.data.CurrentGame;
 import net.todd.scorekeeper.data.Game;
 import net.todd.scorekeeper.data.Player;
 import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.TurnEvent;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -20,6 +23,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 public class GameModelTest {
 	@Mock
@@ -188,6 +193,67 @@ public class GameModelTest {
 		verify(listener).handle();
 	}
 
+	@Test
+	public void listenersNotifiedSeveralTimesInABatchAreNotifiedOnceWhenItEnds() {
+		Listener listener = mock(Listener.class);
+		testObject.addScoreChangedListener(listener);
+		testObject.addPlayerChangedListener(listener);
+
+		testObject.beginBatch();
+		testObject.setScoreForCurrentPlayer(5);
+		testObject.nextPlayer();
+		verifyZeroInteractions(listener);
+		testObject.endBatch();
+
+		verify(listener, times(1)).handle();
+		assertEquals(1, testObject.getCoalescedNotificationCount());
+	}
+
+	@Test
+	public void scoreChangedEventCarriesThePlayersPreviousAndNewScoreAndRank() {
+		testObject.setScoreForCurrentPlayer(4);
+		final List<ScoreChangedEvent> events = new ArrayList<ScoreChangedEvent>();
+		testObject.getEventBus().subscribe(ScoreChangedEvent.class,
+				new EventListener<ScoreChangedEvent>() {
+					@Override
+					public void handle(ScoreChangedEvent event) {
+						events.add(event);
+					}
+				});
+
+		testObject.setScoreForCurrentPlayer(6);
+
+		assertEquals(1, events.size());
+		assertSame(player2, events.get(0).getPlayer());
+		assertEquals(4, events.get(0).getPreviousScore());
+		assertEquals(10, events.get(0).getScore());
+		assertEquals(0, events.get(0).getRank());
+	}
+
+	@Test
+	public void currentPlayerChangedEventCarriesBothPlayersAndTheNewPlayersScore() {
+		testObject.nextPlayer();
+		testObject.setScoreForCurrentPlayer(7);
+		final List<CurrentPlayerChangedEvent> events = new ArrayList<CurrentPlayerChangedEvent>();
+		testObject.getEventBus().subscribe(CurrentPlayerChangedEvent.class,
+				new EventListener<CurrentPlayerChangedEvent>() {
+					@Override
+					public void handle(CurrentPlayerChangedEvent event) {
+						events.add(event);
+					}
+				});
+
+		testObject.previousPlayer();
+		testObject.nextPlayer();
+
+		assertEquals(2, events.size());
+		assertSame(player3, events.get(0).getPreviousPlayer());
+		assertSame(player2, events.get(0).getPlayer());
+		assertEquals(0, events.get(0).getScore());
+		assertSame(player3, events.get(1).getPlayer());
+		assertEquals(7, events.get(1).getScore());
+	}
+
 	@Test
 	public void whenGameIsOverSaveGameThenFinishActivity() {
 		testObject.gameOver();
@@ -270,4 +336,48 @@ public class GameModelTest {
 	public void gameNameIsPulledFromCurrentGameGivenInExtras() {
 		assertEquals(currentGame.getGameName(), testObject.getGameName());
 	}
+
+	@Test
+	public void turnsAreRecordedAsTurnEventsUntilDrained() {
+		doReturn("2").when(player2).getId();
+		doReturn("3").when(player3).getId();
+
+		testObject.setScoreForCurrentPlayer(15);
+		testObject.nextPlayer();
+		testObject.previousPlayer();
+
+		List<TurnEvent> turnEvents = testObject.drainTurnEvents();
+		assertEquals(3, turnEvents.size());
+		assertEquals(TurnEvent.Type.SCORE_ADDED, turnEvents.get(0).getType());
+		assertEquals("2", turnEvents.get(0).getPlayerId());
+		assertEquals(15, turnEvents.get(0).getPoints());
+		assertEquals(TurnEvent.Type.PLAYER_ADVANCED, turnEvents.get(1).getType());
+		assertEquals("3", turnEvents.get(1).getPlayerId());
+		assertEquals(TurnEvent.Type.PLAYER_MOVED_BACK, turnEvents.get(2).getType());
+		assertEquals("2", turnEvents.get(2).getPlayerId());
+		assertTrue(testObject.drainTurnEvents().isEmpty());
+	}
+
+	@Test
+	public void turnCountContinuesFromTheCurrentGame() {
+		currentGame.setTurnCount(12);
+		testObject = new GameModel(gameStore, pageNavigator);
+
+		testObject.nextPlayer();
+		testObject.setScoreForCurrentPlayer(3);
+
+		assertEquals(14, testObject.getTurnCount());
+	}
+
+	@Test
+	public void currentPlayerIsFoundByIdWhenTheGameIsRestored() {
+		Player restoredPlayer = new Player();
+		restoredPlayer.setId("3");
+		doReturn("3").when(player3).getId();
+		currentGame.setCurrentPlayer(restoredPlayer);
+
+		testObject = new GameModel(gameStore, pageNavigator);
+
+		assertSame(player3, testObject.getCurrentPlayer());
+	}
 }
@@ -1,5 +1,6 @@
 package net.todd.scorekeeper;
 
+import static org.junit.Assert.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
@@ -25,14 +26,15 @@ public class GamePresenterTest {
 	private Listener previousPlayerButtonListener;
 	private Listener backButtonListener;
 	private Listener cancelGameListener;
-	private Listener scoreChangedListener;
-	private Listener playerChangedListener;
+	private EventBus eventBus;
 	private Listener gameOverButtonListener;
 	private Listener gameOverConfirmationListener;
 
 	@Before
 	public void setUp() {
 		MockitoAnnotations.initMocks(this);
+		eventBus = new EventBus();
+		doReturn(eventBus).when(model).getEventBus();
 
 		GamePresenter.create(view, model);
 
@@ -54,16 +56,6 @@ public class GamePresenterTest {
 		verify(view).addCancelGameListener(cancelGameListenerCaptor.capture());
 		cancelGameListener = cancelGameListenerCaptor.getValue();
 
-		ArgumentCaptor<Listener> scoreChangedListenerCaptor = ArgumentCaptor
-				.forClass(Listener.class);
-		verify(model).addScoreChangedListener(scoreChangedListenerCaptor.capture());
-		scoreChangedListener = scoreChangedListenerCaptor.getValue();
-
-		ArgumentCaptor<Listener> playerChangedListenerCaptor = ArgumentCaptor
-				.forClass(Listener.class);
-		verify(model).addPlayerChangedListener(playerChangedListenerCaptor.capture());
-		playerChangedListener = playerChangedListenerCaptor.getValue();
-
 		ArgumentCaptor<Listener> gameOverButtonListenerCaptor = ArgumentCaptor
 				.forClass(Listener.class);
 		verify(view).addGameOverButtonListener(gameOverButtonListenerCaptor.capture());
@@ -75,6 +67,7 @@ public class GamePresenterTest {
 		gameOverConfirmationListener = gameOverConfirmationListenerCaptor.getValue();
 
 		reset(view, model);
+		doReturn(eventBus).when(model).getEventBus();
 	}
 
 	@Test
@@ -136,6 +129,30 @@ public class GamePresenterTest {
 		inOrder.verify(model).nextPlayer();
 	}
 
+	@Test
+	public void scoreAndPlayerChangesFromTheNextPlayerButtonAreBatched() {
+		nextPlayerButtonListener.handle();
+
+		InOrder inOrder = inOrder(model);
+		inOrder.verify(model).beginBatch();
+		inOrder.verify(model).setScoreForCurrentPlayer(anyInt());
+		inOrder.verify(model).nextPlayer();
+		inOrder.verify(model).endBatch();
+	}
+
+	@Test
+	public void theBatchIsEndedEvenIfAdvancingThePlayerFails() {
+		doThrow(new IllegalStateException()).when(model).nextPlayer();
+
+		try {
+			nextPlayerButtonListener.handle();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+
+		verify(model).endBatch();
+	}
+
 	@Test
 	public void clearScoreWhenPreviousPlayerButtonIsPressed() {
 		previousPlayerButtonListener.handle();
@@ -159,34 +176,35 @@ public class GamePresenterTest {
 
 	@Test
 	public void whenTheScoreChangesOnTheModelThenClearTheScore() {
-		scoreChangedListener.handle();
+		eventBus.publish(new ScoreChangedEvent(new Player(), 0, 5, 0));
 
 		verify(view).clearScore();
 	}
 
 	@Test
 	public void whenTheScoreChangesOnTheModelThenClosetheSoftKeyboard() {
-		scoreChangedListener.handle();
+		eventBus.publish(new ScoreChangedEvent(new Player(), 0, 5, 0));
 
 		verify(view).closeSoftKeyboard();
 	}
 
 	@Test
-	public void whenTheScoreChangesOnTheModelThenSetTheScoreBoard() {
-		ScoreBoard scoreBoard = mock(ScoreBoard.class);
-		doReturn(scoreBoard).when(model).getScoreBoard();
+	public void whenTheScoreChangesOnTheModelThenOnlyThatPlayersScoreIsUpdated() {
+		Player player = new Player();
+		reset(view);
 
-		scoreChangedListener.handle();
+		eventBus.publish(new ScoreChangedEvent(player, 10, 15, 2));
 
-		verify(view).setScoreBoard(scoreBoard);
+		verify(view).updateScore(player, 15, 2);
+		verify(view, never()).setScoreBoard(any(ScoreBoard.class));
+		verify(model, never()).getScoreBoard();
 	}
 
 	@Test
 	public void whenThePlayerChangesOnTheModelThenSetTheCurrentPlayerOnTheView() {
 		Player player = mock(Player.class);
-		doReturn(player).when(model).getCurrentPlayer();
 
-		playerChangedListener.handle();
+		eventBus.publish(new CurrentPlayerChangedEvent(null, player, 0));
 
 		verify(view).setCurrentPlayer(player);
 	}
@@ -194,11 +212,12 @@ public class GamePresenterTest {
 	@Test
 	public void whenThePlayerChangesOnTheModelThenSetTheCurrentScoreOnTheView() {
 		int score = new Random().nextInt();
-		doReturn(score).when(model).getCurrentPlayersScore();
+		reset(model);
 
-		playerChangedListener.handle();
+		eventBus.publish(new CurrentPlayerChangedEvent(null, mock(Player.class), score));
 
 		verify(view).setCurrentPlayersScore(score);
+		verifyZeroInteractions(model);
 	}
 
 	@Test
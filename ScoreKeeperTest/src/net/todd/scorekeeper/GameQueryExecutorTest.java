@@ -0,0 +1,133 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameQueryExecutorTest extends AbstractStoreTest {
+	private Player player1;
+	private Player player2;
+	private Player player3;
+	private GameStore gameStore;
+	private GameQueryExecutor testObject;
+
+	@Before
+	public void setUp() {
+		player1 = createPlayer("1");
+		player2 = createPlayer("2");
+		player3 = createPlayer("3");
+		gameStore = new GameStore(getContext());
+		gameStore.addGame(createGame(100, "Hearts", player1, 30, player2, 10));
+		gameStore.addGame(createGame(200, "Spades", player1, 5, player3, 10));
+		gameStore.addGame(createGame(300, "Hearts", player1, 5, player2, 5, player3, 40));
+		gameStore.addGame(createGame(400, "Rummy", player2, 50, player3, 1));
+		testObject = new GameQueryExecutor(new GameStore(getContext()));
+	}
+
+	@Test
+	public void queriesWithoutFiltersReturnEveryGameNewestFirst() {
+		assertEquals(Arrays.asList(400L, 300L, 200L, 100L), getTimestamps(testObject
+				.list(new GameQuery())));
+		assertEquals(4, testObject.count(new GameQuery()));
+	}
+
+	@Test
+	public void queriesWithoutFiltersCanBePagedOldestFirst() {
+		GameQuery query = new GameQuery().orderBy(GameQuery.Order.OLDEST_FIRST);
+
+		assertEquals(Arrays.asList(100L, 200L, 300L, 400L), getTimestamps(testObject.list(query)));
+		assertEquals(Arrays.asList(200L, 300L), getTimestamps(testObject.list(query.offset(1)
+				.limit(2))));
+	}
+
+	@Test
+	public void timeRangesCanBeOrderedAndPaged() {
+		GameQuery query = new GameQuery().between(new Date(150), new Date(400));
+
+		assertEquals(Arrays.asList(300L, 200L), getTimestamps(testObject.list(query)));
+		assertEquals(2, testObject.count(query));
+		assertEquals(Arrays.asList(300L), getTimestamps(testObject.list(query.orderBy(
+				GameQuery.Order.OLDEST_FIRST).offset(1).limit(5))));
+	}
+
+	@Test
+	public void gamesCanBeFilteredByNamePlayerAndWinner() {
+		assertEquals(Arrays.asList(300L, 100L), getTimestamps(testObject.list(new GameQuery()
+				.withGameName("Hearts"))));
+		assertEquals(Arrays.asList(400L, 300L, 100L), getTimestamps(testObject
+				.list(new GameQuery().withPlayer("2"))));
+		assertEquals(Arrays.asList(400L), getTimestamps(testObject.list(new GameQuery()
+				.wonBy("2").orderBy(GameQuery.Order.NEWEST_FIRST))));
+		assertEquals(2, testObject.count(new GameQuery().wonBy("3")));
+	}
+
+	@Test
+	public void filtersAreCombined() {
+		GameQuery query = new GameQuery().withGameName("Hearts").withPlayer("3").between(
+				new Date(0), new Date(1000)).withAtLeastPlayers(3);
+
+		assertEquals(Arrays.asList(300L), getTimestamps(testObject.list(query)));
+		assertEquals(0, testObject.count(new GameQuery().withGameName("Rummy").wonBy("3")));
+		assertEquals(Arrays.asList(300L), getTimestamps(testObject.list(new GameQuery()
+				.withAtLeastPlayers(3))));
+	}
+
+	@Test
+	public void unknownNamesAndPlayersMatchNothing() {
+		assertTrue(testObject.list(new GameQuery().withGameName("Canasta")).isEmpty());
+		assertEquals(0, testObject.count(new GameQuery().withPlayer("4")));
+	}
+
+	@Test
+	public void gamesRecordedOutOfOrderAreStillReturnedByTimestamp() {
+		gameStore.addGame(createGame(50, "Hearts", player1, 1, player2, 2));
+
+		assertEquals(Arrays.asList(300L, 100L, 50L), getTimestamps(testObject
+				.list(new GameQuery().withGameName("Hearts"))));
+		assertEquals(Arrays.asList(50L, 100L), getTimestamps(testObject.list(new GameQuery()
+				.withPlayer("1").orderBy(GameQuery.Order.OLDEST_FIRST).limit(2))));
+	}
+
+	private List<Long> getTimestamps(List<Game> games) {
+		List<Long> timestamps = new ArrayList<Long>();
+		for (Game game : games) {
+			timestamps.add(game.getGameOverTimestamp().getTime());
+		}
+		return timestamps;
+	}
+
+	private Game createGame(long timestamp, String gameName, Object... playersAndScores) {
+		List<Player> players = new ArrayList<Player>();
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			players.add((Player) playersAndScores[i]);
+		}
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setScoring(Scoring.HIGH);
+		scoreBoard.setPlayers(players);
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			scoreBoard.setScore((Player) playersAndScores[i], (Integer) playersAndScores[i + 1]);
+		}
+		Game game = new Game();
+		game.setGameOverTimestamp(new Date(timestamp));
+		game.setGameName(gameName);
+		game.setScoreBoard(scoreBoard);
+		return game;
+	}
+
+	private Player createPlayer(String id) {
+		Player player = new Player();
+		player.setId(id);
+		player.setName("Player " + id);
+		return player;
+	}
+}
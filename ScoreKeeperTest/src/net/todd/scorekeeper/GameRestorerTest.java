@@ -5,9 +5,14 @@ import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 
 import net.todd.scorekeeper.data.CurrentGame;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.TurnEvent;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -19,6 +24,8 @@ public class GameRestorerTest {
 	@Mock
 	private CurrentGameStore currentStateStore;
 	@Mock
+	private TurnLog turnLog;
+	@Mock
 	private PageNavigator pageNavigator;
 
 	private GameRestorer testObject;
@@ -27,7 +34,9 @@ public class GameRestorerTest {
 	public void setUp() {
 		MockitoAnnotations.initMocks(this);
 
-		testObject = new GameRestorer(currentStateStore, pageNavigator);
+		doReturn(new ArrayList<TurnEvent>()).when(turnLog).readFrom(anyInt());
+
+		testObject = new GameRestorer(currentStateStore, turnLog, pageNavigator);
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
@@ -54,4 +63,40 @@ public class GameRestorerTest {
 
 		verify(pageNavigator, never()).navigateToActivityAndFinish(eq(GameActivity.class), anyMap());
 	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void turnEventsLoggedAfterTheSnapshotAreReplayedOntoIt() {
+		Player player1 = createPlayer("1");
+		Player player2 = createPlayer("2");
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setPlayers(Arrays.asList(player1, player2));
+		scoreBoard.setScore(player1, 10);
+		CurrentGame currentGame = new CurrentGame();
+		currentGame.setScoreBoard(scoreBoard);
+		currentGame.setCurrentPlayer(player1);
+		currentGame.setTurnCount(6);
+		doReturn(currentGame).when(currentStateStore).getCurrentGame();
+		doReturn(Arrays.asList(new TurnEvent(TurnEvent.Type.SCORE_ADDED, "1", 5),
+				new TurnEvent(TurnEvent.Type.PLAYER_ADVANCED, "2", 0),
+				new TurnEvent(TurnEvent.Type.SCORE_ADDED, "2", 7))).when(turnLog).readFrom(6);
+
+		testObject.restoreGameInProgress();
+
+		ArgumentCaptor<Map> extrasCaptor = ArgumentCaptor.forClass(Map.class);
+		verify(pageNavigator).navigateToActivityAndFinish(eq(GameActivity.class),
+				extrasCaptor.capture());
+		CurrentGame restoredGame = (CurrentGame) extrasCaptor.getValue().get("currentGame");
+		assertEquals(15, restoredGame.getScoreBoard().getScore(player1));
+		assertEquals(7, restoredGame.getScoreBoard().getScore(player2));
+		assertSame(player2, restoredGame.getCurrentPlayer());
+		assertEquals(9, restoredGame.getTurnCount());
+	}
+
+	private Player createPlayer(String id) {
+		Player player = new Player();
+		player.setId(id);
+		player.setName("player " + id);
+		return player;
+	}
 }
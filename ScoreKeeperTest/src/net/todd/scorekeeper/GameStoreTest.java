@@ -1,20 +1,27 @@
 package net.todd.scorekeeper;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 
+import net.todd.scorekeeper.data.BinaryPersistor;
 import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.JournalPersistor;
 import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.PlayerStatistics;
 import net.todd.scorekeeper.data.ScoreBoard;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class GameStoreTest extends AbstractStoreTest {
 	@Test
@@ -135,4 +142,429 @@ public class GameStoreTest extends AbstractStoreTest {
 
 		assertTrue(testObject.getAllGames().isEmpty());
 	}
+
+	@Test
+	public void thereAreGamesOnceAGameHasBeenAdded() {
+		GameStore testObject = new GameStore(getContext());
+		assertFalse(testObject.hasGames());
+
+		Game game = new Game();
+		game.setGameOverTimestamp(new Date());
+		game.setScoreBoard(new ScoreBoard());
+		testObject.addGame(game);
+
+		assertTrue(new GameStore(getContext()).hasGames());
+	}
+
+	@Test
+	public void iteratingGamesYieldsAllGames() {
+		Calendar cal = Calendar.getInstance();
+		Game game1 = new Game();
+		game1.setGameOverTimestamp(cal.getTime());
+		game1.setScoreBoard(new ScoreBoard());
+		cal.add(Calendar.DATE, 1);
+		Game game2 = new Game();
+		game2.setGameOverTimestamp(cal.getTime());
+		game2.setScoreBoard(new ScoreBoard());
+		new GameStore(getContext()).addGame(game1);
+		new GameStore(getContext()).addGame(game2);
+
+		CloseableIterator<Game> iterator = new GameStore(getContext()).iterateGames();
+		assertEquals(game1.getGameOverTimestamp(), iterator.next().getGameOverTimestamp());
+		assertEquals(game2.getGameOverTimestamp(), iterator.next().getGameOverTimestamp());
+		assertFalse(iterator.hasNext());
+		iterator.close();
+	}
+
+	@Test
+	public void gamesArePagedNewestFirst() {
+		Calendar cal = Calendar.getInstance();
+		List<Date> dates = new ArrayList<Date>();
+		for (int i = 0; i < 5; i++) {
+			dates.add(cal.getTime());
+			cal.add(Calendar.DATE, i % 2 == 0 ? 3 : -1);
+		}
+		for (Date date : dates) {
+			Game game = new Game();
+			game.setGameOverTimestamp(date);
+			game.setScoreBoard(new ScoreBoard());
+			new GameStore(getContext()).addGame(game);
+		}
+		List<Date> newestFirst = new ArrayList<Date>(dates);
+		Collections.sort(newestFirst, Collections.reverseOrder());
+
+		GameStore testObject = new GameStore(getContext());
+		assertEquals(5, testObject.getGameCount());
+		assertEquals(newestFirst.subList(0, 2), getTimestamps(testObject.getGames(0, 2)));
+		assertEquals(newestFirst.subList(2, 4), getTimestamps(testObject.getGames(2, 2)));
+		assertEquals(newestFirst.subList(4, 5), getTimestamps(testObject.getGames(4, 2)));
+	}
+
+	@Test
+	public void deletedGamesAreNoLongerPaged() {
+		Calendar cal = Calendar.getInstance();
+		Game game1 = new Game();
+		game1.setGameOverTimestamp(cal.getTime());
+		game1.setScoreBoard(new ScoreBoard());
+		cal.add(Calendar.DATE, 1);
+		Game game2 = new Game();
+		game2.setGameOverTimestamp(cal.getTime());
+		game2.setScoreBoard(new ScoreBoard());
+		new GameStore(getContext()).addGame(game1);
+		new GameStore(getContext()).addGame(game2);
+
+		new GameStore(getContext()).deleteGame(game2);
+
+		GameStore testObject = new GameStore(getContext());
+		assertEquals(1, testObject.getGameCount());
+		assertEquals(Arrays.asList(game1.getGameOverTimestamp()), getTimestamps(testObject
+				.getGames(0, 10)));
+	}
+
+	@Test
+	public void playerStatisticsFollowAddedAndDeletedGames() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		Calendar cal = Calendar.getInstance();
+		Game game1 = createGame(cal.getTime(), player, 10);
+		cal.add(Calendar.DATE, 1);
+		Game game2 = createGame(cal.getTime(), player, 30);
+		new GameStore(getContext()).addGame(game1);
+		new GameStore(getContext()).addGame(game2);
+
+		assertEquals(2, new GameStore(getContext()).getPlayerStatistics(player.getId())
+				.getGamesPlayed());
+		assertEquals(30, new GameStore(getContext()).getPlayerStatistics(player.getId())
+				.getBestScore());
+
+		new GameStore(getContext()).deleteGame(game2);
+
+		assertEquals(1, new GameStore(getContext()).getPlayerStatistics(player.getId())
+				.getGamesPlayed());
+		assertEquals(10, new GameStore(getContext()).getPlayerStatistics(player.getId())
+				.getBestScore());
+
+		new GameStore(getContext()).clearAllGames();
+
+		assertTrue(new GameStore(getContext()).getPlayerStatistics().isEmpty());
+	}
+
+	@Test
+	public void missingPlayerStatisticsAreRebuiltFromTheHistory() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		new GameStore(getContext()).addGame(createGame(new Date(), player, 10));
+		new StatisticsStore(getContext()).clear();
+
+		assertEquals(1, new GameStore(getContext()).getPlayerStatistics(player.getId())
+				.getWins());
+	}
+
+	@Test
+	public void addingAGameWithoutStatisticsCountsTheExistingHistory() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		Calendar cal = Calendar.getInstance();
+		new GameStore(getContext()).addGame(createGame(cal.getTime(), player, 10));
+		DispatchLane.getDefault().flush();
+		getFile(BinaryPersistor.create(PlayerStatistics.class, getContext()).getDataFilename())
+				.delete();
+		cal.add(Calendar.DATE, 1);
+
+		new GameStore(getContext()).addGame(createGame(cal.getTime(), player, 30));
+
+		assertEquals(2, new GameStore(getContext()).getPlayerStatistics(player.getId())
+				.getGamesPlayed());
+	}
+
+	@Test
+	public void statisticsAndRatingsAreUpdatedOnTheHistoryLane() {
+		ExecutorService executor = mock(ExecutorService.class);
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		new StatisticsStore(getContext()).clear();
+		new GameStore(getContext(), new DispatchLane(executor)).addGame(createGame(new Date(),
+				player, 10));
+
+		assertNull(new StatisticsStore(getContext()).getStatistics(player.getId()));
+		assertEquals(0, new RatingEngine(getContext()).getGameCount());
+
+		ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+		verify(executor).execute(task.capture());
+		task.getValue().run();
+
+		assertEquals(1, new StatisticsStore(getContext()).getStatistics(player.getId())
+				.getGamesPlayed());
+		assertEquals(1, new RatingEngine(getContext()).getGameCount());
+	}
+
+	@Test
+	public void headToHeadIsReusedUntilTheHistoryChanges() {
+		Player player1 = new Player();
+		player1.setId(UUID.randomUUID().toString());
+		Player player2 = new Player();
+		player2.setId(UUID.randomUUID().toString());
+		Calendar cal = Calendar.getInstance();
+		Game game1 = createGame(cal.getTime(), player1, 10);
+		game1.getScoreBoard().setPlayers(Arrays.asList(player1, player2));
+		game1.getScoreBoard().setScore(player1, 10);
+		new GameStore(getContext()).addGame(game1);
+
+		HeadToHead headToHead = new GameStore(getContext()).getHeadToHead();
+		assertEquals(1, headToHead.getTimesAhead(player1.getId(), player2.getId()));
+		assertSame(headToHead, new GameStore(getContext()).getHeadToHead());
+
+		cal.add(Calendar.DATE, 1);
+		Game game2 = createGame(cal.getTime(), player1, 0);
+		game2.getScoreBoard().setPlayers(Arrays.asList(player1, player2));
+		game2.getScoreBoard().setScore(player2, 10);
+		new GameStore(getContext()).addGame(game2);
+
+		headToHead = new GameStore(getContext()).getHeadToHead();
+		assertEquals(1, headToHead.getTimesAhead(player1.getId(), player2.getId()));
+		assertEquals(1, headToHead.getTimesAhead(player2.getId(), player1.getId()));
+	}
+
+	@Test
+	public void ratingsFollowAddedAndDeletedGames() {
+		Player player1 = new Player();
+		player1.setId(UUID.randomUUID().toString());
+		Player player2 = new Player();
+		player2.setId(UUID.randomUUID().toString());
+		Calendar cal = Calendar.getInstance();
+		Game game = createGame(cal.getTime(), player1, 10);
+		game.getScoreBoard().setPlayers(Arrays.asList(player1, player2));
+		game.getScoreBoard().setScore(player1, 10);
+		new GameStore(getContext()).addGame(game);
+
+		assertTrue(new GameStore(getContext()).getRatings().get(player1.getId()) > new GameStore(
+				getContext()).getRatings().get(player2.getId()));
+
+		new GameStore(getContext()).deleteGame(game);
+
+		assertTrue(new GameStore(getContext()).getRatings().isEmpty());
+	}
+
+	@Test
+	public void playersInLoadedGamesAreTheSharedPlayerStoreInstances() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		player.setName(UUID.randomUUID().toString());
+		new PlayerStore(getContext()).addPlayer(player);
+		Calendar cal = Calendar.getInstance();
+		new GameStore(getContext()).addGame(createGame(cal.getTime(), player, 10));
+		cal.add(Calendar.DATE, 1);
+		new GameStore(getContext()).addGame(createGame(cal.getTime(), player, 20));
+
+		List<Game> games = new GameStore(getContext()).getAllGames();
+
+		Player loadedPlayer = games.get(0).getScoreBoard().getEntries().get(0).getPlayer();
+		assertEquals(player, loadedPlayer);
+		assertSame(loadedPlayer, games.get(1).getScoreBoard().getEntries().get(0).getPlayer());
+	}
+
+	@Test
+	public void removedPlayersKeepTheirNamesInTheHistory() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		player.setName(UUID.randomUUID().toString());
+		new PlayerStore(getContext()).addPlayer(player);
+		new GameStore(getContext()).addGame(createGame(new Date(), player, 10));
+
+		new PlayerStore(getContext()).removePlayer(player.getId());
+
+		assertEquals(player.getName(), new GameStore(getContext()).getAllGames().get(0)
+				.getScoreBoard().getEntries().get(0).getPlayer().getName());
+	}
+
+	@Test
+	public void gamesWithInlinePlayersAreMigratedToPlayerKeys() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		player.setName(UUID.randomUUID().toString());
+		List<Game> games = new ArrayList<Game>();
+		Calendar cal = Calendar.getInstance();
+		for (int i = 0; i < 10; i++) {
+			games.add(createGame(cal.getTime(), player, i));
+			cal.add(Calendar.DATE, 1);
+		}
+		JournalPersistor.create(Game.class, getContext(), null).persist(games);
+		long inlineLength = getFile(Game.class.getName() + ".journal").length();
+
+		List<Game> loadedGames = new GameStore(getContext()).getAllGames();
+
+		assertEquals(10, loadedGames.size());
+		assertEquals(player.getName(), loadedGames.get(9).getScoreBoard().getEntries().get(0)
+				.getPlayer().getName());
+		assertTrue(getFile(Game.class.getName() + ".journal").length() < inlineLength);
+		assertEquals(Arrays.asList(player), new PlayerStore(getContext()).getArchivedPlayers());
+	}
+
+	@Test
+	public void playersOfAnAddedGameThatAreNotInThePlayerStoreAreArchived() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		player.setName("Archived");
+
+		new GameStore(getContext()).addGame(createGame(new Date(), player, 10));
+
+		assertEquals(Arrays.asList(player), new PlayerStore(getContext()).getArchivedPlayers());
+		assertEquals("Archived", new GameStore(getContext()).getAllGames().get(0)
+				.getScoreBoard().getEntries().get(0).getPlayer().getName());
+	}
+
+	@Test
+	public void columnarHistoryIsAppendedToAsGamesAreAdded() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		Calendar cal = Calendar.getInstance();
+		GameStore testObject = new GameStore(getContext());
+		testObject.addGame(createGame(cal.getTime(), player, 10));
+		ColumnarHistory history = testObject.getColumnarHistory();
+		assertEquals(1, history.getGameCount());
+
+		cal.add(Calendar.DATE, 1);
+		testObject.addGame(createGame(cal.getTime(), player, 30));
+
+		assertSame(history, testObject.getColumnarHistory());
+		assertEquals(2, history.getGameCount());
+		assertEquals(40, history.totalsFor(history.getPlayerIndex(player.getId()),
+				Long.MIN_VALUE, Long.MAX_VALUE, ColumnarHistory.ANY).getTotalScore());
+
+		testObject.deleteGame(createGame(cal.getTime(), player, 30));
+
+		assertEquals(1, testObject.getColumnarHistory().getGameCount());
+	}
+
+	@Test
+	public void clearingTheHistoryDropsTheCachedGameNames() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		GameStore testObject = new GameStore(getContext());
+		testObject.addGame(createGame(new Date(1000), player, 1, "Scrabble"));
+		assertEquals(Arrays.asList("Scrabble"), testObject.findGameNames("s", 10));
+
+		testObject.clearAllGames();
+
+		assertTrue(testObject.findGameNames("s", 10).isEmpty());
+		assertEquals(0, testObject.getColumnarHistory().getGameCount());
+	}
+
+	@Test
+	public void gamesCanBeQueriedByTheirGameOverTimestamp() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		Calendar cal = Calendar.getInstance();
+		Date date1 = cal.getTime();
+		cal.add(Calendar.DATE, 3);
+		Date date2 = cal.getTime();
+		cal.add(Calendar.DATE, 3);
+		Date date3 = cal.getTime();
+		GameStore testObject = new GameStore(getContext());
+		testObject.addGame(createGame(date2, player, 2));
+		testObject.addGame(createGame(date1, player, 1));
+		testObject.addGame(createGame(date3, player, 3));
+
+		List<Game> games = new GameStore(getContext()).getGamesBetween(date1, date3);
+		assertEquals(2, games.size());
+		assertEquals(date2, games.get(0).getGameOverTimestamp());
+		assertEquals(date1, games.get(1).getGameOverTimestamp());
+		assertEquals(1, new GameStore(getContext()).getGameCountBetween(date2, date3));
+		assertEquals(3, new GameStore(getContext()).findGame(date3).getScoreBoard()
+				.getEntries().get(0).getScore());
+		assertNull(new GameStore(getContext()).findGame(new Date(0)));
+	}
+
+	@Test
+	public void deletingAGameThatIsNotInTheHistoryLeavesTheHistoryAlone() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		Game game = createGame(new Date(1000), player, 1);
+		new GameStore(getContext()).addGame(game);
+		String version = new GameStore(getContext()).getHistoryVersion();
+
+		new GameStore(getContext()).deleteGame(createGame(new Date(2000), player, 1));
+
+		assertEquals(version, new GameStore(getContext()).getHistoryVersion());
+		assertEquals(1, new GameStore(getContext()).getGameCount());
+	}
+
+	@Test
+	public void gamesAddedOutOfTimestampOrderCanStillBeDeleted() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		GameStore testObject = new GameStore(getContext());
+		testObject.addGame(createGame(new Date(3000), player, 1));
+		testObject.addGame(createGame(new Date(1000), player, 2));
+		testObject.addGame(createGame(new Date(2000), player, 3));
+
+		new GameStore(getContext()).deleteGame(createGame(new Date(1000), player, 2));
+
+		assertEquals(Arrays.asList(new Date(3000), new Date(2000)), getTimestamps(new GameStore(
+				getContext()).getAllGames()));
+	}
+
+	@Test
+	public void gameNamesAreSuggestedByPrefixWithTheMostRecentlyPlayedFirst() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		GameStore testObject = new GameStore(getContext());
+		testObject.addGame(createGame(new Date(1000), player, 1, "Scrabble"));
+		testObject.addGame(createGame(new Date(2000), player, 1, "Spades"));
+
+		assertEquals(Arrays.asList("Spades", "Scrabble"), new GameStore(getContext())
+				.findGameNames("s", 10));
+
+		testObject.addGame(createGame(new Date(3000), player, 1, "Scrabble"));
+		testObject.addGame(createGame(new Date(4000), player, 1, "Super Farkle"));
+
+		assertEquals(Arrays.asList("Super Farkle", "Scrabble", "Spades"), testObject
+				.findGameNames("s", 10));
+		assertEquals(Arrays.asList("Super Farkle"), testObject.findGameNames("fark", 10));
+	}
+
+	@Test
+	public void playersAreSuggestedByPrefixWithTheMostRecentlyPlayedFirst() {
+		PlayerStore playerStore = new PlayerStore(getContext());
+		Player alice = new Player();
+		alice.setId(UUID.randomUUID().toString());
+		alice.setName("Alice");
+		playerStore.addPlayer(alice);
+		Player alfred = new Player();
+		alfred.setId(UUID.randomUUID().toString());
+		alfred.setName("Alfred");
+		playerStore.addPlayer(alfred);
+		new GameStore(getContext()).addGame(createGame(new Date(1000), alice, 1));
+
+		GameStore testObject = new GameStore(getContext());
+		assertEquals(Arrays.asList(alice, alfred), testObject.findPlayers("al", 10));
+
+		testObject.addGame(createGame(new Date(2000), alfred, 1));
+		assertEquals(Arrays.asList(alfred, alice), testObject.findPlayers("al", 10));
+	}
+
+	private Game createGame(Date gameOverTimestamp, Player player, int score, String gameName) {
+		Game game = createGame(gameOverTimestamp, player, score);
+		game.setGameName(gameName);
+		return game;
+	}
+
+	private Game createGame(Date gameOverTimestamp, Player player, int score) {
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setScoring(Scoring.HIGH);
+		scoreBoard.setPlayers(Arrays.asList(player));
+		scoreBoard.setScore(player, score);
+		Game game = new Game();
+		game.setGameOverTimestamp(gameOverTimestamp);
+		game.setScoreBoard(scoreBoard);
+		return game;
+	}
+
+	private List<Date> getTimestamps(List<Game> games) {
+		List<Date> timestamps = new ArrayList<Date>();
+		for (Game game : games) {
+			timestamps.add(game.getGameOverTimestamp());
+		}
+		return timestamps;
+	}
 }
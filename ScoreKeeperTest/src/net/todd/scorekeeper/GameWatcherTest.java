@@ -1,15 +1,21 @@
 package net.todd.scorekeeper;
 
+import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import net.todd.scorekeeper.data.Player;
 import net.todd.scorekeeper.data.ScoreBoard;
+import net.todd.scorekeeper.data.TurnEvent;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -17,8 +23,9 @@ public class GameWatcherTest {
 	@Mock
 	private GameModel model;
 	@Mock
-	private CurrentGameStore currentGameStore;
+	private CurrentGameAutosaver autosaver;
 
+	private Listener scoreChangedListener;
 	private Listener playerChangedListener;
 	private Listener gameOverListener;
 	private Listener cancellationListener;
@@ -27,7 +34,12 @@ public class GameWatcherTest {
 	public void setUp() {
 		MockitoAnnotations.initMocks(this);
 
-		GameWatcher.create(model, currentGameStore);
+		GameWatcher.create(model, autosaver);
+
+		ArgumentCaptor<Listener> scoreChangedListenerCaptor = ArgumentCaptor
+				.forClass(Listener.class);
+		verify(model).addScoreChangedListener(scoreChangedListenerCaptor.capture());
+		scoreChangedListener = scoreChangedListenerCaptor.getValue();
 
 		ArgumentCaptor<Listener> playerChangedListenerCaptor = ArgumentCaptor
 				.forClass(Listener.class);
@@ -43,48 +55,75 @@ public class GameWatcherTest {
 		verify(model).addCancelGameListener(cancellationListenerCaptor.capture());
 		cancellationListener = cancellationListenerCaptor.getValue();
 
-		reset(model, currentGameStore);
+		reset(model, autosaver);
+		doReturn(new ArrayList<TurnEvent>()).when(model).drainTurnEvents();
 	}
 
 	@Test
-	public void whenGameStartsNotifyTheCurrentStateStoreWithCorrectInformation() {
+	public void whenGameStartsSaveASnapshotOfTheGame() {
 		String gameName = UUID.randomUUID().toString();
 		doReturn(gameName).when(model).getGameName();
 		ScoreBoard scoreBoard = mock(ScoreBoard.class);
 		doReturn(scoreBoard).when(model).getScoreBoard();
 		Player currentPlayer = mock(Player.class);
 		doReturn(currentPlayer).when(model).getCurrentPlayer();
+		doReturn(4).when(model).getTurnCount();
 
-		GameWatcher.create(model, currentGameStore);
+		GameWatcher.create(model, autosaver);
 
-		verify(currentGameStore).saveState(gameName, scoreBoard, currentPlayer);
+		verify(autosaver).save(gameName, scoreBoard, currentPlayer, 4);
 	}
 
 	@Test
-	public void whenPlayerChangesUpdateTheGamesCurrentState() {
-		String gameName = UUID.randomUUID().toString();
-		doReturn(gameName).when(model).getGameName();
-		ScoreBoard scoreBoard = mock(ScoreBoard.class);
-		doReturn(scoreBoard).when(model).getScoreBoard();
-		Player currentPlayer = mock(Player.class);
-		doReturn(currentPlayer).when(model).getCurrentPlayer();
+	public void whenPlayerChangesAppendTheTurnEventsToTheLog() {
+		List<TurnEvent> turnEvents = Arrays.asList(new TurnEvent(
+				TurnEvent.Type.PLAYER_ADVANCED, "1", 0));
+		doReturn(turnEvents).when(model).drainTurnEvents();
 
 		playerChangedListener.handle();
 
-		verify(currentGameStore).saveState(gameName, scoreBoard, currentPlayer);
+		verify(autosaver).appendTurnEvents(turnEvents);
+	}
+
+	@Test
+	public void whenScoreChangesAppendTheTurnEventsToTheLog() {
+		List<TurnEvent> turnEvents = Arrays.asList(new TurnEvent(TurnEvent.Type.SCORE_ADDED,
+				"1", 10));
+		doReturn(turnEvents).when(model).drainTurnEvents();
+
+		scoreChangedListener.handle();
+
+		verify(autosaver).appendTurnEvents(turnEvents);
+	}
+
+	@Test
+	public void aSnapshotIsOnlySavedOnceEnoughTurnsHaveBeenLogged() {
+		doReturn(GameWatcher.SNAPSHOT_INTERVAL - 1).when(model).getTurnCount();
+		playerChangedListener.handle();
+		verify(autosaver, never()).save(anyString(), any(ScoreBoard.class), any(Player.class),
+				anyInt());
+
+		doReturn(GameWatcher.SNAPSHOT_INTERVAL).when(model).getTurnCount();
+		playerChangedListener.handle();
+		verify(autosaver).save(anyString(), any(ScoreBoard.class), any(Player.class),
+				eq(GameWatcher.SNAPSHOT_INTERVAL));
 	}
 
 	@Test
-	public void whenGamesIsOverThenTheCurrentStateIsCleared() {
+	public void whenGamesIsOverThenTheCurrentStateIsClearedAndFlushed() {
 		gameOverListener.handle();
 
-		verify(currentGameStore).clearState();
+		InOrder inOrder = inOrder(autosaver);
+		inOrder.verify(autosaver).clear();
+		inOrder.verify(autosaver).flush();
 	}
 
 	@Test
-	public void whenGamesIsCancelledThenTheCurrentStateIsCleared() {
+	public void whenGamesIsCancelledThenTheCurrentStateIsClearedAndFlushed() {
 		cancellationListener.handle();
 
-		verify(currentGameStore).clearState();
+		InOrder inOrder = inOrder(autosaver);
+		inOrder.verify(autosaver).clear();
+		inOrder.verify(autosaver).flush();
 	}
 }
@@ -0,0 +1,138 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.ScoreBoard;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HeadToHeadCalculatorTest {
+	private ExecutorService executor;
+	private Player player1;
+	private Player player2;
+	private Player player3;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+		player1 = createPlayer("1");
+		player2 = createPlayer("2");
+		player3 = createPlayer("3");
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void everyPairOfPlayersIsCountedByFinishingOrder() {
+		List<Game> games = Arrays.asList(createGame(Scoring.HIGH, player1, 30, player2, 10,
+				player3, 20), createGame(Scoring.LOW, player1, 30, player2, 10));
+
+		HeadToHead headToHead = new HeadToHeadCalculator(executor, 1, 1).calculate(games);
+
+		assertEquals(3, headToHead.getPlayerCount());
+		assertEquals(1, headToHead.getTimesAhead("1", "2"));
+		assertEquals(1, headToHead.getTimesAhead("2", "1"));
+		assertEquals(1, headToHead.getTimesAhead("1", "3"));
+		assertEquals(0, headToHead.getTimesAhead("3", "1"));
+		assertEquals(1, headToHead.getTimesAhead("3", "2"));
+		assertEquals(0, headToHead.getTimesAhead("2", "3"));
+	}
+
+	@Test
+	public void tiedPlayersAreNotAheadOfEachOther() {
+		HeadToHead headToHead = new HeadToHeadCalculator(executor, 1, 1).calculate(Arrays
+				.asList(createGame(Scoring.HIGH, player1, 10, player2, 10)));
+
+		assertEquals(0, headToHead.getTimesAhead("1", "2"));
+		assertEquals(0, headToHead.getTimesAhead("2", "1"));
+	}
+
+	@Test
+	public void unknownPlayersHaveNoResults() {
+		HeadToHead headToHead = new HeadToHeadCalculator(executor, 1, 1).calculate(Arrays
+				.asList(createGame(Scoring.HIGH, player1, 10, player2, 5)));
+
+		assertEquals(-1, headToHead.indexOf("3"));
+		assertEquals(0, headToHead.getTimesAhead("1", "3"));
+	}
+
+	@Test
+	public void splittingTheHistoryAcrossWorkersGivesTheSameMatrix() {
+		List<Player> players = new ArrayList<Player>();
+		for (int i = 0; i < 10; i++) {
+			players.add(createPlayer(String.valueOf(i)));
+		}
+		Random random = new Random(42);
+		List<Game> games = new ArrayList<Game>();
+		for (int i = 0; i < 500; i++) {
+			Collections.shuffle(players, random);
+			List<Object> playersAndScores = new ArrayList<Object>();
+			for (Player player : players.subList(0, 2 + random.nextInt(5))) {
+				playersAndScores.add(player);
+				playersAndScores.add(random.nextInt(20));
+			}
+			games.add(createGame(random.nextBoolean() ? Scoring.HIGH : Scoring.LOW,
+					playersAndScores.toArray()));
+		}
+
+		HeadToHead sequential = new HeadToHeadCalculator(executor, 1, 1).calculate(games);
+		HeadToHead parallel = new HeadToHeadCalculator(executor, 4, 16).calculate(games);
+
+		assertEquals(sequential.getPlayerIds(), parallel.getPlayerIds());
+		for (String playerId : sequential.getPlayerIds()) {
+			for (String opponentId : sequential.getPlayerIds()) {
+				assertEquals(sequential.getTimesAhead(playerId, opponentId), parallel
+						.getTimesAhead(playerId, opponentId));
+			}
+		}
+	}
+
+	@Test
+	public void resultIsCachedForTheHistoryVersionItWasCalculatedFrom() {
+		HeadToHeadCalculator testObject = new HeadToHeadCalculator(executor, 1, 1);
+		assertNull(testObject.getCached("v1"));
+
+		HeadToHead headToHead = testObject.calculate("v1", Arrays.asList(createGame(
+				Scoring.HIGH, player1, 10, player2, 5)));
+
+		assertSame(headToHead, testObject.getCached("v1"));
+		assertNull(testObject.getCached("v2"));
+	}
+
+	private Game createGame(Scoring scoring, Object... playersAndScores) {
+		List<Player> players = new ArrayList<Player>();
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			players.add((Player) playersAndScores[i]);
+		}
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setScoring(scoring);
+		scoreBoard.setPlayers(players);
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			scoreBoard.setScore((Player) playersAndScores[i], (Integer) playersAndScores[i + 1]);
+		}
+		Game game = new Game();
+		game.setScoreBoard(scoreBoard);
+		return game;
+	}
+
+	private Player createPlayer(String id) {
+		Player player = new Player();
+		player.setId(id);
+		return player;
+	}
+}
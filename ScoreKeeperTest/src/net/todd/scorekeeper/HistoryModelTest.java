@@ -1,11 +1,11 @@
 package net.todd.scorekeeper;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
 
 import net.todd.scorekeeper.data.Game;
@@ -21,6 +21,8 @@ public class HistoryModelTest {
 	private GameStore gameStore;
 	@Mock
 	private PageNavigator pageNavigator;
+	@Mock
+	private EventListener<HistoryClearedEvent> historyClearedListener;
 
 	private HistoryModel testObject;
 
@@ -39,29 +41,46 @@ public class HistoryModelTest {
 	}
 
 	@Test
-	public void allGamesReturnsAllGamesFromTheGameStoreInOrderWithTheNewsetGameFirstAndOldestGameLast() {
-		Calendar calendar = Calendar.getInstance();
+	public void firstPageOfGamesComesFromTheStartOfTheGameStore() {
+		List<Game> games = Arrays.asList(mock(Game.class), mock(Game.class));
+		doReturn(games).when(gameStore).find(page(0));
 
-		calendar.set(2010, 7, 15);
-		Date date1 = calendar.getTime();
+		assertEquals(games, testObject.getFirstPageOfGames());
+	}
 
-		calendar.set(2010, 2, 15);
-		Date date2 = calendar.getTime();
+	@Test
+	public void nextPageOfGamesStartsAfterTheGamesAlreadyLoaded() {
+		List<Game> firstPage = createGames(HistoryModel.PAGE_SIZE);
+		List<Game> secondPage = createGames(3);
+		doReturn(firstPage).when(gameStore).find(page(0));
+		doReturn(secondPage).when(gameStore).find(page(HistoryModel.PAGE_SIZE));
 
-		calendar.set(2010, 10, 15);
-		Date date3 = calendar.getTime();
+		testObject.getFirstPageOfGames();
 
-		Game game1 = new Game();
-		game1.setGameOverTimestamp(date1);
-		Game game2 = new Game();
-		game2.setGameOverTimestamp(date2);
-		Game game3 = new Game();
-		game3.setGameOverTimestamp(date3);
+		assertEquals(secondPage, testObject.getNextPageOfGames());
+	}
 
-		List<Game> expectedGames = Arrays.asList(game1, game2, game3);
-		doReturn(expectedGames).when(gameStore).getAllGames();
+	@Test
+	public void gettingTheFirstPageAgainStartsOver() {
+		List<Game> firstPage = createGames(HistoryModel.PAGE_SIZE);
+		doReturn(firstPage).when(gameStore).find(page(0));
 
-		assertEquals(Arrays.asList(game3, game1, game2), testObject.getAllGames());
+		testObject.getFirstPageOfGames();
+
+		assertEquals(firstPage, testObject.getFirstPageOfGames());
+	}
+
+	@Test
+	public void thereAreMoreGamesUntilEveryGameInTheStoreHasBeenLoaded() {
+		doReturn(HistoryModel.PAGE_SIZE + 3).when(gameStore).count(new GameQuery());
+		doReturn(createGames(HistoryModel.PAGE_SIZE)).when(gameStore).find(page(0));
+		doReturn(createGames(3)).when(gameStore).find(page(HistoryModel.PAGE_SIZE));
+
+		testObject.getFirstPageOfGames();
+		assertTrue(testObject.areThereMoreGames());
+
+		testObject.getNextPageOfGames();
+		assertFalse(testObject.areThereMoreGames());
 	}
 
 	@Test
@@ -89,17 +108,71 @@ public class HistoryModelTest {
 		inOrder.verify(listener).handle();
 	}
 
+	@Test
+	public void removingAGamePublishesWhichGameWasRemovedAndWhetherAnyAreLeft() {
+		doReturn(true).when(gameStore).hasGames();
+		final List<GameRemovedEvent> events = new ArrayList<GameRemovedEvent>();
+		testObject.getEventBus().subscribe(GameRemovedEvent.class,
+				new EventListener<GameRemovedEvent>() {
+					@Override
+					public void handle(GameRemovedEvent event) {
+						events.add(event);
+					}
+				});
+
+		Game selectedGame = mock(Game.class);
+		testObject.removeGame(selectedGame);
+
+		assertEquals(1, events.size());
+		assertSame(selectedGame, events.get(0).getGame());
+		assertTrue(events.get(0).areThereGamesLeft());
+	}
+
+	@Test
+	public void nextPageStartsOneEarlierAfterALoadedGameIsRemoved() {
+		List<Game> firstPage = createGames(HistoryModel.PAGE_SIZE);
+		List<Game> secondPage = createGames(3);
+		doReturn(firstPage).when(gameStore).find(page(0));
+		doReturn(secondPage).when(gameStore).find(page(HistoryModel.PAGE_SIZE - 1));
+
+		testObject.getFirstPageOfGames();
+		testObject.removeGame(firstPage.get(0));
+
+		assertEquals(secondPage, testObject.getNextPageOfGames());
+	}
+
+	@Test
+	public void clearingHistoryPublishesHistoryCleared() {
+		testObject.getEventBus().subscribe(HistoryClearedEvent.class, historyClearedListener);
+
+		testObject.clearHistory();
+
+		verify(historyClearedListener).handle(isA(HistoryClearedEvent.class));
+	}
+
 	@Test
 	public void thereAreNoGamesInHistoryIfTheStoreHasNoGames() {
-		doReturn(Arrays.asList()).when(gameStore).getAllGames();
+		doReturn(false).when(gameStore).hasGames();
 
 		assertFalse("there should not be games in history", testObject.areThereGamesInHistory());
 	}
 
 	@Test
 	public void thereAreGamesInHistoryIfTheStoreHasGames() {
-		doReturn(Arrays.asList(mock(Game.class))).when(gameStore).getAllGames();
+		doReturn(true).when(gameStore).hasGames();
 
 		assertTrue("there should be games in history", testObject.areThereGamesInHistory());
 	}
+
+	private List<Game> createGames(int count) {
+		List<Game> games = new ArrayList<Game>();
+		for (int i = 0; i < count; i++) {
+			games.add(mock(Game.class));
+		}
+		return games;
+	}
+
+	private GameQuery page(int offset) {
+		return new GameQuery().offset(offset).limit(HistoryModel.PAGE_SIZE);
+	}
 }
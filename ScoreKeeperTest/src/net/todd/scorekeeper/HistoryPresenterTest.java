@@ -1,8 +1,10 @@
 package net.todd.scorekeeper;
 
+import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import net.todd.scorekeeper.data.Game;
@@ -23,13 +25,16 @@ public class HistoryPresenterTest {
 	private Listener donePressedListener;
 	private Listener clearButtonPressedListener;
 	private Listener clearHistoryConfirmedListener;
-	private Listener historyChangedListener;
+	private EventBus eventBus;
 	private Listener clearGameConfirmationListener;
 	private Listener clearGameButtonListener;
+	private Listener scrolledToEndListener;
 
 	@Before
 	public void setUp() {
 		MockitoAnnotations.initMocks(this);
+		eventBus = new EventBus();
+		doReturn(eventBus).when(model).getEventBus();
 
 		HistoryPresenter.create(view, model);
 
@@ -54,11 +59,6 @@ public class HistoryPresenterTest {
 				clearHistoryConfirmedListenerCaptor.capture());
 		clearHistoryConfirmedListener = clearHistoryConfirmedListenerCaptor.getValue();
 
-		ArgumentCaptor<Listener> historyChangedListenerCaptor = ArgumentCaptor
-				.forClass(Listener.class);
-		verify(model).addHistoryChangedListener(historyChangedListenerCaptor.capture());
-		historyChangedListener = historyChangedListenerCaptor.getValue();
-
 		ArgumentCaptor<Listener> clearHistoryConfirmationListenerCaptor = ArgumentCaptor
 				.forClass(Listener.class);
 		verify(view).addClearGameConfirmationListener(
@@ -70,7 +70,13 @@ public class HistoryPresenterTest {
 		verify(view).addClearGameButtonPressedListener(clearGameButtonListenerCaptor.capture());
 		clearGameButtonListener = clearGameButtonListenerCaptor.getValue();
 
+		ArgumentCaptor<Listener> scrolledToEndListenerCaptor = ArgumentCaptor
+				.forClass(Listener.class);
+		verify(view).addScrolledToEndListener(scrolledToEndListenerCaptor.capture());
+		scrolledToEndListener = scrolledToEndListenerCaptor.getValue();
+
 		reset(view, model);
+		doReturn(eventBus).when(model).getEventBus();
 	}
 
 	@Test
@@ -88,15 +94,36 @@ public class HistoryPresenterTest {
 	}
 
 	@Test
-	public void getAllGamesFromModelAndDisplayThemInitially() {
+	public void getFirstPageOfGamesFromModelAndDisplayThemInitially() {
 		List<Game> games = Arrays.asList(mock(Game.class), mock(Game.class), mock(Game.class));
-		doReturn(games).when(model).getAllGames();
+		doReturn(games).when(model).getFirstPageOfGames();
 
 		HistoryPresenter.create(view, model);
 
 		verify(view).setHistory(games);
 	}
 
+	@Test
+	public void whenScrolledToTheEndThenAddTheNextPageOfGamesToTheView() {
+		List<Game> games = Arrays.asList(mock(Game.class), mock(Game.class));
+		doReturn(true).when(model).areThereMoreGames();
+		doReturn(games).when(model).getNextPageOfGames();
+
+		scrolledToEndListener.handle();
+
+		verify(view).addHistory(games);
+	}
+
+	@Test
+	public void whenScrolledToTheEndAndThereAreNoMoreGamesThenDoNothing() {
+		doReturn(false).when(model).areThereMoreGames();
+
+		scrolledToEndListener.handle();
+
+		verify(model, never()).getNextPageOfGames();
+		verify(view, never()).addHistory(anyListOf(Game.class));
+	}
+
 	@Test
 	public void whenClearButtonIsPressedViewShowsTheConfirmDialog() {
 		clearButtonPressedListener.handle();
@@ -112,13 +139,23 @@ public class HistoryPresenterTest {
 	}
 
 	@Test
-	public void whenHistoryChangesThenRepopulateTheHistoryOnTheView() {
-		List<Game> allGames = Arrays.asList(mock(Game.class), mock(Game.class), mock(Game.class));
-		doReturn(allGames).when(model).getAllGames();
+	public void whenAGameIsRemovedThenOnlyThatGameIsRemovedFromTheView() {
+		Game game = mock(Game.class);
 
-		historyChangedListener.handle();
+		eventBus.publish(new GameRemovedEvent(game, true));
 
-		verify(view).setHistory(allGames);
+		verify(view).removeGame(game);
+		verify(view, never()).setHistory(anyListOf(Game.class));
+		verify(model, never()).getFirstPageOfGames();
+	}
+
+	@Test
+	public void whenHistoryIsClearedThenEmptyTheHistoryWithoutReloadingIt() {
+		eventBus.publish(new HistoryClearedEvent());
+
+		verify(view).setHistory(Collections.<Game> emptyList());
+		verify(view).setClearButtonEnabled(false);
+		verify(model, never()).getFirstPageOfGames();
 	}
 
 	@Test
@@ -157,19 +194,15 @@ public class HistoryPresenterTest {
 	}
 
 	@Test
-	public void whenHistoryHasChangedAndThereAreGamesInHistoryThenEnableTheClearButton() {
-		doReturn(true).when(model).areThereGamesInHistory();
-
-		historyChangedListener.handle();
+	public void whenAGameIsRemovedAndThereAreGamesLeftThenEnableTheClearButton() {
+		eventBus.publish(new GameRemovedEvent(mock(Game.class), true));
 
 		verify(view).setClearButtonEnabled(true);
 	}
 
 	@Test
-	public void whenHistoryHasChangedAndThereAreNoGamesInHistoryThenDisableTheClearButton() {
-		doReturn(false).when(model).areThereGamesInHistory();
-
-		historyChangedListener.handle();
+	public void whenTheLastGameIsRemovedThenDisableTheClearButton() {
+		eventBus.publish(new GameRemovedEvent(mock(Game.class), false));
 
 		verify(view).setClearButtonEnabled(false);
 	}
@@ -1,7 +1,10 @@
 package net.todd.scorekeeper;
 
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -83,4 +86,146 @@ public class ListenerManagerTest {
 		verify(listener1, times(3)).handle();
 		verify(listener2, times(3)).handle();
 	}
+	
+	@Test
+	public void aListenerAddedDuringNotificationIsNotifiedFromTheNextNotification() {
+		testObject.addListener(new Listener() {
+			@Override
+			public void handle() {
+				testObject.addListener(listener2);
+			}
+		});
+		testObject.addListener(listener1);
+		
+		testObject.notifyListeners();
+		
+		verify(listener1).handle();
+		verify(listener2, never()).handle();
+		
+		testObject.notifyListeners();
+		
+		verify(listener2).handle();
+	}
+	
+	@Test
+	public void aListenerCanRemoveItselfDuringNotification() {
+		Listener selfRemovingListener = new Listener() {
+			@Override
+			public void handle() {
+				testObject.removeListener(this);
+				listener1.handle();
+			}
+		};
+		testObject.addListener(selfRemovingListener);
+		testObject.addListener(listener2);
+		
+		testObject.notifyListeners();
+		testObject.notifyListeners();
+		
+		verify(listener1, times(1)).handle();
+		verify(listener2, times(2)).handle();
+	}
+	
+	@Test
+	public void aListenerRemovedDuringNotificationIsNotNotifiedAfterwards() {
+		testObject.addListener(new Listener() {
+			@Override
+			public void handle() {
+				testObject.removeListener(listener2);
+			}
+		});
+		testObject.addListener(listener1);
+		testObject.addListener(listener2);
+		testObject.addListener(listener3);
+		
+		testObject.notifyListeners();
+		
+		verify(listener1).handle();
+		verify(listener2, never()).handle();
+		verify(listener3).handle();
+	}
+	
+	@Test
+	public void notificationsDuringAnOpenBatchAreDeliveredWhenItEnds() {
+		NotificationBatch batch = new NotificationBatch();
+		testObject = new ListenerManager(batch);
+		testObject.addListener(listener1);
+		
+		batch.begin();
+		testObject.notifyListeners();
+		testObject.notifyListeners();
+		verify(listener1, never()).handle();
+		batch.end();
+		
+		verify(listener1, times(1)).handle();
+	}
+	
+	@Test
+	public void handlingTimesAreRecordedPerListenerWhenTimingsAreEnabled() {
+		ListenerTimings.reset();
+		ListenerTimings.setEnabled(true);
+		try {
+			testObject = new ListenerManager("score-changed", null);
+			testObject.addListener(new Listener() {
+				@Override
+				public void handle() {
+				}
+			});
+			
+			testObject.notifyListeners();
+			testObject.notifyListeners();
+			
+			List<ListenerTimings.Timing> timings = ListenerTimings.dump();
+			assertEquals(1, timings.size());
+			assertEquals("ListenerManagerTest score-changed", timings.get(0).getLabel());
+			assertEquals(2, timings.get(0).getCallCount());
+		} finally {
+			ListenerTimings.setEnabled(false);
+			ListenerTimings.reset();
+		}
+	}
+	
+	@Test
+	public void handlingTimesAreNotRecordedWhenTimingsAreDisabled() {
+		ListenerTimings.reset();
+		testObject.addListener(listener1);
+		
+		testObject.notifyListeners();
+		
+		verify(listener1).handle();
+		assertTrue(ListenerTimings.dump().isEmpty());
+	}
+	
+	@Test
+	public void listenersAreDeduplicatedByIdentity() {
+		EqualListener equalListener1 = new EqualListener();
+		EqualListener equalListener2 = new EqualListener();
+		testObject.addListener(equalListener1);
+		testObject.addListener(equalListener2);
+		testObject.removeListener(new EqualListener());
+		
+		testObject.notifyListeners();
+		
+		assertEquals(1, equalListener1.handleCount);
+		assertEquals(1, equalListener2.handleCount);
+	}
+	
+	private static class EqualListener implements Listener {
+		private int handleCount;
+		
+		@Override
+		public void handle() {
+			handleCount++;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof EqualListener;
+		}
+		
+		@Override
+		public int hashCode() {
+			return 1;
+		}
+	}
 }
@@ -0,0 +1,82 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ListenerTimingsTest {
+	@Before
+	public void setUp() {
+		ListenerTimings.reset();
+	}
+
+	@After
+	public void tearDown() {
+		ListenerTimings.setEnabled(false);
+		ListenerTimings.reset();
+	}
+
+	@Test
+	public void recordedTimesAreSummedPerLabelWithTheirMaximum() {
+		ListenerTimings.record("GameWatcher player-changed", 300);
+		ListenerTimings.record("GameWatcher player-changed", 500);
+		ListenerTimings.record("GameWatcher player-changed", 100);
+
+		List<ListenerTimings.Timing> timings = ListenerTimings.dump();
+
+		assertEquals(1, timings.size());
+		assertEquals("GameWatcher player-changed", timings.get(0).getLabel());
+		assertEquals(3, timings.get(0).getCallCount());
+		assertEquals(900, timings.get(0).getTotalNanos());
+		assertEquals(500, timings.get(0).getMaxNanos());
+	}
+
+	@Test
+	public void dumpIsOrderedBySlowestTotalTimeFirst() {
+		ListenerTimings.record("fast", 10);
+		ListenerTimings.record("slow", 1000);
+		ListenerTimings.record("medium", 100);
+
+		List<ListenerTimings.Timing> timings = ListenerTimings.dump();
+
+		assertEquals("slow", timings.get(0).getLabel());
+		assertEquals("medium", timings.get(1).getLabel());
+		assertEquals("fast", timings.get(2).getLabel());
+	}
+
+	@Test
+	public void dumpIsASnapshot() {
+		ListenerTimings.record("label", 10);
+		List<ListenerTimings.Timing> timings = ListenerTimings.dump();
+
+		ListenerTimings.record("label", 10);
+
+		assertEquals(1, timings.get(0).getCallCount());
+	}
+
+	@Test
+	public void resetForgetsAllTimings() {
+		ListenerTimings.record("label", 10);
+
+		ListenerTimings.reset();
+
+		assertTrue(ListenerTimings.dump().isEmpty());
+	}
+
+	@Test
+	public void listenersAreLabelledByTheClassThatRegisteredThemAndTheEventName() {
+		Listener listener = new Listener() {
+			@Override
+			public void handle() {
+			}
+		};
+
+		assertEquals("ListenerTimingsTest player-changed", ListenerTimings.labelOf(listener,
+				"player-changed"));
+		assertEquals("ListenerTimingsTest", ListenerTimings.labelOf(listener, null));
+	}
+}
@@ -4,7 +4,9 @@ import static org.junit.Assert.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -147,4 +149,91 @@ public class ManagePlayersModelTest {
 		inOrder.verify(playerStore).removePlayer(anyString());
 		inOrder.verify(playerChangedListener).handle();
 	}
+
+	@Test
+	public void addingSeveralPlayersStoresThemInOneBatchAndNotifiesOnce() {
+		when(playerStore.nextPlayerId()).thenReturn("1", "2");
+		Listener playerChangedListener = mock(Listener.class);
+		testObject.addPlayerChangedListener(playerChangedListener);
+
+		testObject.addPlayers(Arrays.asList("Alice", "", "Bob"));
+
+		ArgumentCaptor<Collection<Player>> playersCaptor = createPlayersCaptor();
+		verify(playerStore).addPlayers(playersCaptor.capture());
+		verify(playerStore, never()).addPlayer(any(Player.class));
+		verify(playerChangedListener, times(1)).handle();
+		assertEquals(2, playersCaptor.getValue().size());
+		assertFalse(testObject.isBulkEditing());
+	}
+
+	@Test
+	public void changesDuringABulkEditAreAppliedWhenItEnds() {
+		Player existingPlayer = new Player();
+		existingPlayer.setId("existing");
+		doReturn(Arrays.asList(existingPlayer)).when(playerStore).getAllPlayers();
+		when(playerStore.nextPlayerId()).thenReturn("1", "2");
+		Listener playerChangedListener = mock(Listener.class);
+		testObject.addPlayerChangedListener(playerChangedListener);
+
+		testObject.beginBulkEdit();
+		testObject.addPlayer("Alice");
+		testObject.addPlayer("Bob");
+		testObject.removePlayer("1");
+		testObject.removePlayer("existing");
+
+		assertEquals(1, testObject.getPlayers().size());
+		assertEquals("Bob", testObject.getPlayers().get(0).getName());
+		verifyZeroInteractions(playerChangedListener);
+		verify(playerStore, never()).removePlayer(anyString());
+
+		testObject.endBulkEdit();
+
+		InOrder inOrder = inOrder(playerStore, playerChangedListener);
+		inOrder.verify(playerStore).removePlayers(Arrays.asList("existing"));
+		inOrder.verify(playerStore).addPlayers(anyCollectionOf(Player.class));
+		inOrder.verify(playerChangedListener).handle();
+	}
+
+	@Test
+	public void anEmptyBulkEditDoesNotTouchTheStore() {
+		Listener playerChangedListener = mock(Listener.class);
+		testObject.addPlayerChangedListener(playerChangedListener);
+
+		testObject.beginBulkEdit();
+		testObject.endBulkEdit();
+
+		verify(playerStore, never()).addPlayers(anyCollectionOf(Player.class));
+		verify(playerStore, never()).removePlayers(anyCollectionOf(String.class));
+		verifyZeroInteractions(playerChangedListener);
+	}
+
+	@Test
+	public void aBulkEditPublishesTheAddedAndRemovedPlayersInOneEvent() {
+		when(playerStore.nextPlayerId()).thenReturn("1", "2");
+		final List<PlayersChangedEvent> events = new ArrayList<PlayersChangedEvent>();
+		testObject.getEventBus().subscribe(PlayersChangedEvent.class,
+				new EventListener<PlayersChangedEvent>() {
+					@Override
+					public void handle(PlayersChangedEvent event) {
+						events.add(event);
+					}
+				});
+
+		testObject.beginBulkEdit();
+		testObject.addPlayer("Alice");
+		testObject.addPlayer("Bob");
+		testObject.removePlayer("existing");
+		testObject.endBulkEdit();
+
+		assertEquals(1, events.size());
+		assertEquals(2, events.get(0).getAddedPlayers().size());
+		assertEquals("Alice", events.get(0).getAddedPlayers().get(0).getName());
+		assertEquals(Arrays.asList("existing"), events.get(0).getRemovedPlayerIds());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ArgumentCaptor<Collection<Player>> createPlayersCaptor() {
+		return (ArgumentCaptor<Collection<Player>>) (ArgumentCaptor<?>) ArgumentCaptor
+				.forClass(Collection.class);
+	}
 }
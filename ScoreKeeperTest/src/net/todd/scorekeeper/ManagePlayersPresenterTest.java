@@ -24,13 +24,15 @@ public class ManagePlayersPresenterTest {
 
 	private Listener addPlayerButtonListener;
 	private Listener removePlayerButtonListener;
-	private Listener playerChangedListener;
+	private EventBus eventBus;
 	private Listener doneButtonListener;
 	private Listener backButtonListener;
 
 	@Before
 	public void setUp() {
 		MockitoAnnotations.initMocks(this);
+		eventBus = new EventBus();
+		doReturn(eventBus).when(model).getEventBus();
 
 		ManagePlayersPresenter.create(view, model);
 
@@ -44,11 +46,6 @@ public class ManagePlayersPresenterTest {
 		verify(view).addRemovePlayerButtonListener(removePlayerButtonListenerCaptor.capture());
 		removePlayerButtonListener = removePlayerButtonListenerCaptor.getValue();
 
-		ArgumentCaptor<Listener> playerChangedListenerCaptor = ArgumentCaptor
-				.forClass(Listener.class);
-		verify(model).addPlayerChangedListener(playerChangedListenerCaptor.capture());
-		playerChangedListener = playerChangedListenerCaptor.getValue();
-
 		ArgumentCaptor<Listener> doneButtonListenerCaptor = ArgumentCaptor.forClass(Listener.class);
 		verify(view).addDoneButtonListener(doneButtonListenerCaptor.capture());
 		doneButtonListener = doneButtonListenerCaptor.getValue();
@@ -58,6 +55,7 @@ public class ManagePlayersPresenterTest {
 		backButtonListener = backButtonListenerCaptor.getValue();
 
 		reset(view, model);
+		doReturn(eventBus).when(model).getEventBus();
 	}
 
 	@Test
@@ -100,13 +98,17 @@ public class ManagePlayersPresenterTest {
 	}
 
 	@Test
-	public void whenThePlayersHaveChangedInTheModelThenUpdateTheView() {
-		List<Player> allPlayers = Arrays.asList(mock(Player.class), mock(Player.class));
-		doReturn(allPlayers).when(model).getPlayers();
+	public void whenThePlayersHaveChangedInTheModelThenOnlyTheChangedPlayersAreUpdated() {
+		List<Player> addedPlayers = Arrays.asList(mock(Player.class), mock(Player.class));
+		List<String> removedPlayerIds = Arrays.asList(UUID.randomUUID().toString());
 
-		playerChangedListener.handle();
+		eventBus.publish(new PlayersChangedEvent(addedPlayers, removedPlayerIds));
 
-		verify(view).setPlayers(allPlayers);
+		InOrder inOrder = inOrder(view);
+		inOrder.verify(view).removePlayers(removedPlayerIds);
+		inOrder.verify(view).addPlayers(addedPlayers);
+		verify(view, never()).setPlayers(anyListOf(Player.class));
+		verify(model, never()).getPlayers();
 	}
 
 	@Test
@@ -0,0 +1,95 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class NotificationBatchTest {
+	@Mock
+	private Listener listener1;
+	@Mock
+	private Listener listener2;
+
+	private NotificationBatch testObject;
+	private ListenerManager listenerManager1;
+	private ListenerManager listenerManager2;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+
+		testObject = new NotificationBatch();
+		listenerManager1 = new ListenerManager(testObject);
+		listenerManager1.addListener(listener1);
+		listenerManager2 = new ListenerManager(testObject);
+		listenerManager2.addListener(listener2);
+	}
+
+	@Test
+	public void listenersAreDeliveredOnceInTheOrderTheyWereFirstAdded() {
+		testObject.begin();
+		listenerManager2.notifyListeners();
+		listenerManager1.notifyListeners();
+		listenerManager2.notifyListeners();
+		testObject.end();
+
+		InOrder inOrder = inOrder(listener1, listener2);
+		inOrder.verify(listener2).handle();
+		inOrder.verify(listener1).handle();
+		verify(listener2, times(1)).handle();
+		assertEquals(1, testObject.getCoalescedCount());
+	}
+
+	@Test
+	public void nestedBatchesDeliverWhenTheOutermostBatchEnds() {
+		testObject.begin();
+		testObject.begin();
+		listenerManager1.notifyListeners();
+		testObject.end();
+
+		assertTrue(testObject.isOpen());
+		verify(listener1, never()).handle();
+
+		testObject.end();
+
+		assertFalse(testObject.isOpen());
+		verify(listener1).handle();
+	}
+
+	@Test
+	public void listenersCanBeNotifiedAgainAfterTheBatchIsDelivered() {
+		testObject.begin();
+		listenerManager1.notifyListeners();
+		testObject.end();
+		testObject.begin();
+		listenerManager1.notifyListeners();
+		testObject.end();
+
+		verify(listener1, times(2)).handle();
+		assertEquals(0, testObject.getCoalescedCount());
+	}
+
+	@Test
+	public void aListenerRegisteredWithSeveralManagersIsOnlyDeliveredOnce() {
+		listenerManager2.addListener(listener1);
+
+		testObject.begin();
+		listenerManager1.notifyListeners();
+		listenerManager2.notifyListeners();
+		testObject.end();
+
+		verify(listener1, times(1)).handle();
+		verify(listener2, times(1)).handle();
+		assertEquals(1, testObject.getCoalescedCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void endingABatchThatWasNotBegunFails() {
+		testObject.end();
+	}
+}
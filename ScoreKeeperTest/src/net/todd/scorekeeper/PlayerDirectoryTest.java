@@ -0,0 +1,121 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import net.todd.scorekeeper.data.Player;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PlayerDirectoryTest extends AbstractStoreTest {
+	private Player player;
+
+	@Before
+	public void setUp() {
+		player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		player.setName(UUID.randomUUID().toString());
+	}
+
+	@Test
+	public void playersResolveToTheSharedInstanceFromThePlayerStore() {
+		new PlayerStore(getContext()).addPlayer(player);
+		PlayerDirectory testObject = new PlayerDirectory(new PlayerStore(getContext()));
+
+		Player resolvedPlayer = testObject.resolve(player.getId());
+
+		assertEquals(player, resolvedPlayer);
+		assertSame(resolvedPlayer, testObject.resolve(player.getId()));
+	}
+
+	@Test
+	public void archivedPlayersStillResolve() {
+		new PlayerStore(getContext()).addPlayer(player);
+		new PlayerStore(getContext()).removePlayer(player.getId());
+
+		assertEquals(player.getName(), new PlayerDirectory(new PlayerStore(getContext()))
+				.resolve(player.getId()).getName());
+	}
+
+	@Test
+	public void unknownPlayersResolveToAPlaceholder() {
+		Player resolvedPlayer = new PlayerDirectory(new PlayerStore(getContext()))
+				.resolve(player.getId());
+
+		assertEquals(player.getId(), resolvedPlayer.getId());
+		assertEquals(PlayerDirectory.UNKNOWN_PLAYER_NAME, resolvedPlayer.getName());
+	}
+
+	@Test
+	public void unknownPlayersDoNotReloadThePlayerStore() {
+		PlayerStore playerStore = spy(new PlayerStore(getContext()));
+		PlayerDirectory testObject = new PlayerDirectory(playerStore);
+
+		testObject.resolve(UUID.randomUUID().toString());
+		testObject.resolve(UUID.randomUUID().toString());
+		testObject.resolve(UUID.randomUUID().toString());
+
+		verify(playerStore, times(1)).getAllPlayers();
+		verify(playerStore, times(1)).getArchivedPlayers();
+	}
+
+	@Test
+	public void registeringAnUnknownPlayerArchivesIt() {
+		new PlayerDirectory(new PlayerStore(getContext())).register(player);
+
+		assertEquals(Arrays.asList(player), new PlayerStore(getContext()).getArchivedPlayers());
+		assertEquals(player, new PlayerDirectory(new PlayerStore(getContext())).resolve(player
+				.getId()));
+	}
+
+	@Test
+	public void registeringAKnownPlayerDoesNotArchiveIt() {
+		new PlayerStore(getContext()).addPlayer(player);
+
+		new PlayerDirectory(new PlayerStore(getContext())).register(player);
+
+		assertTrue(new PlayerStore(getContext()).getArchivedPlayers().isEmpty());
+	}
+
+	@Test
+	public void registeringAPlayerAddedAfterTheDirectoryWasBuiltDoesNotArchiveIt() {
+		PlayerDirectory testObject = new PlayerDirectory(new PlayerStore(getContext()));
+		testObject.resolve(UUID.randomUUID().toString());
+		new PlayerStore(getContext()).addPlayer(player);
+
+		testObject.register(player);
+
+		assertTrue(new PlayerStore(getContext()).getArchivedPlayers().isEmpty());
+		assertEquals(player.getName(), testObject.resolve(player.getId()).getName());
+	}
+
+	@Test
+	public void inlinePlayersAreReplacedByKnownPlayersAndRemembered() {
+		new PlayerStore(getContext()).addPlayer(player);
+		PlayerDirectory testObject = new PlayerDirectory(new PlayerStore(getContext()));
+		Player inlinePlayer = new Player();
+		inlinePlayer.setId(player.getId());
+		inlinePlayer.setName("old name");
+
+		assertEquals(player, testObject.resolveInline(inlinePlayer));
+		assertTrue(testObject.takeHasResolvedInlinePlayers());
+		assertFalse(testObject.takeHasResolvedInlinePlayers());
+		assertTrue(testObject.takeUnknownInlinePlayers().isEmpty());
+	}
+
+	@Test
+	public void unknownInlinePlayersAreCollectedWithoutBeingArchived() {
+		PlayerDirectory testObject = new PlayerDirectory(new PlayerStore(getContext()));
+
+		assertSame(player, testObject.resolveInline(player));
+		assertSame(player, testObject.resolve(player.getId()));
+
+		assertTrue(new PlayerStore(getContext()).getArchivedPlayers().isEmpty());
+		assertEquals(Arrays.asList(player), testObject.takeUnknownInlinePlayers());
+		assertTrue(testObject.takeUnknownInlinePlayers().isEmpty());
+	}
+}
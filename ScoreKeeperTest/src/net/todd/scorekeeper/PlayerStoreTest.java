@@ -1,11 +1,15 @@
 package net.todd.scorekeeper;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
 import java.util.UUID;
 
+import net.todd.scorekeeper.data.BinaryPersistor;
 import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.XmlPersistor;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -117,4 +121,91 @@ public class PlayerStoreTest extends AbstractStoreTest {
 		assertEquals(Arrays.asList(player1, player3),
 				new PlayerStore(getContext()).getPlayersById(Arrays.asList(playerId1, playerId3)));
 	}
+
+	@Test
+	public void removedPlayersAreKeptInTheArchive() {
+		Player player = new Player();
+		player.setId(playerId);
+		player.setName(playerName);
+		new PlayerStore(getContext()).addPlayer(player);
+
+		new PlayerStore(getContext()).removePlayer(playerId);
+
+		assertEquals(Arrays.asList(player), new PlayerStore(getContext()).getArchivedPlayers());
+	}
+
+	@Test
+	public void archivingAPlayerTwiceKeepsOneCopy() {
+		Player player = new Player();
+		player.setId(playerId);
+		player.setName(playerName);
+
+		new PlayerStore(getContext()).archivePlayer(player);
+		new PlayerStore(getContext()).archivePlayer(player);
+
+		assertEquals(1, new PlayerStore(getContext()).getArchivedPlayers().size());
+		assertTrue(new PlayerStore(getContext()).getAllPlayers().isEmpty());
+	}
+
+	@Test
+	public void playersCanBeFoundByNamePrefixAsTheyAreAddedAndRemoved() {
+		PlayerStore testObject = new PlayerStore(getContext());
+		Player alice = createPlayer("Alice");
+		Player alfred = createPlayer("Alfred");
+		testObject.addPlayer(alice);
+
+		assertEquals(Arrays.asList(alice), testObject.findPlayers("al", 10));
+
+		testObject.addPlayer(alfred);
+		assertEquals(Arrays.asList(alfred, alice), testObject.findPlayers("al", 10));
+
+		testObject.removePlayer(alfred.getId());
+		assertEquals(Arrays.asList(alice), testObject.findPlayers("AL", 10));
+	}
+
+	@Test
+	public void recentlyUsedPlayersAreFoundFirst() {
+		PlayerStore testObject = new PlayerStore(getContext());
+		Player alice = createPlayer("Alice");
+		Player alfred = createPlayer("Alfred");
+		testObject.addPlayer(alice);
+		testObject.addPlayer(alfred);
+		testObject.playerUsed(alice.getId(), 100);
+
+		assertEquals(Arrays.asList(alice, alfred), testObject.findPlayers("al", 10));
+
+		testObject.playerUsed(alfred.getId(), 200);
+		assertEquals(Arrays.asList(alfred), testObject.findPlayers("al", 1));
+	}
+
+	@Test
+	public void batchesOfPlayersAreAddedAndRemovedWithOneWriteEach() {
+		Persistor<Player> persistor = spy(XmlPersistor.create(Player.class, getContext()));
+		Persistor<Player> archivePersistor = spy(BinaryPersistor.create(Player.class,
+				getContext(), "archive.bin"));
+		PlayerStore testObject = new PlayerStore(persistor, archivePersistor);
+		Player alice = createPlayer("Alice");
+		Player bob = createPlayer("Bob");
+		Player carol = createPlayer("Carol");
+
+		testObject.addPlayers(Arrays.asList(alice, bob, carol));
+
+		verify(persistor, times(1)).load();
+		verify(persistor, times(1)).persist(anyListOf(Player.class));
+		assertEquals(Arrays.asList(alice, bob, carol), testObject.getAllPlayers());
+
+		testObject.removePlayers(Arrays.asList(alice.getId(), carol.getId(), "unknown"));
+
+		verify(persistor, times(2)).persist(anyListOf(Player.class));
+		verify(archivePersistor, times(1)).persist(anyListOf(Player.class));
+		assertEquals(Arrays.asList(bob), testObject.getAllPlayers());
+		assertEquals(Arrays.asList(alice, carol), testObject.getArchivedPlayers());
+	}
+
+	private Player createPlayer(String name) {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		player.setName(name);
+		return player;
+	}
 }
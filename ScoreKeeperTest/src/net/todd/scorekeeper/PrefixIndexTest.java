@@ -0,0 +1,75 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefixIndexTest {
+	private PrefixIndex<String> testObject;
+
+	@Before
+	public void setUp() {
+		testObject = new PrefixIndex<String>();
+		testObject.put("Alice Smith", "1", 0);
+		testObject.put("alfred", "2", 0);
+		testObject.put("Bob Allen", "3", 0);
+	}
+
+	@Test
+	public void prefixesMatchTheStartOfAnyWordIgnoringCase() {
+		assertEquals(Arrays.asList("2", "1", "3"), testObject.find("AL", 10));
+		assertEquals(Arrays.asList("1"), testObject.find("smi", 10));
+		assertEquals(Arrays.asList("3"), testObject.find(" b", 10));
+		assertTrue(testObject.find("ice", 10).isEmpty());
+	}
+
+	@Test
+	public void recentlyUsedValuesAreRankedFirst() {
+		testObject.touch("3", 20);
+		testObject.touch("1", 10);
+
+		assertEquals(Arrays.asList("3", "1", "2"), testObject.find("al", 10));
+		assertEquals(Arrays.asList("3", "1"), testObject.find("", 2));
+	}
+
+	@Test
+	public void olderUsesDoNotOverrideNewerOnes() {
+		testObject.touch("2", 20);
+		testObject.touch("2", 5);
+		testObject.touch("1", 10);
+
+		assertEquals(Arrays.asList("2", "1"), testObject.find("al", 2));
+	}
+
+	@Test
+	public void removedValuesAreNoLongerFound() {
+		testObject.remove("1");
+
+		assertEquals(Arrays.asList("2", "3"), testObject.find("al", 10));
+		assertTrue(testObject.find("smith", 10).isEmpty());
+		assertFalse(testObject.contains("1"));
+		assertEquals(2, testObject.size());
+	}
+
+	@Test
+	public void puttingAValueAgainReplacesItsText() {
+		testObject.put("Carol", "2", 0);
+
+		assertEquals(Arrays.asList("1", "3"), testObject.find("al", 10));
+		assertEquals(Arrays.asList("2"), testObject.find("car", 10));
+		assertEquals(3, testObject.size());
+	}
+
+	@Test
+	public void manyValuesSharingAPrefixAreAllIndexed() {
+		for (int i = 0; i < 500; i++) {
+			testObject.put("Player " + i, "player" + i, i);
+		}
+
+		assertEquals(Arrays.asList("player499", "player498"), testObject.find("pl", 2));
+		assertEquals(111, testObject.find("player 4", 500).size());
+	}
+}
@@ -0,0 +1,222 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.JournalPersistor;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.RatingCheckpoint;
+import net.todd.scorekeeper.data.ScoreBoard;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RatingEngineTest extends AbstractStoreTest {
+	private static final double DELTA = 0.000001;
+
+	private Player player1;
+	private Player player2;
+	private Player player3;
+	private long nextTimestamp;
+
+	@Before
+	public void setUp() {
+		player1 = createPlayer("1");
+		player2 = createPlayer("2");
+		player3 = createPlayer("3");
+		nextTimestamp = 1000000;
+	}
+
+	@Test
+	public void playersStartWithTheInitialRating() {
+		RatingEngine testObject = createRatingEngine(10);
+
+		assertEquals(RatingEngine.INITIAL_RATING, testObject.getRating("1"), DELTA);
+		assertEquals(0, testObject.getGameCount());
+	}
+
+	@Test
+	public void theWinnerTakesRatingFromTheLoser() {
+		RatingEngine testObject = createRatingEngine(10);
+
+		testObject.update(Arrays.asList(createGame(Scoring.HIGH, player1, 30, player2, 10)));
+
+		assertEquals(RatingEngine.INITIAL_RATING + RatingEngine.K_FACTOR / 2, testObject
+				.getRating("1"), DELTA);
+		assertEquals(RatingEngine.INITIAL_RATING - RatingEngine.K_FACTOR / 2, testObject
+				.getRating("2"), DELTA);
+		assertEquals(1, testObject.getGamesRated("1"));
+		assertEquals(1, testObject.getGameCount());
+	}
+
+	@Test
+	public void lowScoringGamesAreRatedByTheirOwnOrder() {
+		RatingEngine testObject = createRatingEngine(10);
+
+		testObject.update(Arrays.asList(createGame(Scoring.LOW, player1, 30, player2, 10)));
+
+		assertTrue(testObject.getRating("2") > testObject.getRating("1"));
+	}
+
+	@Test
+	public void tiedPlayersWithEqualRatingsDoNotMove() {
+		RatingEngine testObject = createRatingEngine(10);
+
+		testObject.update(Arrays.asList(createGame(Scoring.HIGH, player1, 10, player2, 10)));
+
+		assertEquals(RatingEngine.INITIAL_RATING, testObject.getRating("1"), DELTA);
+		assertEquals(RatingEngine.INITIAL_RATING, testObject.getRating("2"), DELTA);
+	}
+
+	@Test
+	public void multiPlayerGamesAreRatedPairwiseAndConserveTheTotal() {
+		RatingEngine testObject = createRatingEngine(10);
+
+		testObject.update(Arrays.asList(createGame(Scoring.HIGH, player1, 30, player2, 10,
+				player3, 20)));
+
+		assertTrue(testObject.getRating("1") > testObject.getRating("3"));
+		assertTrue(testObject.getRating("3") > testObject.getRating("2"));
+		assertEquals(RatingEngine.INITIAL_RATING, testObject.getRating("3"), DELTA);
+		double total = 0;
+		for (double rating : testObject.getRatings().values()) {
+			total += rating;
+		}
+		assertEquals(3 * RatingEngine.INITIAL_RATING, total, DELTA);
+	}
+
+	@Test
+	public void ratingsAreProcessedIncrementallyAndSurviveARestart() {
+		List<Game> games = createRandomGames(25);
+		RatingEngine incremental = createRatingEngine(4);
+		for (int i = 1; i <= games.size(); i++) {
+			incremental.update(games.subList(0, i));
+		}
+
+		RatingEngine reloaded = createRatingEngine(4);
+		assertEquals(25, reloaded.getGameCount());
+		assertRatingsEqual(rateFromScratch(games), reloaded.getRatings());
+	}
+
+	@Test
+	public void addedGamesAreRatedOneAtATime() {
+		List<Game> games = createRandomGames(10);
+		for (Game game : games) {
+			createRatingEngine(4).gameAdded(game);
+		}
+
+		RatingEngine reloaded = createRatingEngine(4);
+		assertEquals(10, reloaded.getGameCount());
+		assertRatingsEqual(rateFromScratch(games), reloaded.getRatings());
+		reloaded.update(games);
+		assertRatingsEqual(rateFromScratch(games), createRatingEngine(4).getRatings());
+	}
+
+	@Test
+	public void deletingAGameRecomputesFromTheAffectedPoint() {
+		List<Game> games = createRandomGames(30);
+		RatingEngine testObject = createRatingEngine(4);
+		testObject.update(games);
+
+		List<Game> remainingGames = new ArrayList<Game>(games);
+		remainingGames.remove(17);
+		createRatingEngine(4).gameRemoved(17, remainingGames);
+
+		RatingEngine reloaded = createRatingEngine(4);
+		assertEquals(29, reloaded.getGameCount());
+		assertRatingsEqual(rateFromScratch(remainingGames), reloaded.getRatings());
+	}
+
+	@Test
+	public void ratingsThatNoLongerMatchTheHistoryAreRecomputed() {
+		List<Game> games = createRandomGames(12);
+		createRatingEngine(4).update(games);
+
+		List<Game> rewrittenHistory = new ArrayList<Game>(games.subList(0, 6));
+		rewrittenHistory.addAll(createRandomGames(4));
+		RatingEngine testObject = createRatingEngine(4);
+		testObject.update(rewrittenHistory);
+
+		assertEquals(10, testObject.getGameCount());
+		assertRatingsEqual(rateFromScratch(rewrittenHistory), testObject.getRatings());
+	}
+
+	@Test
+	public void clearingForgetsAllRatings() {
+		RatingEngine testObject = createRatingEngine(10);
+		testObject.update(Arrays.asList(createGame(Scoring.HIGH, player1, 30, player2, 10)));
+
+		testObject.clear();
+
+		assertEquals(0, createRatingEngine(10).getGameCount());
+		assertTrue(createRatingEngine(10).getRatings().isEmpty());
+	}
+
+	private Map<String, Double> rateFromScratch(List<Game> games) {
+		RatingEngine ratingEngine = createRatingEngine(Integer.MAX_VALUE);
+		ratingEngine.rebuild(games);
+		return ratingEngine.getRatings();
+	}
+
+	private void assertRatingsEqual(Map<String, Double> expected, Map<String, Double> actual) {
+		assertEquals(expected.keySet(), actual.keySet());
+		for (String playerId : expected.keySet()) {
+			assertEquals(expected.get(playerId), actual.get(playerId), DELTA);
+		}
+	}
+
+	private RatingEngine createRatingEngine(int checkpointInterval) {
+		return new RatingEngine(JournalPersistor.create(RatingCheckpoint.class, getContext()),
+				checkpointInterval);
+	}
+
+	private List<Game> createRandomGames(int count) {
+		List<Player> players = new ArrayList<Player>();
+		for (int i = 0; i < 6; i++) {
+			players.add(createPlayer("random-" + i));
+		}
+		Random random = new Random(count);
+		List<Game> games = new ArrayList<Game>();
+		for (int i = 0; i < count; i++) {
+			Collections.shuffle(players, random);
+			List<Object> playersAndScores = new ArrayList<Object>();
+			for (Player player : players.subList(0, 2 + random.nextInt(3))) {
+				playersAndScores.add(player);
+				playersAndScores.add(random.nextInt(10));
+			}
+			games.add(createGame(Scoring.HIGH, playersAndScores.toArray()));
+		}
+		return games;
+	}
+
+	private Game createGame(Scoring scoring, Object... playersAndScores) {
+		List<Player> players = new ArrayList<Player>();
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			players.add((Player) playersAndScores[i]);
+		}
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setScoring(scoring);
+		scoreBoard.setPlayers(players);
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			scoreBoard.setScore((Player) playersAndScores[i], (Integer) playersAndScores[i + 1]);
+		}
+		Game game = new Game();
+		game.setGameOverTimestamp(new Date(nextTimestamp++));
+		game.setScoreBoard(scoreBoard);
+		return game;
+	}
+
+	private Player createPlayer(String id) {
+		Player player = new Player();
+		player.setId(id);
+		return player;
+	}
+}
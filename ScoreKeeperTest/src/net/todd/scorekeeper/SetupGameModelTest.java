@@ -418,7 +418,8 @@ public class SetupGameModelTest {
 		ScoreBoard scoreBoard = mock(ScoreBoard.class);
 		ScoreBoardEntry scoreBoardEntry1 = mock(ScoreBoardEntry.class);
 		ScoreBoardEntry scoreBoardEntry2 = mock(ScoreBoardEntry.class);
-		doReturn(Arrays.asList(scoreBoardEntry1, scoreBoardEntry2)).when(scoreBoard).getEntries();
+		doReturn(Arrays.asList(scoreBoardEntry1, scoreBoardEntry2)).when(scoreBoard)
+				.getEntriesInTurnOrder();
 		CurrentGame currentGame = mock(CurrentGame.class);
 		doReturn(scoreBoard).when(currentGame).getScoreBoard();
 		doReturn(currentGame).when(pageNavigator).getExtra("currentGame");
@@ -0,0 +1,189 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import net.todd.scorekeeper.data.Game;
+import net.todd.scorekeeper.data.Player;
+import net.todd.scorekeeper.data.PlayerStatistics;
+import net.todd.scorekeeper.data.ScoreBoard;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class StatisticsStoreTest extends AbstractStoreTest {
+	private Player player1;
+	private Player player2;
+	private Player player3;
+
+	@Before
+	public void setUp() {
+		player1 = createPlayer("1");
+		player2 = createPlayer("2");
+		player3 = createPlayer("3");
+	}
+
+	@Test
+	public void initiallyThereAreNoStatistics() {
+		assertTrue(new StatisticsStore(getContext()).getAllStatistics().isEmpty());
+		assertNull(new StatisticsStore(getContext()).getStatistics("1"));
+	}
+
+	@Test
+	public void addingAGameUpdatesEveryPlayerOnTheScoreBoard() {
+		new StatisticsStore(getContext()).gameAdded(createGame(Scoring.HIGH, player1, 30,
+				player2, 10));
+		new StatisticsStore(getContext()).gameAdded(createGame(Scoring.HIGH, player1, 20,
+				player2, 40));
+
+		PlayerStatistics statistics1 = new StatisticsStore(getContext()).getStatistics("1");
+		assertEquals(2, statistics1.getGamesPlayed());
+		assertEquals(1, statistics1.getWins());
+		assertEquals(50, statistics1.getTotalScore());
+		assertEquals(25.0, statistics1.getAverageScore(), 0.0);
+		assertEquals(30, statistics1.getBestScore());
+		assertEquals("Player 1", statistics1.getPlayerName());
+		PlayerStatistics statistics2 = new StatisticsStore(getContext()).getStatistics("2");
+		assertEquals(2, statistics2.getGamesPlayed());
+		assertEquals(1, statistics2.getWins());
+		assertEquals(40, statistics2.getBestScore());
+	}
+
+	@Test
+	public void winsFollowTheScoringOfTheGameAndTiesAreWinsForEveryone() {
+		StatisticsStore testObject = new StatisticsStore(getContext());
+		testObject.gameAdded(createGame(Scoring.LOW, player1, 30, player2, 10));
+		testObject.gameAdded(createGame(Scoring.HIGH, player1, 15, player2, 15, player3, 5));
+
+		assertEquals(1, testObject.getStatistics("1").getWins());
+		assertEquals(2, testObject.getStatistics("2").getWins());
+		assertEquals(0, testObject.getStatistics("3").getWins());
+	}
+
+	@Test
+	public void removingAGameReversesItsContribution() {
+		StatisticsStore testObject = new StatisticsStore(getContext());
+		Game game1 = createGame(Scoring.HIGH, player1, 30, player2, 10);
+		Game game2 = createGame(Scoring.HIGH, player1, 20, player2, 40);
+		testObject.gameAdded(game1);
+		testObject.gameAdded(game2);
+
+		testObject.gameRemoved(game2, Arrays.asList(game1));
+
+		PlayerStatistics statistics2 = testObject.getStatistics("2");
+		assertEquals(1, statistics2.getGamesPlayed());
+		assertEquals(0, statistics2.getWins());
+		assertEquals(10, statistics2.getTotalScore());
+		assertEquals(10, statistics2.getBestScore());
+		assertEquals(30, testObject.getStatistics("1").getBestScore());
+	}
+
+	@Test
+	public void removingTheOnlyGameOfAPlayerRemovesTheirStatistics() {
+		StatisticsStore testObject = new StatisticsStore(getContext());
+		Game game1 = createGame(Scoring.HIGH, player1, 30, player2, 10);
+		Game game2 = createGame(Scoring.HIGH, player1, 20, player3, 40);
+		testObject.gameAdded(game1);
+		testObject.gameAdded(game2);
+
+		testObject.gameRemoved(game2, Arrays.asList(game1));
+
+		assertNull(testObject.getStatistics("3"));
+		assertEquals(2, testObject.getAllStatistics().size());
+	}
+
+	@Test
+	public void bestScoreIsOnlyRecomputedOnceTheLastGameWithItIsRemoved() {
+		StatisticsStore testObject = new StatisticsStore(getContext());
+		Game game1 = createGame(Scoring.HIGH, player1, 50);
+		Game game2 = createGame(Scoring.HIGH, player1, 50);
+		Game game3 = createGame(Scoring.HIGH, player1, 20);
+		testObject.gameAdded(game1);
+		testObject.gameAdded(game2);
+		testObject.gameAdded(game3);
+
+		testObject.gameRemoved(game1, new ArrayList<Game>());
+		assertEquals(50, testObject.getStatistics("1").getBestScore());
+
+		testObject.gameRemoved(game2, Arrays.asList(game3));
+		assertEquals(20, testObject.getStatistics("1").getBestScore());
+	}
+
+	@Test
+	public void bestScoreOfALowScoringGameIsTheLowestScore() {
+		StatisticsStore testObject = new StatisticsStore(getContext());
+		Game game1 = createGame(Scoring.LOW, player1, 12, player2, 30);
+		Game game2 = createGame(Scoring.LOW, player1, 40, player2, 8);
+		testObject.gameAdded(game1);
+		testObject.gameAdded(game2);
+
+		assertEquals(12, testObject.getStatistics("1").getBestScore());
+		assertEquals(8, testObject.getStatistics("2").getBestScore());
+
+		testObject.gameRemoved(game1, Arrays.asList(game2));
+		assertEquals(40, testObject.getStatistics("1").getBestScore());
+	}
+
+	@Test
+	public void rebuildingMatchesTheIncrementalStatistics() {
+		List<Game> games = Arrays.asList(createGame(Scoring.HIGH, player1, 30, player2, 10),
+				createGame(Scoring.LOW, player2, -5, player3, 7), createGame(Scoring.HIGH,
+						player3, 12, player1, 12));
+		StatisticsStore incremental = new StatisticsStore(getContext());
+		for (Game game : games) {
+			incremental.gameAdded(game);
+		}
+		List<PlayerStatistics> expected = incremental.getAllStatistics();
+
+		incremental.clear();
+		new StatisticsStore(getContext()).rebuild(Persistor.iteratorOver(games));
+
+		List<PlayerStatistics> actual = new StatisticsStore(getContext()).getAllStatistics();
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPlayerId(), actual.get(i).getPlayerId());
+			assertEquals(expected.get(i).getGamesPlayed(), actual.get(i).getGamesPlayed());
+			assertEquals(expected.get(i).getWins(), actual.get(i).getWins());
+			assertEquals(expected.get(i).getTotalScore(), actual.get(i).getTotalScore());
+			assertEquals(expected.get(i).getBestScore(), actual.get(i).getBestScore());
+		}
+	}
+
+	@Test
+	public void clearingRemovesAllStatistics() {
+		StatisticsStore testObject = new StatisticsStore(getContext());
+		testObject.gameAdded(createGame(Scoring.HIGH, player1, 30));
+
+		testObject.clear();
+
+		assertTrue(new StatisticsStore(getContext()).getAllStatistics().isEmpty());
+	}
+
+	private Game createGame(Scoring scoring, Object... playersAndScores) {
+		List<Player> players = new ArrayList<Player>();
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			players.add((Player) playersAndScores[i]);
+		}
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setScoring(scoring);
+		scoreBoard.setPlayers(players);
+		for (int i = 0; i < playersAndScores.length; i += 2) {
+			scoreBoard.setScore((Player) playersAndScores[i], (Integer) playersAndScores[i + 1]);
+		}
+		Game game = new Game();
+		game.setGameOverTimestamp(new Date());
+		game.setScoreBoard(scoreBoard);
+		return game;
+	}
+
+	private Player createPlayer(String id) {
+		Player player = new Player();
+		player.setId(id);
+		player.setName("Player " + id);
+		return player;
+	}
+}
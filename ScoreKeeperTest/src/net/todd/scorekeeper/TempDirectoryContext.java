@@ -0,0 +1,85 @@
+package net.todd.scorekeeper;
+
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import android.content.Context;
+
+public class TempDirectoryContext {
+	private final File tempDir;
+	private final Context context;
+
+	public TempDirectoryContext() throws IOException {
+		tempDir = File.createTempFile(getClass().getName(), ".data");
+		tempDir.delete();
+		tempDir.mkdir();
+
+		context = mock(Context.class);
+
+		when(context.openFileInput(anyString())).thenAnswer(new Answer<FileInputStream>() {
+			@Override
+			public FileInputStream answer(InvocationOnMock invocation) throws Throwable {
+				return new FileInputStream(getFile(invocation.getArguments()[0]));
+			}
+		});
+
+		when(context.openFileOutput(anyString(), anyInt())).thenAnswer(
+				new Answer<FileOutputStream>() {
+					@Override
+					public FileOutputStream answer(InvocationOnMock invocation) throws Throwable {
+						int mode = (Integer) invocation.getArguments()[1];
+						return new FileOutputStream(getFile(invocation.getArguments()[0]),
+								(mode & Context.MODE_APPEND) != 0);
+					}
+				});
+
+		when(context.getFileStreamPath(anyString())).thenAnswer(new Answer<File>() {
+			@Override
+			public File answer(InvocationOnMock invocation) throws Throwable {
+				return getFile(invocation.getArguments()[0]);
+			}
+		});
+
+		when(context.deleteFile(anyString())).thenAnswer(new Answer<Boolean>() {
+			@Override
+			public Boolean answer(InvocationOnMock invocation) throws Throwable {
+				return getFile(invocation.getArguments()[0]).delete();
+			}
+		});
+	}
+
+	public Context getContext() {
+		return context;
+	}
+
+	public File getFile(Object filename) {
+		return new File(tempDir, (String) filename);
+	}
+
+	public long getTotalFileSize() {
+		long totalSize = 0;
+		for (File file : tempDir.listFiles()) {
+			totalSize += file.length();
+		}
+		return totalSize;
+	}
+
+	public void clear() {
+		for (File file : tempDir.listFiles()) {
+			file.delete();
+		}
+	}
+
+	public void delete() {
+		clear();
+		tempDir.delete();
+	}
+}
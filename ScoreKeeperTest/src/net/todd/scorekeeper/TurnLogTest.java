@@ -0,0 +1,90 @@
+package net.todd.scorekeeper;
+
+import static org.junit.Assert.*;
+
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import net.todd.scorekeeper.data.TurnEvent;
+
+import org.junit.Test;
+
+public class TurnLogTest extends AbstractStoreTest {
+	@Test
+	public void logIsEmptyInitially() {
+		assertTrue(new TurnLog(getContext()).readAll().isEmpty());
+	}
+
+	@Test
+	public void appendedEventsAreReadBackInOrder() {
+		new TurnLog(getContext()).append(Arrays.asList(new TurnEvent(
+				TurnEvent.Type.SCORE_ADDED, "1", -5)));
+		new TurnLog(getContext()).append(Arrays.asList(new TurnEvent(
+				TurnEvent.Type.PLAYER_ADVANCED, "2", 0), new TurnEvent(
+				TurnEvent.Type.PLAYER_MOVED_BACK, null, 0)));
+
+		List<TurnEvent> events = new TurnLog(getContext()).readAll();
+		assertEquals(3, events.size());
+		assertEquals(TurnEvent.Type.SCORE_ADDED, events.get(0).getType());
+		assertEquals("1", events.get(0).getPlayerId());
+		assertEquals(-5, events.get(0).getPoints());
+		assertEquals(TurnEvent.Type.PLAYER_ADVANCED, events.get(1).getType());
+		assertEquals("2", events.get(1).getPlayerId());
+		assertEquals(TurnEvent.Type.PLAYER_MOVED_BACK, events.get(2).getType());
+		assertNull(events.get(2).getPlayerId());
+	}
+
+	@Test
+	public void readingFromAnEventSkipsTheEventsBeforeIt() {
+		new TurnLog(getContext()).append(Arrays.asList(new TurnEvent(
+				TurnEvent.Type.SCORE_ADDED, "1", 1), new TurnEvent(TurnEvent.Type.SCORE_ADDED,
+				"1", 2), new TurnEvent(TurnEvent.Type.SCORE_ADDED, "1", 3)));
+
+		List<TurnEvent> events = new TurnLog(getContext()).readFrom(2);
+		assertEquals(1, events.size());
+		assertEquals(3, events.get(0).getPoints());
+	}
+
+	@Test
+	public void aTornEventAtTheEndOfTheLogIsIgnored() throws Exception {
+		new TurnLog(getContext()).append(Arrays.asList(new TurnEvent(
+				TurnEvent.Type.SCORE_ADDED, "1", 1)));
+		FileOutputStream output = new FileOutputStream(getFile(TurnEvent.class.getName()
+				+ ".log"), true);
+		output.write(new byte[] { 0, 0, 1 });
+		output.close();
+
+		assertEquals(1, new TurnLog(getContext()).readAll().size());
+	}
+
+	@Test
+	public void eventsAppendedAfterATornTailAreReadBack() throws Exception {
+		new TurnLog(getContext()).append(Arrays.asList(new TurnEvent(
+				TurnEvent.Type.SCORE_ADDED, "1", 1), new TurnEvent(TurnEvent.Type.SCORE_ADDED,
+				"1", 2)));
+		RandomAccessFile file = new RandomAccessFile(getFile(TurnEvent.class.getName()
+				+ ".log"), "rw");
+		file.setLength(file.length() - 3);
+		file.close();
+
+		new TurnLog(getContext()).append(Arrays.asList(new TurnEvent(
+				TurnEvent.Type.SCORE_ADDED, "1", 3)));
+
+		List<TurnEvent> events = new TurnLog(getContext()).readAll();
+		assertEquals(2, events.size());
+		assertEquals(1, events.get(0).getPoints());
+		assertEquals(3, events.get(1).getPoints());
+	}
+
+	@Test
+	public void clearingTheLogRemovesAllEvents() {
+		new TurnLog(getContext()).append(Arrays.asList(new TurnEvent(
+				TurnEvent.Type.SCORE_ADDED, "1", 1)));
+
+		new TurnLog(getContext()).clear();
+
+		assertTrue(new TurnLog(getContext()).readAll().isEmpty());
+	}
+}
@@ -0,0 +1,215 @@
+package net.todd.scorekeeper.data;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import net.todd.scorekeeper.AbstractStoreTest;
+import net.todd.scorekeeper.CloseableIterator;
+import net.todd.scorekeeper.Scoring;
+
+import org.junit.Test;
+
+public class BinaryPersistorTest extends AbstractStoreTest {
+	@Test
+	public void loadedListIsEmptyInitially() {
+		assertTrue(BinaryPersistor.create(Game.class, getContext()).load().isEmpty());
+	}
+
+	@Test
+	public void savingGamesThenLoadingThemBackYieldsTheSameGames() {
+		Player player1 = createPlayer();
+		Player player2 = createPlayer();
+		player2.setSelected(true);
+		Game game1 = createGame(Scoring.LOW, player1, player2);
+		game1.getScoreBoard().setScore(player1, -15);
+		game1.getScoreBoard().setScore(player2, 300);
+		Game game2 = createGame(Scoring.HIGH, player2);
+		game2.setGameName(null);
+		game2.setGameOverTimestamp(null);
+
+		BinaryPersistor.create(Game.class, getContext()).persist(Arrays.asList(game1, game2));
+		List<Game> games = BinaryPersistor.create(Game.class, getContext()).load();
+
+		assertEquals(2, games.size());
+		assertGamesEqual(game1, games.get(0));
+		assertGamesEqual(game2, games.get(1));
+	}
+
+	@Test
+	public void savingPlayersThenLoadingThemBackYieldsTheSamePlayers() {
+		List<Player> players = Arrays.asList(createPlayer(), createPlayer());
+
+		BinaryPersistor.create(Player.class, getContext()).persist(players);
+
+		assertEquals(players, BinaryPersistor.create(Player.class, getContext()).load());
+	}
+
+	@Test
+	public void currentPlayerOfTheCurrentGameIsTheSamePlayerAsOnTheScoreBoard() {
+		Player player1 = createPlayer();
+		Player player2 = createPlayer();
+		CurrentGame currentGame = new CurrentGame();
+		currentGame.setGameName(UUID.randomUUID().toString());
+		currentGame.setScoreBoard(createGame(Scoring.HIGH, player1, player2).getScoreBoard());
+		currentGame.setCurrentPlayer(player2);
+		currentGame.setTurnCount(42);
+
+		BinaryPersistor.create(CurrentGame.class, getContext()).persist(
+				Arrays.asList(currentGame));
+		CurrentGame loadedGame = BinaryPersistor.create(CurrentGame.class, getContext()).load()
+				.get(0);
+
+		assertEquals(currentGame.getGameName(), loadedGame.getGameName());
+		assertEquals(player2, loadedGame.getCurrentPlayer());
+		assertEquals(42, loadedGame.getTurnCount());
+		assertSame(loadedGame.getScoreBoard().getEntriesInStoredOrder().get(1).getPlayer(),
+				loadedGame.getCurrentPlayer());
+	}
+
+	@Test
+	public void binaryFileIsMuchSmallerThanTheXmlFile() {
+		Player player1 = createPlayer();
+		Player player2 = createPlayer();
+		List<Game> games = new ArrayList<Game>();
+		for (int i = 0; i < 100; i++) {
+			Game game = createGame(Scoring.HIGH, player1, player2);
+			game.setGameName("Hearts");
+			games.add(game);
+		}
+
+		BinaryPersistor.create(Game.class, getContext()).persist(games);
+		XmlPersistor.create(Game.class, getContext()).persist(games);
+
+		long binarySize = getFile(Game.class.getName() + ".bin").length();
+		long xmlSize = getFile(Game.class.getName() + ".xml").length();
+		assertTrue(binarySize + " vs " + xmlSize, binarySize * 5 < xmlSize);
+	}
+
+	@Test
+	public void iteratingStreamsRecordsInOrder() {
+		List<Player> players = Arrays.asList(createPlayer(), createPlayer(), createPlayer());
+		BinaryPersistor.create(Player.class, getContext()).persist(players);
+
+		CloseableIterator<Player> iterator = BinaryPersistor.create(Player.class, getContext())
+				.iterate();
+		List<Player> iteratedPlayers = new ArrayList<Player>();
+		while (iterator.hasNext()) {
+			iteratedPlayers.add(iterator.next());
+		}
+		assertEquals(players, iteratedPlayers);
+	}
+
+	@Test
+	public void existingXmlDataIsMigratedToTheBinaryFile() {
+		List<Player> players = Arrays.asList(createPlayer(), createPlayer());
+		XmlPersistor.create(Player.class, getContext()).persist(players);
+
+		assertEquals(players, BinaryPersistor.create(Player.class, getContext()).load());
+		assertTrue(getFile(Player.class.getName() + ".bin").length() > 0);
+		assertTrue(XmlPersistor.create(Player.class, getContext()).load().isEmpty());
+	}
+
+	@Test
+	public void fileWithTheWrongHeaderIsNotLoaded() throws Exception {
+		FileOutputStream output = new FileOutputStream(getFile(Player.class.getName() + ".bin"));
+		output.write("<list/>".getBytes("UTF-8"));
+		output.close();
+
+		assertTrue(BinaryPersistor.create(Player.class, getContext()).load().isEmpty());
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void aTruncatedFileFailsToLoadInsteadOfLosingRecords() throws Exception {
+		BinaryPersistor.create(Player.class, getContext()).persist(
+				Arrays.asList(createPlayer(), createPlayer(), createPlayer()));
+		File file = getFile(Player.class.getName() + ".bin");
+		RandomAccessFile truncated = new RandomAccessFile(file, "rw");
+		truncated.setLength(file.length() - 4);
+		truncated.close();
+
+		BinaryPersistor.create(Player.class, getContext()).load();
+	}
+
+	@Test
+	public void recordCodecReadsBothBinaryAndXmlRecords() throws Exception {
+		Game game = createGame(Scoring.LOW, createPlayer(), createPlayer());
+		RecordCodec<Game> binaryCodec = new BinaryRecordCodec<Game>(Game.class);
+		RecordCodec<Game> xmlCodec = new XStreamRecordCodec<Game>(Game.class);
+
+		assertGamesEqual(game, binaryCodec.decode(binaryCodec.encode(game)));
+		assertGamesEqual(game, binaryCodec.decode(xmlCodec.encode(game)));
+	}
+
+	@Test
+	public void gameRecordsWithAResolverOnlyHoldPlayerKeys() throws Exception {
+		final Player player1 = createPlayer();
+		final Player player2 = createPlayer();
+		player2.setId("not-a-uuid");
+		PlayerResolver resolver = new PlayerResolver() {
+			@Override
+			public Player resolve(String playerId) {
+				return playerId.equals(player1.getId()) ? player1 : player2;
+			}
+
+			@Override
+			public Player resolveInline(Player player) {
+				return resolve(player.getId());
+			}
+		};
+		Game game = createGame(Scoring.HIGH, player1, player2);
+		RecordCodec<Game> keyedCodec = new BinaryRecordCodec<Game>(Game.class, resolver);
+		RecordCodec<Game> inlineCodec = new BinaryRecordCodec<Game>(Game.class);
+
+		byte[] keyedRecord = keyedCodec.encode(game);
+		Game decodedGame = keyedCodec.decode(keyedRecord);
+
+		assertTrue(keyedRecord.length < inlineCodec.encode(game).length);
+		assertSame(player1, decodedGame.getScoreBoard().getEntriesInStoredOrder().get(0)
+				.getPlayer());
+		assertSame(player2, decodedGame.getScoreBoard().getEntriesInStoredOrder().get(1)
+				.getPlayer());
+		assertSame(player1, keyedCodec.decode(inlineCodec.encode(game)).getScoreBoard()
+				.getEntriesInStoredOrder().get(0).getPlayer());
+	}
+
+	private void assertGamesEqual(Game expected, Game actual) {
+		assertEquals(expected.getGameOverTimestamp(), actual.getGameOverTimestamp());
+		assertEquals(expected.getGameName(), actual.getGameName());
+		ScoreBoard expectedScoreBoard = expected.getScoreBoard();
+		ScoreBoard actualScoreBoard = actual.getScoreBoard();
+		assertEquals(expectedScoreBoard.getScoring(), actualScoreBoard.getScoring());
+		List<ScoreBoardEntry> expectedEntries = expectedScoreBoard.getEntriesInStoredOrder();
+		List<ScoreBoardEntry> actualEntries = actualScoreBoard.getEntriesInStoredOrder();
+		assertEquals(expectedEntries.size(), actualEntries.size());
+		for (int i = 0; i < expectedEntries.size(); i++) {
+			assertEquals(expectedEntries.get(i).getPlayer(), actualEntries.get(i).getPlayer());
+			assertEquals(expectedEntries.get(i).getScore(), actualEntries.get(i).getScore());
+		}
+	}
+
+	private Game createGame(Scoring scoring, Player... players) {
+		ScoreBoard scoreBoard = new ScoreBoard();
+		scoreBoard.setScoring(scoring);
+		scoreBoard.setPlayers(Arrays.asList(players));
+		Game game = new Game();
+		game.setGameName(UUID.randomUUID().toString());
+		game.setGameOverTimestamp(new Date());
+		game.setScoreBoard(scoreBoard);
+		return game;
+	}
+
+	private Player createPlayer() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		player.setName(UUID.randomUUID().toString());
+		return player;
+	}
+}
@@ -0,0 +1,128 @@
+package net.todd.scorekeeper.data;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import net.todd.scorekeeper.AbstractStoreTest;
+import net.todd.scorekeeper.Persistor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachingPersistorTest extends AbstractStoreTest {
+	private Persistor<Person> delegate;
+	private CachingPersistor<Person> testObject;
+
+	@Before
+	public void setUp() {
+		delegate = spy(XmlPersistor.create(Person.class, getContext()));
+		testObject = CachingPersistor.create(Person.class, delegate, getContext());
+	}
+
+	@Test
+	public void repeatedLoadsOnlyReadFromDiskOnce() {
+		Person person = createPerson();
+		XmlPersistor.create(Person.class, getContext()).persist(
+				new ArrayList<Person>(Arrays.asList(person)));
+
+		assertEquals(Arrays.asList(person), testObject.load());
+		assertEquals(Arrays.asList(person), testObject.load());
+		assertEquals(Arrays.asList(person), testObject.load());
+
+		verify(delegate, times(1)).load();
+		assertEquals(1, testObject.getMissCount());
+		assertEquals(2, testObject.getHitCount());
+	}
+
+	@Test
+	public void persistingWritesThroughAndRereadsOnTheNextLoad() {
+		Person person = createPerson();
+		testObject.persist(new ArrayList<Person>(Arrays.asList(person)));
+
+		assertEquals(Arrays.asList(person), testObject.load());
+		assertEquals(Arrays.asList(person), testObject.load());
+
+		verify(delegate).persist(Arrays.asList(person));
+		verify(delegate, times(1)).load();
+		assertEquals(Arrays.asList(person), XmlPersistor.create(Person.class, getContext())
+				.load());
+	}
+
+	@Test
+	public void changingAPersistedItemDoesNotChangeTheCache() {
+		Person person = createPerson();
+		String name = person.getName();
+		testObject.persist(new ArrayList<Person>(Arrays.asList(person)));
+
+		person.setName("changed");
+
+		assertEquals(name, testObject.load().get(0).getName());
+	}
+
+	@Test
+	public void changingTheReturnedListDoesNotChangeTheCache() {
+		testObject.persist(new ArrayList<Person>(Arrays.asList(createPerson())));
+
+		List<Person> people = testObject.load();
+		people.clear();
+
+		assertEquals(1, testObject.load().size());
+	}
+
+	@Test
+	public void cacheIsInvalidatedWhenTheFileChangesUnderneathIt() throws Exception {
+		Person person1 = createPerson();
+		testObject.persist(new ArrayList<Person>(Arrays.asList(person1)));
+
+		Person person2 = createPerson();
+		XmlPersistor.create(Person.class, getContext()).persist(
+				new ArrayList<Person>(Arrays.asList(person1, person2)));
+
+		assertEquals(Arrays.asList(person1, person2), testObject.load());
+		verify(delegate).load();
+	}
+
+	@Test
+	public void cacheIsInvalidatedWhenAnotherPersistorRewritesTheFileAtTheSameLength() {
+		Person person1 = createPerson();
+		testObject.persist(new ArrayList<Person>(Arrays.asList(person1)));
+		testObject.load();
+
+		Person person2 = createPerson();
+		XmlPersistor.create(Person.class, getContext()).persist(
+				new ArrayList<Person>(Arrays.asList(person2)));
+
+		assertEquals(Arrays.asList(person2), testObject.load());
+	}
+
+	@Test
+	public void cacheIsInvalidatedWhenTheFileIsRemoved() throws Exception {
+		testObject.persist(new ArrayList<Person>(Arrays.asList(createPerson())));
+
+		getFile(Person.class.getName() + ".xml").delete();
+
+		assertTrue(testObject.load().isEmpty());
+		assertEquals(1, testObject.getMissCount());
+	}
+
+	@Test
+	public void cacheIsInvalidatedWhenTheFileIsTruncated() throws Exception {
+		testObject.persist(new ArrayList<Person>(Arrays.asList(createPerson())));
+
+		new FileOutputStream(getFile(Person.class.getName() + ".xml")).close();
+
+		assertTrue(testObject.load().isEmpty());
+	}
+
+	private Person createPerson() {
+		Person person = new Person();
+		person.setName(UUID.randomUUID().toString());
+		return person;
+	}
+}
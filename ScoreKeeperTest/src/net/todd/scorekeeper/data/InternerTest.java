@@ -0,0 +1,47 @@
+package net.todd.scorekeeper.data;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class InternerTest {
+	@Test
+	public void equalValuesAreReplacedByTheFirstInstance() {
+		Interner<String> testObject = new Interner<String>();
+		String first = new String("Hearts");
+
+		assertSame(first, testObject.intern(first));
+		assertSame(first, testObject.intern(new String("Hearts")));
+		assertEquals(1, testObject.size());
+	}
+
+	@Test
+	public void differentValuesAreKeptApart() {
+		Interner<String> testObject = new Interner<String>();
+
+		assertEquals("Hearts", testObject.intern("Hearts"));
+		assertEquals("Spades", testObject.intern("Spades"));
+		assertEquals(2, testObject.size());
+	}
+
+	@Test
+	public void nullIsNotInterned() {
+		Interner<String> testObject = new Interner<String>();
+
+		assertNull(testObject.intern(null));
+		assertEquals(0, testObject.size());
+	}
+
+	@Test
+	public void aValueThatChangedSinceItWasInternedIsNotHandedOut() {
+		Interner<Player> testObject = new Interner<Player>();
+		Player player = new Player();
+		player.setId("id");
+		testObject.intern(player);
+		player.setName("renamed");
+
+		Player other = new Player();
+		other.setId("id");
+		assertSame(other, testObject.intern(other));
+	}
+}
@@ -0,0 +1,426 @@
+package net.todd.scorekeeper.data;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import net.todd.scorekeeper.AbstractStoreTest;
+import net.todd.scorekeeper.CloseableIterator;
+import net.todd.scorekeeper.Persistor;
+
+import org.junit.Test;
+
+public class JournalPersistorTest extends AbstractStoreTest {
+	private static final long NEVER_COMPACT = Long.MAX_VALUE;
+
+	@Test
+	public void loadedListOfEntitiesIsEmptyInitially() {
+		assertTrue("Person list should be empty", createPersistor(NEVER_COMPACT).load()
+				.isEmpty());
+	}
+
+	@Test
+	public void savingEntitiesThenLoadingThemBackYieldsSameEntitiesInOrder() {
+		Person person1 = createPerson();
+		Person person2 = createPerson();
+		createPersistor(NEVER_COMPACT).persist(
+				new ArrayList<Person>(Arrays.asList(person1, person2)));
+
+		assertEquals(Arrays.asList(person1, person2), createPersistor(NEVER_COMPACT).load());
+	}
+
+	@Test
+	public void addingAnEntityOnlyAppendsToTheJournal() throws Exception {
+		Persistor<Person> persistor = createPersistor(NEVER_COMPACT);
+		Person person1 = createPerson();
+		persistor.persist(new ArrayList<Person>(Arrays.asList(person1)));
+		byte[] originalContents = readJournal();
+
+		List<Person> people = persistor.load();
+		Person person2 = createPerson();
+		people.add(person2);
+		persistor.persist(people);
+
+		byte[] newContents = readJournal();
+		assertTrue(newContents.length > originalContents.length);
+		assertArrayEquals(originalContents, Arrays.copyOf(newContents, originalContents.length));
+		assertEquals(Arrays.asList(person1, person2), createPersistor(NEVER_COMPACT).load());
+	}
+
+	@Test
+	public void removingAnEntityAppendsATombstone() throws Exception {
+		Persistor<Person> persistor = createPersistor(NEVER_COMPACT);
+		Person person1 = createPerson();
+		Person person2 = createPerson();
+		Person person3 = createPerson();
+		persistor.persist(new ArrayList<Person>(Arrays.asList(person1, person2, person3)));
+		byte[] originalContents = readJournal();
+
+		List<Person> people = persistor.load();
+		people.remove(1);
+		persistor.persist(people);
+
+		byte[] newContents = readJournal();
+		assertArrayEquals(originalContents, Arrays.copyOf(newContents, originalContents.length));
+		assertEquals(Arrays.asList(person1, person3), createPersistor(NEVER_COMPACT).load());
+	}
+
+	@Test
+	public void reorderingEntitiesRewritesTheJournal() {
+		Persistor<Person> persistor = createPersistor(NEVER_COMPACT);
+		Person person1 = createPerson();
+		Person person2 = createPerson();
+		persistor.persist(new ArrayList<Person>(Arrays.asList(person1, person2)));
+
+		List<Person> people = persistor.load();
+		persistor.persist(new ArrayList<Person>(Arrays.asList(people.get(1), people.get(0))));
+
+		assertEquals(Arrays.asList(person2, person1), createPersistor(NEVER_COMPACT).load());
+	}
+
+	@Test
+	public void persistingAnEmptyListClearsTheJournal() {
+		Persistor<Person> persistor = createPersistor(NEVER_COMPACT);
+		persistor.persist(new ArrayList<Person>(Arrays.asList(createPerson())));
+
+		persistor.persist(new ArrayList<Person>());
+
+		assertEquals(0, getJournalFile().length());
+		assertTrue(createPersistor(NEVER_COMPACT).load().isEmpty());
+	}
+
+	@Test
+	public void aTornRecordAtTheEndOfTheJournalIsIgnored() throws Exception {
+		Person person1 = createPerson();
+		createPersistor(NEVER_COMPACT).persist(new ArrayList<Person>(Arrays.asList(person1)));
+		FileOutputStream output = new FileOutputStream(getJournalFile(), true);
+		output.write(new byte[] { JournalPersistor.ADD_RECORD, 0, 0, 0, 1, 0, 0, 1 });
+		output.close();
+
+		Persistor<Person> persistor = createPersistor(NEVER_COMPACT);
+		List<Person> people = persistor.load();
+		assertEquals(Arrays.asList(person1), people);
+
+		Person person2 = createPerson();
+		people.add(person2);
+		persistor.persist(people);
+
+		assertEquals(Arrays.asList(person1, person2), createPersistor(NEVER_COMPACT).load());
+	}
+
+	@Test
+	public void aCorruptRecordInTheMiddleIsSkippedWithoutLosingLaterRecords() throws Exception {
+		Person person1 = createPerson();
+		Person person2 = createPerson();
+		Person person3 = createPerson();
+		JournalPersistor<Person> persistor = createPersistor(NEVER_COMPACT);
+		persistor.persist(new ArrayList<Person>(Arrays.asList(person1, person2)));
+		long endOfPerson2 = getJournalFile().length();
+		persistor.persist(new ArrayList<Person>(Arrays.asList(person1, person2, person3)));
+		RandomAccessFile file = new RandomAccessFile(getJournalFile(), "rw");
+		file.seek(endOfPerson2 - 5);
+		int damaged = file.read() ^ 0xff;
+		file.seek(endOfPerson2 - 5);
+		file.write(damaged);
+		file.close();
+
+		persistor = createPersistor(NEVER_COMPACT);
+		List<Person> people = persistor.load();
+		assertEquals(Arrays.asList(person1, person3), people);
+
+		Person person4 = createPerson();
+		people.add(person4);
+		persistor.persist(people);
+
+		assertEquals(Arrays.asList(person1, person3, person4),
+				createPersistor(NEVER_COMPACT).load());
+	}
+
+	@Test
+	public void journalIsCompactedOnceDeadSpacePassesTheThreshold() throws Exception {
+		JournalPersistor<Person> persistor = createPersistor(1);
+		Person person1 = createPerson();
+		Person person2 = createPerson();
+		persistor.persist(new ArrayList<Person>(Arrays.asList(person1, person2)));
+		long originalLength = getJournalFile().length();
+
+		List<Person> people = persistor.load();
+		people.remove(0);
+		persistor.persist(people);
+		persistor.awaitCompaction();
+
+		assertEquals(0, persistor.getDeadBytes());
+		assertTrue(getJournalFile().length() < originalLength);
+		assertEquals(Arrays.asList(person2), createPersistor(NEVER_COMPACT).load());
+	}
+
+	@Test
+	public void existingXmlDataIsMigratedIntoTheJournal() {
+		Person person1 = createPerson();
+		Person person2 = createPerson();
+		XmlPersistor.create(Person.class, getContext()).persist(
+				new ArrayList<Person>(Arrays.asList(person1, person2)));
+
+		assertEquals(Arrays.asList(person1, person2), createPersistor(NEVER_COMPACT).load());
+		assertTrue(getJournalFile().length() > 0);
+		assertTrue(XmlPersistor.create(Person.class, getContext()).load().isEmpty());
+	}
+
+	@Test
+	public void iteratingStreamsTheLiveEntitiesInOrder() {
+		Persistor<Person> persistor = createPersistor(NEVER_COMPACT);
+		Person person1 = createPerson();
+		Person person2 = createPerson();
+		Person person3 = createPerson();
+		persistor.persist(new ArrayList<Person>(Arrays.asList(person1, person2, person3)));
+		List<Person> people = persistor.load();
+		people.remove(1);
+		persistor.persist(people);
+
+		assertEquals(Arrays.asList(person1, person3), drain(createPersistor(NEVER_COMPACT)
+				.iterate()));
+	}
+
+	@Test
+	public void pagesAreReturnedNewestFirst() {
+		List<Person> people = createPeople(3, 1, 5, 2, 4);
+		createIndexedPersistor().persist(people);
+
+		JournalPersistor<Person> persistor = createIndexedPersistor();
+		assertEquals(5, persistor.count());
+		assertEquals(Arrays.asList(people.get(2), people.get(4)), persistor.loadNewest(0, 2));
+		assertEquals(Arrays.asList(people.get(0), people.get(3)), persistor.loadNewest(2, 2));
+		assertEquals(Arrays.asList(people.get(1)), persistor.loadNewest(4, 2));
+		assertTrue(persistor.loadNewest(5, 2).isEmpty());
+	}
+
+	@Test
+	public void pagesCanBeReturnedOldestFirst() {
+		List<Person> people = createPeople(3, 1, 5, 2, 4);
+		createIndexedPersistor().persist(people);
+
+		JournalPersistor<Person> persistor = createIndexedPersistor();
+		assertEquals(Arrays.asList(people.get(1), people.get(3)), persistor.loadOldest(0, 2));
+		assertEquals(Arrays.asList(people.get(0), people.get(4)), persistor.loadOldest(2, 2));
+		assertEquals(Arrays.asList(people.get(2)), persistor.loadOldest(4, 2));
+		assertTrue(persistor.loadOldest(5, 2).isEmpty());
+	}
+
+	@Test
+	public void appendedAndRemovedEntitiesAreReflectedInThePages() {
+		JournalPersistor<Person> persistor = createIndexedPersistor();
+		persistor.persist(createPeople(1, 2, 3));
+		List<Person> people = persistor.load();
+		people.remove(1);
+		persistor.persist(people);
+		people.addAll(createPeople(4, 0));
+		persistor.persist(people);
+
+		assertEquals(createPeople(4, 3, 1, 0), createIndexedPersistor().loadNewest(0, 10));
+		assertEquals(4, createIndexedPersistor().count());
+	}
+
+	@Test
+	public void indexIsWrittenAlongsideTheJournal() {
+		createIndexedPersistor().persist(createPeople(1, 2, 3));
+		JournalPersistor<Person> persistor = createIndexedPersistor();
+
+		assertEquals(createPeople(3), persistor.loadNewest(0, 1));
+		assertTrue(getFile(Person.class.getName() + ".journal.index").length() > 0);
+	}
+
+	@Test
+	public void aMissingOrStaleIndexIsRebuilt() throws Exception {
+		createIndexedPersistor().persist(createPeople(1, 2));
+		getFile(Person.class.getName() + ".journal.index").delete();
+
+		assertEquals(createPeople(2, 1), createIndexedPersistor().loadNewest(0, 10));
+
+		createPersistor(NEVER_COMPACT).persist(createPeople(1, 2, 3));
+
+		assertEquals(createPeople(3, 2, 1), createIndexedPersistor().loadNewest(0, 10));
+	}
+
+	@Test
+	public void keyRangesAreReturnedNewestFirst() {
+		List<Person> people = createPeople(3, 1, 5, 2, 4, 7);
+		createIndexedPersistor().persist(people);
+
+		JournalPersistor<Person> persistor = createIndexedPersistor();
+		assertEquals(createPeople(4, 3, 2), persistor.loadByKeyRange(2, 5));
+		assertEquals(3, persistor.countByKeyRange(2, 5));
+		assertEquals(createPeople(7), persistor.loadByKeyRange(6, Long.MAX_VALUE));
+		assertTrue(persistor.loadByKeyRange(8, 10).isEmpty());
+		assertEquals(0, persistor.countByKeyRange(5, 5));
+	}
+
+	@Test
+	public void recordsCanBeFoundByKey() {
+		JournalPersistor<Person> persistor = createIndexedPersistor();
+		persistor.persist(createPeople(1, 2, 3));
+		List<Person> people = persistor.load();
+		people.remove(1);
+		persistor.persist(people);
+
+		assertEquals(createPeople(3).get(0), createIndexedPersistor().findByKey(3));
+		assertNull(createIndexedPersistor().findByKey(2));
+		assertNull(createIndexedPersistor().findByKey(4));
+	}
+
+	@Test
+	public void recordsCanBeLoadedByKeysInTheGivenOrder() {
+		createIndexedPersistor().persist(createPeople(1, 2, 3));
+
+		assertEquals(createPeople(3, 1), createIndexedPersistor().loadByKeys(new long[] { 3, 1 }));
+	}
+
+	@Test
+	public void keysOfRemovedRecordsAreNoLongerContained() {
+		JournalPersistor<Person> persistor = createIndexedPersistor();
+		persistor.persist(createPeople(1, 2, 3));
+		List<Person> people = persistor.load();
+		people.remove(1);
+		persistor.persist(people);
+
+		assertTrue(createIndexedPersistor().containsKey(3));
+		assertFalse(createIndexedPersistor().containsKey(2));
+		assertFalse(createIndexedPersistor().containsKey(4));
+	}
+
+	@Test
+	public void addingARecordToAnUnloadedJournalDoesNotDecodeTheHistory() throws Exception {
+		createIndexedPersistor().persist(createPeople(1, 2));
+		byte[] originalContents = readJournal();
+		final int[] decodeCount = new int[1];
+		JournalPersistor<Person> persistor = createIndexedPersistor(new XStreamRecordCodec<Person>(
+				Person.class) {
+			@Override
+			public Person decode(byte[] record) throws IOException {
+				decodeCount[0]++;
+				return super.decode(record);
+			}
+		});
+
+		persistor.add(createPeople(3).get(0));
+
+		assertEquals(0, decodeCount[0]);
+		byte[] newContents = readJournal();
+		assertArrayEquals(originalContents, Arrays.copyOf(newContents, originalContents.length));
+		assertEquals(3, createIndexedPersistor().count());
+		assertEquals(createPeople(1, 2, 3), createIndexedPersistor().load());
+	}
+
+	@Test
+	public void rewritingALoadedJournalDoesNotDecodeItAgain() {
+		createIndexedPersistor().persist(createPeople(1, 2));
+		final int[] decodeCount = new int[1];
+		JournalPersistor<Person> persistor = createIndexedPersistor(new XStreamRecordCodec<Person>(
+				Person.class) {
+			@Override
+			public Person decode(byte[] record) throws IOException {
+				decodeCount[0]++;
+				return super.decode(record);
+			}
+		});
+		persistor.load();
+
+		persistor.rewriteAll();
+
+		assertEquals(2, decodeCount[0]);
+		assertEquals(createPeople(1, 2), createIndexedPersistor().load());
+	}
+
+	@Test
+	public void recordsAddedToAnUnloadedJournalCanBeRemovedLater() {
+		createIndexedPersistor().persist(createPeople(1, 2));
+		createIndexedPersistor().add(createPeople(3).get(0));
+		createIndexedPersistor().add(createPeople(4).get(0));
+
+		JournalPersistor<Person> persistor = createIndexedPersistor();
+		List<Person> people = persistor.load();
+		people.remove(2);
+		persistor.persist(people);
+
+		assertEquals(createPeople(1, 2, 4), createIndexedPersistor().load());
+		assertEquals(createPeople(1, 2, 4), drain(createIndexedPersistor().iterate()));
+	}
+
+	@Test
+	public void addingAnOutOfOrderRecordStillKeepsTheIndexInOrder() {
+		createIndexedPersistor().persist(createPeople(1, 3));
+		createIndexedPersistor().add(createPeople(2).get(0));
+
+		assertEquals(createPeople(3, 2, 1), createIndexedPersistor().loadNewest(0, 3));
+	}
+
+	private JournalPersistor<Person> createPersistor(long compactionThreshold) {
+		return new JournalPersistor<Person>(Person.class, getContext(),
+				new XStreamRecordCodec<Person>(Person.class), XmlPersistor.create(Person.class,
+						getContext()), compactionThreshold, null);
+	}
+
+	private JournalPersistor<Person> createIndexedPersistor() {
+		return createIndexedPersistor(new XStreamRecordCodec<Person>(Person.class));
+	}
+
+	private JournalPersistor<Person> createIndexedPersistor(RecordCodec<Person> codec) {
+		return new JournalPersistor<Person>(Person.class, getContext(), codec, XmlPersistor
+				.create(Person.class, getContext()), NEVER_COMPACT, new RecordKey<Person>() {
+					@Override
+					public long keyOf(Person person) {
+						return Long.parseLong(person.getName());
+					}
+				});
+	}
+
+	private List<Person> createPeople(long... keys) {
+		List<Person> people = new ArrayList<Person>();
+		for (long key : keys) {
+			Person person = new Person();
+			person.setName(String.valueOf(key));
+			people.add(person);
+		}
+		return people;
+	}
+
+	private List<Person> drain(CloseableIterator<Person> iterator) {
+		List<Person> people = new ArrayList<Person>();
+		while (iterator.hasNext()) {
+			people.add(iterator.next());
+		}
+		return people;
+	}
+
+	private Person createPerson() {
+		Person person = new Person();
+		person.setName(UUID.randomUUID().toString());
+		return person;
+	}
+
+	private File getJournalFile() {
+		return getFile(Person.class.getName() + ".journal");
+	}
+
+	private byte[] readJournal() throws Exception {
+		File journal = getJournalFile();
+		byte[] contents = new byte[(int) journal.length()];
+		FileInputStream input = new FileInputStream(journal);
+		try {
+			int offset = 0;
+			while (offset < contents.length) {
+				offset += input.read(contents, offset, contents.length - offset);
+			}
+		} finally {
+			input.close();
+		}
+		return contents;
+	}
+}
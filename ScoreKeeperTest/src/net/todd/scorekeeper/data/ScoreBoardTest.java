@@ -2,6 +2,10 @@ package net.todd.scorekeeper.data;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
@@ -103,4 +107,141 @@ public class ScoreBoardTest {
 		assertEquals(player1, entries.get(1).getPlayer());
 		assertEquals(player2, entries.get(2).getPlayer());
 	}
+
+	@Test
+	public void aCopyDoesNotChangeWhenTheOriginalChanges() {
+		testObject.setScoring(Scoring.LOW);
+		testObject.setScore(player1, 3);
+
+		ScoreBoard copy = testObject.copy();
+		testObject.setScore(player1, 10);
+
+		assertEquals(3, copy.getScore(player1));
+		assertEquals(Scoring.LOW, copy.getScoring());
+		assertEquals(3, copy.getEntries().size());
+	}
+
+	@Test
+	public void scoresAreFoundByPlayerIdEvenIfThePlayerIsSelectedDifferently() {
+		Player samePlayer = new Player();
+		samePlayer.setId(player2.getId());
+		samePlayer.setName(player2.getName());
+		samePlayer.setSelected(!player2.isSelected());
+
+		testObject.setScore(samePlayer, 12);
+
+		assertEquals(12, testObject.getScore(player2));
+	}
+
+	@Test
+	public void scoresOfPlayersNotOnTheScoreBoardAreZero() {
+		Player otherPlayer = new Player();
+		otherPlayer.setId(UUID.randomUUID().toString());
+
+		testObject.setScore(otherPlayer, 12);
+
+		assertEquals(0, testObject.getScore(otherPlayer));
+	}
+
+	@Test
+	public void scoresAreFoundAfterDeserialization() throws Exception {
+		testObject.setScore(player3, 8);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream output = new ObjectOutputStream(bytes);
+		output.writeObject(testObject);
+		output.close();
+
+		ScoreBoard deserialized = (ScoreBoard) new ObjectInputStream(new ByteArrayInputStream(
+				bytes.toByteArray())).readObject();
+		deserialized.setScore(player1, 4);
+
+		assertEquals(8, deserialized.getScore(player3));
+		assertEquals(4, deserialized.getScore(player1));
+	}
+
+	@Test
+	public void playersReplacedOnTheScoreBoardAreNoLongerFound() {
+		testObject.getScore(player1);
+		testObject.setPlayers(Arrays.asList(player2));
+
+		testObject.setScore(player1, 3);
+
+		assertEquals(0, testObject.getScore(player1));
+		assertEquals(1, testObject.getEntries().size());
+	}
+
+	@Test
+	public void rankingDoesNotChangeTheTurnOrder() {
+		testObject.setScore(player3, 5);
+		testObject.setScore(player1, 1);
+
+		testObject.getEntries();
+
+		List<ScoreBoardEntry> entries = testObject.getEntriesInTurnOrder();
+		assertEquals(player1, entries.get(0).getPlayer());
+		assertEquals(player2, entries.get(1).getPlayer());
+		assertEquals(player3, entries.get(2).getPlayer());
+	}
+
+	@Test
+	public void rankingFollowsEveryScoreUpdate() {
+		List<ScoreBoardEntry> entries = testObject.getEntries();
+		assertEquals(player1, entries.get(0).getPlayer());
+
+		testObject.setScore(player2, 10);
+		assertEquals(player2, testObject.getEntries().get(0).getPlayer());
+
+		testObject.setScore(player3, 20);
+		testObject.setScore(player2, -5);
+		entries = testObject.getEntries();
+		assertEquals(player3, entries.get(0).getPlayer());
+		assertEquals(player1, entries.get(1).getPlayer());
+		assertEquals(player2, entries.get(2).getPlayer());
+	}
+
+	@Test
+	public void tiedScoresAreRankedInTurnOrder() {
+		testObject.setScore(player3, 4);
+		testObject.setScore(player1, 4);
+
+		List<ScoreBoardEntry> entries = testObject.getEntries();
+		assertEquals(player1, entries.get(0).getPlayer());
+		assertEquals(player3, entries.get(1).getPlayer());
+		assertEquals(player2, entries.get(2).getPlayer());
+	}
+
+	@Test
+	public void rankOfAPlayerIsTheirPositionInTheRanking() {
+		testObject.setScore(player2, 7);
+		testObject.setScore(player3, 3);
+
+		assertEquals(0, testObject.getRank(player2));
+		assertEquals(1, testObject.getRank(player3));
+		assertEquals(2, testObject.getRank(player1));
+		assertEquals(-1, testObject.getRank(new Player()));
+	}
+
+	@Test
+	public void changingTheScoringReRanksTheEntries() {
+		testObject.setScore(player1, 3);
+		testObject.setScore(player2, 1);
+		assertEquals(player1, testObject.getEntries().get(0).getPlayer());
+
+		testObject.setScoring(Scoring.LOW);
+
+		assertEquals(player3, testObject.getEntries().get(0).getPlayer());
+		assertEquals(player2, testObject.getEntries().get(1).getPlayer());
+	}
+
+	@Test
+	public void settingTheScoreOfAnEntryDirectlyUpdatesTheRanking() {
+		testObject.getEntries().get(2).setScore(9);
+
+		assertEquals(player3, testObject.getEntries().get(0).getPlayer());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rankedEntriesCannotBeModified() {
+		testObject.getEntries().remove(0);
+	}
 }
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import net.todd.scorekeeper.CloseableIterator;
 import net.todd.scorekeeper.Logger;
 import net.todd.scorekeeper.Persistor;
 
@@ -146,4 +147,70 @@ public class XmlPersistorTest {
 
 		assertEquals(Person.class.getName() + ".xml", inputFilename);
 	}
+
+	@Test
+	public void iteratingStreamsEntitiesInOrder() {
+		Person person1 = new Person();
+		person1.setName(UUID.randomUUID().toString());
+		Person person2 = new Person();
+		person2.setName(UUID.randomUUID().toString());
+		XmlPersistor.create(Person.class, context).persist(
+				new ArrayList<Person>(Arrays.asList(person1, person2)));
+
+		CloseableIterator<Person> iterator = XmlPersistor.create(Person.class, context).iterate();
+		assertEquals(person1, iterator.next());
+		assertEquals(person2, iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void iteratingResolvesReferencesBetweenEntities() {
+		Player player = new Player();
+		player.setId(UUID.randomUUID().toString());
+		ScoreBoard scoreBoard1 = new ScoreBoard();
+		scoreBoard1.setPlayers(Arrays.asList(player));
+		ScoreBoard scoreBoard2 = new ScoreBoard();
+		scoreBoard2.setPlayers(Arrays.asList(player));
+		Game game1 = new Game();
+		game1.setScoreBoard(scoreBoard1);
+		Game game2 = new Game();
+		game2.setScoreBoard(scoreBoard2);
+		XmlPersistor.create(Game.class, context).persist(
+				new ArrayList<Game>(Arrays.asList(game1, game2)));
+
+		CloseableIterator<Game> iterator = XmlPersistor.create(Game.class, context).iterate();
+		Player player1 = iterator.next().getScoreBoard().getEntries().get(0).getPlayer();
+		Player player2 = iterator.next().getScoreBoard().getEntries().get(0).getPlayer();
+		assertFalse(iterator.hasNext());
+		assertEquals(player, player1);
+		assertSame(player1, player2);
+	}
+
+	@Test
+	public void equalPlayersAndGameNamesAreSharedAfterLoading() {
+		List<Game> games = new ArrayList<Game>();
+		for (int i = 0; i < 2; i++) {
+			Player player = new Player();
+			player.setId("player-id");
+			player.setName("Player");
+			ScoreBoard scoreBoard = new ScoreBoard();
+			scoreBoard.setPlayers(Arrays.asList(player));
+			Game game = new Game();
+			game.setGameName(new String("Hearts"));
+			game.setScoreBoard(scoreBoard);
+			games.add(game);
+		}
+		XmlPersistor.create(Game.class, context).persist(games);
+
+		List<Game> loadedGames = XmlPersistor.create(Game.class, context).load();
+
+		assertSame(loadedGames.get(0).getGameName(), loadedGames.get(1).getGameName());
+		assertSame(loadedGames.get(0).getScoreBoard().getEntries().get(0).getPlayer(),
+				loadedGames.get(1).getScoreBoard().getEntries().get(0).getPlayer());
+	}
+
+	@Test
+	public void iteratingAnEmptyFileYieldsNothing() {
+		assertFalse(XmlPersistor.create(Person.class, context).iterate().hasNext());
+	}
 }